@@ -0,0 +1,117 @@
+package com.stars.starsspring.framework.aop.framework;
+
+import com.stars.starsspring.framework.aop.AdvisedSupport;
+import com.stars.starsspring.framework.aop.TargetSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AOP代理基准测试——类
+ * 测量通过CglibAopProxy和JdkDynamicAopProxy调用方法的开销。matched方法匹配切点并经过一个直接继续调用的方法拦截器，
+ * unmatched方法不匹配切点，直接调用目标方法。direct是不经过代理直接调用目标对象的基准。
+ * <p>
+ * <p>
+ * 属性字段：
+ * target
+ * cglibProxy
+ * jdkProxy
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * setUp
+ * direct
+ * cglibMatched
+ * cglibUnmatched
+ * jdkMatched
+ * jdkUnmatched
+ * createAdvisedSupport
+ *
+ * @author stars
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AopProxyBenchmark {
+
+    // 目标对象
+    private Calculator target;
+    // CGLIB代理对象
+    private Calculator cglibProxy;
+    // JDK动态代理对象
+    private Calculator jdkProxy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.target = new DefaultCalculator();
+        this.cglibProxy = (Calculator) new CglibAopProxy(createAdvisedSupport(this.target)).getProxy();
+        this.jdkProxy = (Calculator) new JdkDynamicAopProxy(createAdvisedSupport(this.target)).getProxy();
+    }
+
+    @Benchmark
+    public int direct() {
+        return this.target.matched(1);
+    }
+
+    @Benchmark
+    public int cglibMatched() {
+        return this.cglibProxy.matched(1);
+    }
+
+    @Benchmark
+    public int cglibUnmatched() {
+        return this.cglibProxy.unmatched(1);
+    }
+
+    @Benchmark
+    public int jdkMatched() {
+        return this.jdkProxy.matched(1);
+    }
+
+    @Benchmark
+    public int jdkUnmatched() {
+        return this.jdkProxy.unmatched(1);
+    }
+
+    /**
+     * 创建通知支持（目标对象）
+     * 切点只匹配名为matched的方法，方法拦截器直接继续调用。
+     *
+     * @param target 目标对象
+     * @return 通知支持对象
+     */
+    private static AdvisedSupport createAdvisedSupport(Object target) {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(target));
+        advisedSupport.setMethodInterceptor((MethodInterceptor) invocation -> invocation.proceed());
+        advisedSupport.setMethodMatcher((method, targetClass) -> "matched".equals(method.getName()));
+        return advisedSupport;
+    }
+
+    public interface Calculator {
+
+        int matched(int value);
+
+        int unmatched(int value);
+    }
+
+    public static class DefaultCalculator implements Calculator {
+
+        @Override
+        public int matched(int value) {
+            return value + 1;
+        }
+
+        @Override
+        public int unmatched(int value) {
+            return value - 1;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.stars.starsspring.framework.beans;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.TypeUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 属性设置器基准测试——类
+ * 对比填充一个Bean对象三个属性的开销：反射查找字段类型并通过hutool写入字段（原实现）、
+ * 缓存的属性设置器（设置方法和字段两种情况）以及手写代码。
+ * <p>
+ * <p>
+ * 属性字段：
+ * setterBean
+ * fieldBean
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * reflectiveFieldAccess
+ * propertySetterWithSetters
+ * propertySetterWithFields
+ * handwritten
+ *
+ * @author stars
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertySetterBenchmark {
+
+    // 带设置方法的Bean对象
+    private final SetterBean setterBean = new SetterBean();
+    // 只有字段的Bean对象
+    private final FieldBean fieldBean = new FieldBean();
+
+    @Benchmark
+    public void reflectiveFieldAccess(Blackhole blackhole) {
+        blackhole.consume(TypeUtil.getFieldType(FieldBean.class, "name"));
+        BeanUtil.setFieldValue(this.fieldBean, "name", "stars");
+        blackhole.consume(TypeUtil.getFieldType(FieldBean.class, "age"));
+        BeanUtil.setFieldValue(this.fieldBean, "age", 18);
+        blackhole.consume(TypeUtil.getFieldType(FieldBean.class, "company"));
+        BeanUtil.setFieldValue(this.fieldBean, "company", "ACME");
+    }
+
+    @Benchmark
+    public void propertySetterWithSetters(Blackhole blackhole) {
+        this.apply(this.setterBean, SetterBean.class, blackhole);
+    }
+
+    @Benchmark
+    public void propertySetterWithFields(Blackhole blackhole) {
+        this.apply(this.fieldBean, FieldBean.class, blackhole);
+    }
+
+    @Benchmark
+    public void handwritten() {
+        this.setterBean.setName("stars");
+        this.setterBean.setAge(18);
+        this.setterBean.setCompany("ACME");
+    }
+
+    private void apply(Object bean, Class<?> beanClass, Blackhole blackhole) {
+        PropertySetter name = PropertySetters.getPropertySetter(beanClass, "name");
+        blackhole.consume(name.getPropertyType());
+        name.setValue(bean, "stars");
+        PropertySetter age = PropertySetters.getPropertySetter(beanClass, "age");
+        blackhole.consume(age.getPropertyType());
+        age.setValue(bean, 18);
+        PropertySetter company = PropertySetters.getPropertySetter(beanClass, "company");
+        blackhole.consume(company.getPropertyType());
+        company.setValue(bean, "ACME");
+    }
+
+    public static class SetterBean {
+
+        private String name;
+        private int age;
+        private String company;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public void setCompany(String company) {
+            this.company = company;
+        }
+    }
+
+    public static class FieldBean {
+
+        private String name;
+        private int age;
+        private String company;
+    }
+}
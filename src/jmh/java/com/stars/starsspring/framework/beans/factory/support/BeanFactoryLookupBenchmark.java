@@ -0,0 +1,87 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean工厂查找基准测试——类
+ * 测量已创建的单例Bean对象按名称和按类型获取的开销，Bean工厂分别包含10、1千和10万个Bean定义对象，
+ * 并对比冻结配置前后的差异。按名称获取的是位于中间的Bean对象，按类型获取的是唯一一个TargetBean类型的Bean对象。
+ * <p>
+ * <p>
+ * 属性字段：
+ * beanCount
+ * frozen
+ * beanFactory
+ * targetBeanName
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * setUp
+ * tearDown
+ * getBeanByName
+ * getBeanByType
+ *
+ * @author stars
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanFactoryLookupBenchmark {
+
+    // Bean定义对象的数量
+    @Param({"10", "1000", "100000"})
+    private int beanCount;
+    // 是否冻结配置
+    @Param({"false", "true"})
+    private boolean frozen;
+
+    // Bean工厂对象
+    private DefaultListableBeanFactory beanFactory;
+    // 按名称获取的Bean的名称
+    private String targetBeanName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        int targetIndex = this.beanCount / 2;
+        for (int i = 0; i < this.beanCount; i++) {
+            Class<?> beanClass = (i == targetIndex ? TargetBean.class : PlainBean.class);
+            this.beanFactory.registerBeanDefinition("bean" + i, new BeanDefinition(beanClass));
+        }
+        this.targetBeanName = "bean" + targetIndex;
+        this.beanFactory.preInstantiateSingletons();
+        if (this.frozen) {
+            this.beanFactory.freezeConfiguration();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.beanFactory.destroySingletons();
+    }
+
+    @Benchmark
+    public Object getBeanByName() {
+        return this.beanFactory.getBean(this.targetBeanName);
+    }
+
+    @Benchmark
+    public TargetBean getBeanByType() {
+        return this.beanFactory.getBean(TargetBean.class);
+    }
+
+    public static class PlainBean {
+    }
+
+    public static class TargetBean {
+    }
+}
@@ -0,0 +1,127 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.PropertyValue;
+import com.stars.starsspring.framework.beans.PropertyValues;
+import com.stars.starsspring.framework.beans.factory.annotation.Autowired;
+import com.stars.starsspring.framework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import com.stars.starsspring.framework.beans.factory.config.BeanReference;
+import com.stars.starsspring.framework.beans.factory.config.ConfigurableBeanFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 原型创建基准测试——类
+ * 测量每次getBean都创建新对象的原型Bean对象的开销，分为三种情况：没有属性，
+ * 通过Bean定义对象的属性值注入两个字面量和一个Bean引用，以及通过@Autowired注解注入一个依赖。
+ * 已注册AutowiredAnnotationBeanPostProcessor对象，因此三种情况都会经过完整的Bean扩展处理器链。
+ * <p>
+ * <p>
+ * 属性字段：
+ * beanFactory
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * setUp
+ * tearDown
+ * createPlainPrototype
+ * createPrototypeWithPropertyValues
+ * createPrototypeWithAutowired
+ *
+ * @author stars
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrototypeCreationBenchmark {
+
+    // Bean工厂对象
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor autowiredProcessor = new AutowiredAnnotationBeanPostProcessor();
+        autowiredProcessor.setBeanFactory(this.beanFactory);
+        this.beanFactory.addBeanPostProcessor(autowiredProcessor);
+
+        this.beanFactory.registerBeanDefinition("repository", new BeanDefinition(Repository.class));
+
+        BeanDefinition plain = new BeanDefinition(PlainPrototype.class);
+        plain.setScope(ConfigurableBeanFactory.SCOPE_PROTOTYPE);
+        this.beanFactory.registerBeanDefinition("plainPrototype", plain);
+
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("name", "stars"));
+        propertyValues.addPropertyValue(new PropertyValue("age", 18));
+        propertyValues.addPropertyValue(new PropertyValue("repository", new BeanReference("repository")));
+        BeanDefinition withPropertyValues = new BeanDefinition(PropertyPrototype.class, propertyValues);
+        withPropertyValues.setScope(ConfigurableBeanFactory.SCOPE_PROTOTYPE);
+        this.beanFactory.registerBeanDefinition("propertyPrototype", withPropertyValues);
+
+        BeanDefinition withAutowired = new BeanDefinition(AutowiredPrototype.class);
+        withAutowired.setScope(ConfigurableBeanFactory.SCOPE_PROTOTYPE);
+        this.beanFactory.registerBeanDefinition("autowiredPrototype", withAutowired);
+
+        this.beanFactory.preInstantiateSingletons();
+        this.beanFactory.freezeConfiguration();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.beanFactory.destroySingletons();
+    }
+
+    @Benchmark
+    public Object createPlainPrototype() {
+        return this.beanFactory.getBean("plainPrototype");
+    }
+
+    @Benchmark
+    public Object createPrototypeWithPropertyValues() {
+        return this.beanFactory.getBean("propertyPrototype");
+    }
+
+    @Benchmark
+    public Object createPrototypeWithAutowired() {
+        return this.beanFactory.getBean("autowiredPrototype");
+    }
+
+    public static class Repository {
+    }
+
+    public static class PlainPrototype {
+    }
+
+    public static class PropertyPrototype {
+
+        private String name;
+        private int age;
+        private Repository repository;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public void setRepository(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    public static class AutowiredPrototype {
+
+        @Autowired
+        private Repository repository;
+    }
+}
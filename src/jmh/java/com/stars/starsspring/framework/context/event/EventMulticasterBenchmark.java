@@ -0,0 +1,98 @@
+package com.stars.starsspring.framework.context.event;
+
+import com.stars.starsspring.framework.beans.factory.support.DefaultListableBeanFactory;
+import com.stars.starsspring.framework.context.ApplicationEvent;
+import com.stars.starsspring.framework.context.ApplicationListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件广播器基准测试——类
+ * 测量SimpleApplicationEventMulticaster.multicastEvent在注册了1、16和256个监听器时的开销。
+ * 一半监听器监听被广播的事件，另一半监听其他事件，因此同时包含投递和过滤两部分开销。
+ * <p>
+ * <p>
+ * 属性字段：
+ * listenerCount
+ * multicaster
+ * event
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * setUp
+ * multicastEvent
+ *
+ * @author stars
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMulticasterBenchmark {
+
+    // 注册的监听器数量
+    @Param({"1", "16", "256"})
+    private int listenerCount;
+
+    // 事件广播器对象
+    private SimpleApplicationEventMulticaster multicaster;
+    // 被广播的事件对象
+    private OrderPlacedEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.multicaster = new SimpleApplicationEventMulticaster(new DefaultListableBeanFactory());
+        for (int i = 0; i < this.listenerCount; i++) {
+            // 监听器对象按对象标识区分，每次都创建新对象
+            this.multicaster.addApplicationListener(i % 2 == 0 ? new OrderPlacedListener() : new OrderCancelledListener());
+        }
+        this.event = new OrderPlacedEvent(this);
+    }
+
+    @Benchmark
+    public void multicastEvent() {
+        this.multicaster.multicastEvent(this.event);
+    }
+
+    public static class OrderPlacedEvent extends ApplicationEvent {
+
+        public OrderPlacedEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class OrderCancelledEvent extends ApplicationEvent {
+
+        public OrderCancelledEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class OrderPlacedListener implements ApplicationListener<OrderPlacedEvent> {
+
+        // 收到的事件数量
+        private long received;
+
+        @Override
+        public void onApplicationEvent(OrderPlacedEvent event) {
+            this.received++;
+        }
+    }
+
+    public static class OrderCancelledListener implements ApplicationListener<OrderCancelledEvent> {
+
+        // 收到的事件数量
+        private long received;
+
+        @Override
+        public void onApplicationEvent(OrderCancelledEvent event) {
+            this.received++;
+        }
+    }
+}
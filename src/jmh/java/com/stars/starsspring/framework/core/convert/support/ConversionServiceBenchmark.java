@@ -0,0 +1,77 @@
+package com.stars.starsspring.framework.core.convert.support;
+
+import com.stars.starsspring.framework.core.convert.converter.Converter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 类型转换服务基准测试——类
+ * 测量GenericConversionService.convert的开销：通过转换器工厂把字符串转换为整数，
+ * 通过直接注册的转换器把字符串转换为布尔值，以及查找转换器时需要遍历类层次结构的整数到字符串转换。
+ * <p>
+ * <p>
+ * 属性字段：
+ * conversionService
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * setUp
+ * convertStringToInteger
+ * convertStringToBoolean
+ * convertIntegerToString
+ *
+ * @author stars
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionServiceBenchmark {
+
+    // 类型转换服务对象
+    private DefaultConversionService conversionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.conversionService = new DefaultConversionService();
+        this.conversionService.addConverter(new StringToBooleanConverter());
+        this.conversionService.addConverter(new NumberToStringConverter());
+    }
+
+    @Benchmark
+    public Integer convertStringToInteger() {
+        return this.conversionService.convert("42", Integer.class);
+    }
+
+    @Benchmark
+    public Boolean convertStringToBoolean() {
+        return this.conversionService.convert("true", Boolean.class);
+    }
+
+    @Benchmark
+    public String convertIntegerToString() {
+        return this.conversionService.convert(42, String.class);
+    }
+
+    public static class StringToBooleanConverter implements Converter<String, Boolean> {
+
+        @Override
+        public Boolean convert(String source) {
+            return Boolean.valueOf(source);
+        }
+    }
+
+    public static class NumberToStringConverter implements Converter<Number, String> {
+
+        @Override
+        public String convert(Number source) {
+            return source.toString();
+        }
+    }
+}
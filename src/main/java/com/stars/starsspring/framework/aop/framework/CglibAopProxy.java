@@ -1,6 +1,7 @@
 package com.stars.starsspring.framework.aop.framework;
 
 import com.stars.starsspring.framework.aop.AdvisedSupport;
+import com.stars.starsspring.framework.core.metrics.ContainerEvents;
 import com.stars.starsspring.framework.util.ClassUtils;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.MethodInterceptor;
@@ -100,11 +101,18 @@ public class CglibAopProxy implements AopProxy {
          */
         @Override
         public Object intercept(Object o, Method method, Object[] objects, MethodProxy methodProxy) throws Throwable {
-            CglibMethodInvocation methodInvocation = new CglibMethodInvocation(this.advised.getTargetSource().getTarget(), method, objects, methodProxy);
-            if (this.advised.getMethodMatcher().matches(method, this.advised.getTargetSource().getTarget().getClass())) {
-                return this.advised.getMethodInterceptor().invoke(methodInvocation);
+            Object invocationEvent = ContainerEvents.beginProxyInvocation();
+            Object target = this.advised.getTargetSource().getTarget();
+            boolean intercepted = this.advised.getMethodMatcher().matches(method, target.getClass());
+            try {
+                CglibMethodInvocation methodInvocation = new CglibMethodInvocation(target, method, objects, methodProxy);
+                if (intercepted) {
+                    return this.advised.getMethodInterceptor().invoke(methodInvocation);
+                }
+                return methodInvocation.proceed();
+            } finally {
+                ContainerEvents.commitProxyInvocation(invocationEvent, target.getClass(), method, intercepted);
             }
-            return methodInvocation.proceed();
         }
     }
 
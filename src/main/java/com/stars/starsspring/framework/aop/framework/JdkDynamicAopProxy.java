@@ -1,6 +1,7 @@
 package com.stars.starsspring.framework.aop.framework;
 
 import com.stars.starsspring.framework.aop.AdvisedSupport;
+import com.stars.starsspring.framework.core.metrics.ContainerEvents;
 import org.aopalliance.intercept.MethodInterceptor;
 
 import java.lang.reflect.InvocationHandler;
@@ -68,10 +69,17 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
      */
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (this.advised.getMethodMatcher().matches(method, this.advised.getTargetSource().getTarget().getClass())) {
-            MethodInterceptor methodInterceptor = this.advised.getMethodInterceptor();
-            return methodInterceptor.invoke(new ReflectiveMethodInvocation(this.advised.getTargetSource().getTarget(), method, args));
+        Object invocationEvent = ContainerEvents.beginProxyInvocation();
+        Object target = this.advised.getTargetSource().getTarget();
+        boolean intercepted = this.advised.getMethodMatcher().matches(method, target.getClass());
+        try {
+            if (intercepted) {
+                MethodInterceptor methodInterceptor = this.advised.getMethodInterceptor();
+                return methodInterceptor.invoke(new ReflectiveMethodInvocation(target, method, args));
+            }
+            return method.invoke(target, args);
+        } finally {
+            ContainerEvents.commitProxyInvocation(invocationEvent, target.getClass(), method, intercepted);
         }
-        return method.invoke(this.advised.getTargetSource().getTarget(), args);
     }
 }
@@ -8,7 +8,9 @@ import com.stars.starsspring.framework.beans.PropertyValues;
 import com.stars.starsspring.framework.beans.factory.BeanFactory;
 import com.stars.starsspring.framework.beans.factory.BeanFactoryAware;
 import com.stars.starsspring.framework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.config.SelectiveBeanPostProcessor;
 import com.stars.starsspring.framework.beans.factory.support.DefaultListableBeanFactory;
+import com.stars.starsspring.framework.core.metrics.StartupStep;
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
 
@@ -29,10 +31,10 @@ import java.util.Set;
  * setBeanFactory
  * postProcessBeforeInstantiation
  * postProcessAfterInstantiation
- * postProcessBeforeInitialization
  * postProcessAfterInitialization
  * postProcessPropertyValues
  * getEarlyBeanReference
+ * isApplicable
  * <p>
  * 定义方法：
  * <p>
@@ -42,7 +44,7 @@ import java.util.Set;
  *
  * @author stars
  */
-public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
+public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPostProcessor, SelectiveBeanPostProcessor, BeanFactoryAware {
 
     // 早期代理引用Map对象，用于存储提前引用的代理对象
     private final Set<Object> earlyProxyReferences = Collections.synchronizedSet(new HashSet<Object>());
@@ -102,21 +104,6 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
                 || Advisor.class.isAssignableFrom(beanClass);
     }
 
-    /**
-     * 初始化之前扩展处理（Bean对象，Bean的名称）
-     * 前置处理器
-     * 在Bean对象执行初始化方法之前，执行此方法。
-     *
-     * @param bean     当前Bean对象
-     * @param beanName 当前Bean的名称
-     * @return 修改后的Bean对象，可以是原始对象或修改后的代理对象
-     * @throws BeansException 如果在处理过程中发生异常，则抛出BeansException异常
-     */
-    @Override
-    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        return bean;
-    }
-
     /**
      * 初始化之后扩展处理（Bean对象，Bean的名称）
      * 后置处理器
@@ -161,7 +148,12 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
             advisedSupport.setMethodMatcher(advisor.getPointcut().getMethodMatcher());
             advisedSupport.setProxyTargetClass(true);
             // 返回代理对象
-            return new ProxyFactory(advisedSupport).getProxy();
+            StartupStep step = this.beanFactory.getApplicationStartup().start("bean.proxy").tag("beanName", beanName);
+            try {
+                return new ProxyFactory(advisedSupport).getProxy();
+            } finally {
+                step.end();
+            }
         }
         return bean;
     }
@@ -197,4 +189,16 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
         this.earlyProxyReferences.add(beanName);
         return this.wrapIfNecessary(bean, beanName);
     }
+
+    /**
+     * 是否适用（Bean的类对象）
+     * 基础设施类永远不会被代理，不需要经过该处理器。
+     *
+     * @param beanClass Bean的类对象
+     * @return 如果该类不是基础设施类，则返回true；否则返回false
+     */
+    @Override
+    public boolean isApplicable(Class<?> beanClass) {
+        return !this.isInfrastructureClass(beanClass);
+    }
 }
@@ -0,0 +1,47 @@
+package com.stars.starsspring.framework.beans;
+
+/**
+ * 属性设置器——接口
+ * 某个类的某个属性的写入器，由PropertySetters按（类对象，属性名）生成一次并缓存。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * getPropertyName
+ * getPropertyType
+ * setValue
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+public interface PropertySetter {
+
+    /**
+     * 获取属性名
+     *
+     * @return 属性名
+     */
+    String getPropertyName();
+
+    /**
+     * 获取属性类型
+     * 返回设置方法的参数类型，或者字段的类型。
+     *
+     * @return 属性类型
+     */
+    Class<?> getPropertyType();
+
+    /**
+     * 设置值（Bean对象，属性值）
+     * 值的类型与属性类型不一致时，使用hutool的类型转换进行转换；null值写入基本类型属性时使用其默认值。
+     *
+     * @param bean  目标Bean对象
+     * @param value 属性值
+     * @throws BeansException 如果设置过程中发生异常，则抛出BeansException异常
+     */
+    void setValue(Object bean, Object value) throws BeansException;
+}
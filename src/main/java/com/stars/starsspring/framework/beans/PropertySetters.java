@@ -0,0 +1,324 @@
+package com.stars.starsspring.framework.beans;
+
+import com.stars.starsspring.framework.util.ClassUtils;
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.StrUtil;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 属性设置器工具——类
+ * 按（类对象，属性名）生成并缓存属性设置器，避免每次填充属性时进行反射查找。
+ * 优先使用JavaBean设置方法：公共类的公共设置方法通过LambdaMetafactory生成BiConsumer直接调用，
+ * 其他设置方法通过MethodHandle调用；没有设置方法时退回到直接写入字段。
+ * <p>
+ * <p>
+ * 属性字段：
+ * LOOKUP
+ * PROPERTY_SETTER_CACHE
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * getPropertySetter
+ * createPropertySetter
+ * findWriteMethod
+ * findField
+ * createLambdaSetter
+ * isVisible
+ *
+ * @author stars
+ */
+public class PropertySetters {
+
+    // 方法句柄查找对象
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 属性设置器缓存，键是类对象，值是属性名到属性设置器的Map，CGLIB代理类与其原始类共享同一个Map
+    private static final ClassValue<Map<String, PropertySetter>> PROPERTY_SETTER_CACHE = new ClassValue<Map<String, PropertySetter>>() {
+        @Override
+        protected Map<String, PropertySetter> computeValue(Class<?> type) {
+            Class<?> actualClass = ClassUtils.getActualClass(type);
+            return (actualClass != type ? this.get(actualClass) : new ConcurrentHashMap<>());
+        }
+    };
+
+    /**
+     * 获取属性设置器（类对象，属性名）
+     * CGLIB代理类使用其原始类的属性设置器。
+     *
+     * @param beanClass    Bean的类对象
+     * @param propertyName 属性名
+     * @return 属性设置器对象
+     * @throws BeansException 如果类中既没有对应的设置方法也没有对应的字段，则抛出BeansException异常
+     */
+    public static PropertySetter getPropertySetter(Class<?> beanClass, String propertyName) throws BeansException {
+        Map<String, PropertySetter> propertySetters = PROPERTY_SETTER_CACHE.get(beanClass);
+        PropertySetter propertySetter = propertySetters.get(propertyName);
+        if (propertySetter == null) {
+            Class<?> actualClass = ClassUtils.getActualClass(beanClass);
+            propertySetter = propertySetters.computeIfAbsent(propertyName, name -> createPropertySetter(actualClass, name));
+        }
+        return propertySetter;
+    }
+
+    /**
+     * 创建属性设置器（类对象，属性名）
+     *
+     * @param beanClass    Bean的类对象
+     * @param propertyName 属性名
+     * @return 属性设置器对象
+     * @throws BeansException 如果类中既没有对应的设置方法也没有对应的字段，则抛出BeansException异常
+     */
+    private static PropertySetter createPropertySetter(Class<?> beanClass, String propertyName) throws BeansException {
+        Field field = findField(beanClass, propertyName);
+        Method writeMethod = findWriteMethod(beanClass, propertyName, field != null ? field.getType() : null);
+        try {
+            if (writeMethod != null) {
+                Class<?> propertyType = writeMethod.getParameterTypes()[0];
+                if (Modifier.isPublic(writeMethod.getModifiers()) && Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())
+                        && isVisible(writeMethod.getDeclaringClass()) && isVisible(propertyType)) {
+                    BiConsumer<Object, Object> consumer = createLambdaSetter(writeMethod);
+                    if (consumer != null) {
+                        return new LambdaPropertySetter(propertyName, propertyType, consumer);
+                    }
+                }
+                writeMethod.setAccessible(true);
+                return new MethodHandlePropertySetter(propertyName, propertyType, LOOKUP.unreflect(writeMethod));
+            }
+            if (field != null) {
+                field.setAccessible(true);
+                if (Modifier.isFinal(field.getModifiers())) {
+                    // final字段无法通过方法句柄写入，使用反射写入
+                    return new FieldPropertySetter(propertyName, field);
+                }
+                return new MethodHandlePropertySetter(propertyName, field.getType(), LOOKUP.unreflectSetter(field));
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new BeansException("Could not create property setter for property '" + propertyName + "' of " + beanClass.getName(), e);
+        }
+        throw new BeansException("No setter method or field for property '" + propertyName + "' found in " + beanClass.getName());
+    }
+
+    /**
+     * 查找设置方法（类对象，属性名，字段类型）
+     * 查找名为set加首字母大写属性名、只有一个参数的公共实例方法；存在重载时优先选择参数类型与同名字段类型一致的方法。
+     *
+     * @param beanClass    Bean的类对象
+     * @param propertyName 属性名
+     * @param fieldType    同名字段的类型，可以为null
+     * @return 设置方法对象，如果不存在则返回null
+     */
+    private static Method findWriteMethod(Class<?> beanClass, String propertyName, Class<?> fieldType) {
+        String methodName = "set" + StrUtil.upperFirst(propertyName);
+        Method candidate = null;
+        for (Method method : beanClass.getMethods()) {
+            if (!method.getName().equals(methodName) || method.getParameterCount() != 1
+                    || Modifier.isStatic(method.getModifiers()) || method.isBridge()) {
+                continue;
+            }
+            if (method.getParameterTypes()[0] == fieldType) {
+                return method;
+            }
+            if (candidate == null) {
+                candidate = method;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * 查找字段（类对象，属性名）
+     * 沿类层次结构向上查找同名的实例字段。
+     *
+     * @param beanClass    Bean的类对象
+     * @param propertyName 属性名
+     * @return 字段对象，如果不存在则返回null
+     */
+    private static Field findField(Class<?> beanClass, String propertyName) {
+        for (Class<?> clazz = beanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getName().equals(propertyName) && !Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 创建Lambda设置器（设置方法对象）
+     * 通过LambdaMetafactory为设置方法生成BiConsumer，调用开销与直接调用设置方法相当。
+     *
+     * @param writeMethod 公共类的公共设置方法对象
+     * @return BiConsumer对象，生成失败时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createLambdaSetter(Method writeMethod) {
+        try {
+            MethodHandle implMethod = LOOKUP.unreflect(writeMethod);
+            // 基本类型参数在BiConsumer中以包装类型传入，由生成的代码负责拆箱
+            Class<?> propertyType = BasicType.wrap(writeMethod.getParameterTypes()[0]);
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), implMethod,
+                    MethodType.methodType(void.class, writeMethod.getDeclaringClass(), propertyType));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            // 生成失败时退回到方法句柄
+            return null;
+        }
+    }
+
+    /**
+     * 是否可见（类对象）
+     * 生成的Lambda类由当前类的类加载器定义，只能引用该类加载器可见的类。
+     *
+     * @param clazz 类对象
+     * @return 如果该类是基本类型，或者通过当前类的类加载器可以加载到同一个类，则返回true；否则返回false
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, PropertySetters.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * 抽象属性设置器——抽象内部类
+     * 负责值的类型适配，具体的写入方式由子类实现。
+     *
+     * @author stars
+     */
+    private abstract static class AbstractPropertySetter implements PropertySetter {
+
+        // 属性名
+        private final String propertyName;
+        // 属性类型
+        private final Class<?> propertyType;
+        // 属性类型对应的包装类型，用于快速判断值是否需要转换
+        private final Class<?> wrappedType;
+
+        AbstractPropertySetter(String propertyName, Class<?> propertyType) {
+            this.propertyName = propertyName;
+            this.propertyType = propertyType;
+            this.wrappedType = BasicType.wrap(propertyType);
+        }
+
+        @Override
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        @Override
+        public Class<?> getPropertyType() {
+            return propertyType;
+        }
+
+        @Override
+        public void setValue(Object bean, Object value) throws BeansException {
+            if (value == null) {
+                value = ClassUtil.getDefaultValue(this.propertyType);
+            } else if (!this.wrappedType.isInstance(value)) {
+                value = Convert.convert(this.propertyType, value);
+            }
+            try {
+                this.doSetValue(bean, value);
+            } catch (Throwable e) {
+                throw new BeansException("Could not set property '" + this.propertyName + "' of " + bean.getClass().getName(), e);
+            }
+        }
+
+        /**
+         * 执行设置值（Bean对象，已适配类型的属性值）
+         *
+         * @param bean  目标Bean对象
+         * @param value 已适配类型的属性值
+         * @throws Throwable 如果写入过程中发生异常
+         */
+        protected abstract void doSetValue(Object bean, Object value) throws Throwable;
+    }
+
+    /**
+     * Lambda属性设置器——内部类
+     * 通过LambdaMetafactory生成的BiConsumer调用设置方法。
+     *
+     * @author stars
+     */
+    private static final class LambdaPropertySetter extends AbstractPropertySetter {
+
+        // 调用设置方法的BiConsumer对象
+        private final BiConsumer<Object, Object> consumer;
+
+        LambdaPropertySetter(String propertyName, Class<?> propertyType, BiConsumer<Object, Object> consumer) {
+            super(propertyName, propertyType);
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void doSetValue(Object bean, Object value) {
+            this.consumer.accept(bean, value);
+        }
+    }
+
+    /**
+     * 方法句柄属性设置器——内部类
+     * 通过方法句柄调用设置方法或写入字段。
+     *
+     * @author stars
+     */
+    private static final class MethodHandlePropertySetter extends AbstractPropertySetter {
+
+        // 类型为(Object, Object)void的方法句柄
+        private final MethodHandle methodHandle;
+
+        MethodHandlePropertySetter(String propertyName, Class<?> propertyType, MethodHandle methodHandle) {
+            super(propertyName, propertyType);
+            this.methodHandle = methodHandle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+
+        @Override
+        protected void doSetValue(Object bean, Object value) throws Throwable {
+            this.methodHandle.invokeExact(bean, value);
+        }
+    }
+
+    /**
+     * 字段属性设置器——内部类
+     * 通过反射写入无法使用方法句柄写入的字段。
+     *
+     * @author stars
+     */
+    private static final class FieldPropertySetter extends AbstractPropertySetter {
+
+        // 已设置为可访问的字段对象
+        private final Field field;
+
+        FieldPropertySetter(String propertyName, Field field) {
+            super(propertyName, field.getType());
+            this.field = field;
+        }
+
+        @Override
+        protected void doSetValue(Object bean, Object value) throws Throwable {
+            this.field.set(bean, value);
+        }
+    }
+}
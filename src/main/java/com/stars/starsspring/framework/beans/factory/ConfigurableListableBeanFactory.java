@@ -5,6 +5,8 @@ import com.stars.starsspring.framework.beans.factory.config.AutowireCapableBeanF
 import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
 import com.stars.starsspring.framework.beans.factory.config.ConfigurableBeanFactory;
 
+import java.util.List;
+
 /**
  * 配置列表Bean工厂——接口
  * 提供了配置和管理Bean定义对象的功能，并且能够列举Bean对象的信息。
@@ -16,7 +18,11 @@ import com.stars.starsspring.framework.beans.factory.config.ConfigurableBeanFact
  * <p>
  * 定义方法：
  * getBeanDefinition
+ * getBeanNamesForType
  * preInstantiateSingletons
+ * clearMetadataCache
+ * freezeConfiguration
+ * isConfigurationFrozen
  * <p>
  * 编写方法：
  */
@@ -32,6 +38,15 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
      */
     BeanDefinition getBeanDefinition(String beanName) throws BeansException;
 
+    /**
+     * 获取Bean名称依据类型（Bean的类对象）
+     * 返回Bean定义对象的类对象可以赋值给给定类型的所有Bean的名称，不会创建任何Bean对象。
+     *
+     * @param type Bean的类对象
+     * @return 匹配类型的Bean的名称列表
+     */
+    List<String> getBeanNamesForType(Class<?> type);
+
     /**
      * 预实例化所有单例
      * 预实例化所有的单例Bean对象。
@@ -40,4 +55,25 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
      * @throws BeansException 如果在预实例化过程中发生任何异常，将抛出BeansException异常
      */
     void preInstantiateSingletons() throws BeansException;
+
+    /**
+     * 清除元数据缓存
+     * 清除根据Bean定义对象推导出的缓存（例如类型索引），使其与当前的Bean定义对象保持一致。
+     * 通常在Bean工厂扩展处理器修改Bean定义对象之后调用。
+     */
+    void clearMetadataCache();
+
+    /**
+     * 冻结配置
+     * 声明Bean定义对象不再变化，Bean工厂可以为获取Bean对象建立预先计算的只读索引。
+     * 冻结后再注册Bean定义对象或单例对象会抛出BeansException异常。
+     */
+    void freezeConfiguration();
+
+    /**
+     * 是否配置已冻结
+     *
+     * @return 如果已调用过freezeConfiguration，则返回true；否则返回false
+     */
+    boolean isConfigurationFrozen();
 }
@@ -0,0 +1,32 @@
+package com.stars.starsspring.framework.beans.factory;
+
+import com.stars.starsspring.framework.beans.BeansException;
+
+/**
+ * 对象提供者——接口
+ * 对象工厂接口的扩展，用于注入点的延迟解析：注入时不创建目标Bean对象，首次使用时才解析并获取。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * getIfAvailable
+ * <p>
+ * 编写方法：
+ *
+ * @param <T> 要获取的对象类型
+ * @author stars
+ */
+public interface ObjectProvider<T> extends ObjectFactory<T> {
+
+    /**
+     * 获取对象如果可用
+     * 与getObject不同，容器中不存在匹配的Bean对象时返回null而不是抛出异常。
+     *
+     * @return 返回特定类型（T）的对象，如果不存在匹配的Bean对象则返回null
+     * @throws BeansException 如果匹配的Bean对象不唯一或创建失败，则抛出BeansException异常
+     */
+    T getIfAvailable() throws BeansException;
+}
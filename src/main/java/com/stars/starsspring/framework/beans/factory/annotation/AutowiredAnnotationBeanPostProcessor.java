@@ -5,13 +5,26 @@ import com.stars.starsspring.framework.beans.PropertyValues;
 import com.stars.starsspring.framework.beans.factory.BeanFactory;
 import com.stars.starsspring.framework.beans.factory.BeanFactoryAware;
 import com.stars.starsspring.framework.beans.factory.ConfigurableListableBeanFactory;
+import com.stars.starsspring.framework.beans.factory.ObjectFactory;
+import com.stars.starsspring.framework.beans.factory.ObjectProvider;
 import com.stars.starsspring.framework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.config.SelectiveBeanPostProcessor;
+import com.stars.starsspring.framework.context.annotation.Lazy;
 import com.stars.starsspring.framework.core.convert.ConversionService;
 import com.stars.starsspring.framework.util.ClassUtils;
-import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
 import cn.hutool.core.util.TypeUtil;
+import net.sf.cglib.proxy.Dispatcher;
+import net.sf.cglib.proxy.Enhancer;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 自动装配注解Bean扩展处理器——类
@@ -19,25 +32,30 @@ import java.lang.reflect.Field;
  * <p>
  * 属性字段：
  * beanFactory
+ * injectionMetadataCache
  * <p>
  * 重写方法：
  * postProcessBeforeInstantiation
  * postProcessAfterInstantiation
  * postProcessPropertyValues
- * postProcessBeforeInitialization
- * postProcessAfterInitialization
  * setBeanFactory
+ * isApplicable
  * <p>
  * 定义方法：
  * <p>
  * 编写方法：
+ * findInjectionMetadata
+ * buildInjectionMetadata
+ * buildLazyResolutionProxy
  *
  * @author stars
  */
-public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
+public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareBeanPostProcessor, SelectiveBeanPostProcessor, BeanFactoryAware {
 
     // 配置列表Bean工厂对象
     private ConfigurableListableBeanFactory beanFactory;
+    // 注入元数据缓存，键是Bean的类对象，每个类只构建一次注入元数据；缓存随处理器一起回收，不挂在Bean的类对象上
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(256);
 
     /**
      * 实例化之前扩展处理（Bean的类对象，Bean的名称）
@@ -79,75 +97,92 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
      */
     @Override
     public PropertyValues postProcessPropertyValues(PropertyValues propertyValues, Object bean, String beanName) throws BeansException {
-        // 1、处理@Value注解
-        Class<?> clazz = bean.getClass();
-        clazz = ClassUtils.isCglibProxyClass(clazz) ? clazz.getSuperclass() : clazz;
-        Field[] declaredFields = clazz.getDeclaredFields();
-        for (Field field : declaredFields) {
-            Value valueAnnotation = field.getAnnotation(Value.class);
-            if (valueAnnotation != null) {
-                Object value = valueAnnotation.value();
-                value = this.beanFactory.resolveEmbeddedValue((String) value);
-                // 类型转换
-                Class<?> sourceType = value.getClass();
-                Class<?> targetType = (Class<?>) TypeUtil.getType(field);
-                ConversionService conversionService = this.beanFactory.getConversionService();
-                if (conversionService != null) {
-                    if (conversionService.canConvert(sourceType, targetType)) {
-                        value = conversionService.convert(value, targetType);
-                    }
-                }
-                BeanUtil.setFieldValue(bean, field.getName(), value);
-            }
-        }
-        // 2、处理@Autowired注解
-        for (Field field : declaredFields) {
-            Autowired autowiredAnnotation = field.getAnnotation(Autowired.class);
-            if (autowiredAnnotation != null) {
-                Class<?> fieldType = field.getType();
-                String dependentBeanName = null;
-                Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
-                Object dependentBean = null;
-                if (qualifierAnnotation != null) {
-                    dependentBeanName = qualifierAnnotation.value();
-                    dependentBean = this.beanFactory.getBean(dependentBeanName, fieldType);
-                } else {
-                    dependentBean = this.beanFactory.getBean(fieldType);
-                }
-                BeanUtil.setFieldValue(bean, field.getName(), dependentBean);
+        // 按类缓存的注入元数据，只在首次遇到该类时扫描注解
+        InjectionMetadata metadata = this.findInjectionMetadata(bean.getClass());
+        metadata.inject(bean);
+        return propertyValues;
+    }
+
+    /**
+     * 查找注入元数据（Bean的类对象）
+     * 构建过程可能创建延迟解析代理对象，因此不在Map的锁内构建；并发构建时以先放入的为准。
+     *
+     * @param beanClass Bean的类对象
+     * @return 该类的注入元数据对象
+     * @throws BeansException 如果注入点声明不合法，则抛出BeansException异常
+     */
+    private InjectionMetadata findInjectionMetadata(Class<?> beanClass) throws BeansException {
+        InjectionMetadata metadata = this.injectionMetadataCache.get(beanClass);
+        if (metadata == null) {
+            metadata = this.buildInjectionMetadata(ClassUtils.getActualClass(beanClass));
+            InjectionMetadata existing = this.injectionMetadataCache.putIfAbsent(beanClass, metadata);
+            if (existing != null) {
+                metadata = existing;
             }
         }
-        return propertyValues;
+        return metadata;
     }
 
     /**
-     * 初始化之前扩展处理（Bean对象，Bean的名称）
-     * 前置处理器
-     * 在Bean对象执行初始化方法之前，执行此方法。
+     * 构建注入元数据（Bean的类对象）
+     * 沿类层次结构由父类到子类扫描@Value、@Autowired注解标注的字段，先注入全部@Value字段，再注入全部@Autowired字段。
      *
-     * @param bean     当前Bean对象
-     * @param beanName 当前Bean的名称
-     * @return 修改后的Bean对象，可以是原始对象或修改后的代理对象
-     * @throws BeansException 如果在处理过程中发生异常，则抛出BeansException异常
+     * @param clazz Bean的类对象（Cglib代理类已还原为原始类）
+     * @return 注入元数据对象
+     * @throws BeansException 如果注入点声明不合法，则抛出BeansException异常
      */
-    @Override
-    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        return null;
+    private InjectionMetadata buildInjectionMetadata(Class<?> clazz) throws BeansException {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        List<InjectionMetadata.InjectedField> valueFields = new ArrayList<>();
+        List<InjectionMetadata.InjectedField> autowiredFields = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                // 1、处理@Value注解
+                Value valueAnnotation = field.getAnnotation(Value.class);
+                if (valueAnnotation != null) {
+                    valueFields.add(new ValueInjectedField(field, valueAnnotation.value()));
+                }
+                // 2、处理@Autowired注解
+                Autowired autowiredAnnotation = field.getAnnotation(Autowired.class);
+                if (autowiredAnnotation != null) {
+                    autowiredFields.add(new AutowiredInjectedField(field));
+                }
+            }
+        }
+        valueFields.addAll(autowiredFields);
+        return new InjectionMetadata(clazz, valueFields);
     }
 
     /**
-     * 初始化之后扩展处理（Bean对象，Bean的名称）
-     * 后置处理器
-     * 在Bean对象执行初始化方法之后，执行此方法。
+     * 构建延迟解析代理（依赖对象提供者）
+     * 接口类型使用JDK动态代理，类类型使用Cglib子类代理，代理对象的每次方法调用都转发给对象提供者解析出的目标Bean对象。
      *
-     * @param bean     当前Bean对象
-     * @param beanName 当前Bean的名称
-     * @return 修改后的Bean对象，可以是原始对象或修改后的代理对象
-     * @throws BeansException 如果在处理过程中发生异常，则抛出BeansException异常
+     * @param objectProvider 依赖对象提供者
+     * @return 延迟解析代理对象
+     * @throws BeansException 如果无法为依赖类型创建代理对象，则抛出BeansException异常
      */
-    @Override
-    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        return null;
+    private Object buildLazyResolutionProxy(DependencyObjectProvider objectProvider) throws BeansException {
+        Class<?> dependencyType = objectProvider.getDependencyType();
+        if (dependencyType.isInterface()) {
+            return Proxy.newProxyInstance(dependencyType.getClassLoader(), new Class<?>[]{dependencyType}, (proxy, method, args) -> {
+                try {
+                    return method.invoke(objectProvider.getObject(), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+        try {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(dependencyType);
+            enhancer.setCallback((Dispatcher) objectProvider::getObject);
+            return enhancer.create();
+        } catch (RuntimeException e) {
+            throw new BeansException("Cannot create lazy resolution proxy for " + dependencyType.getName() + ", a non-private no-arg constructor is required", e);
+        }
     }
 
     /**
@@ -160,4 +195,198 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
     }
+
+    /**
+     * 是否适用（Bean的类对象）
+     * 没有任何注入字段的类不需要经过该处理器。
+     *
+     * @param beanClass Bean的类对象
+     * @return 如果该类的注入元数据不为空，则返回true；否则返回false
+     */
+    @Override
+    public boolean isApplicable(Class<?> beanClass) {
+        return !this.findInjectionMetadata(beanClass).isEmpty();
+    }
+
+    /**
+     * 值注入字段——内部类
+     * 由@Value注解标注的字段，占位符解析和类型转换的结果为不可变值时会被缓存，
+     * 缓存与解析时使用的转换服务对象绑定，转换服务对象变化后重新解析。
+     * <p>
+     * <p>
+     * 属性字段：
+     * expression
+     * resolvedValue
+     * <p>
+     * 重写方法：
+     * resolveValue
+     * <p>
+     * 定义方法：
+     * <p>
+     * 编写方法：
+     * ValueInjectedField
+     * isCacheable
+     *
+     * @author stars
+     */
+    private class ValueInjectedField extends InjectionMetadata.InjectedField {
+
+        // @Value注解的值，可能包含占位符
+        private final String expression;
+        // 已解析的值
+        private volatile ResolvedValue resolvedValue;
+
+        /**
+         * 有参构造函数（字段对象，@Value注解的值）
+         *
+         * @param field      字段对象
+         * @param expression @Value注解的值
+         */
+        ValueInjectedField(Field field, String expression) {
+            super(field);
+            this.expression = expression;
+        }
+
+        /**
+         * 解析值
+         * 解析占位符并转换为字段类型：优先使用转换服务对象，无法转换时退回hutool的类型转换。
+         *
+         * @return 要注入字段的值
+         * @throws BeansException 如果解析过程中发生异常，则抛出BeansException异常
+         */
+        @Override
+        protected Object resolveValue() throws BeansException {
+            ConversionService conversionService = AutowiredAnnotationBeanPostProcessor.this.beanFactory.getConversionService();
+            ResolvedValue cached = this.resolvedValue;
+            if (cached != null && cached.conversionService == conversionService) {
+                return cached.value;
+            }
+            Object value = AutowiredAnnotationBeanPostProcessor.this.beanFactory.resolveEmbeddedValue(this.expression);
+            Class<?> targetType = this.field.getType();
+            // 类型转换
+            if (value != null && conversionService != null && conversionService.canConvert(value.getClass(), targetType)) {
+                value = conversionService.convert(value, targetType);
+            }
+            if (value == null) {
+                value = ClassUtil.getDefaultValue(targetType);
+            } else if (!ClassUtil.isAssignable(targetType, value.getClass())) {
+                value = Convert.convert(targetType, value);
+            }
+            if (this.isCacheable(value)) {
+                this.resolvedValue = new ResolvedValue(conversionService, value);
+            }
+            return value;
+        }
+
+        /**
+         * 是否可缓存（值）
+         * 只缓存不可变的值，避免多个Bean对象共享同一个可变对象。
+         *
+         * @param value 已转换的值
+         * @return 如果值为null、字符串、基本类型包装类、枚举或类对象，则返回true；否则返回false
+         */
+        private boolean isCacheable(Object value) {
+            return value == null || value instanceof String || value instanceof Enum || value instanceof Class
+                    || ClassUtil.isPrimitiveWrapper(value.getClass());
+        }
+    }
+
+    /**
+     * 已解析值——内部类
+     *
+     * @author stars
+     */
+    private static final class ResolvedValue {
+
+        // 解析时使用的转换服务对象
+        private final ConversionService conversionService;
+        // 已解析的值
+        private final Object value;
+
+        ResolvedValue(ConversionService conversionService, Object value) {
+            this.conversionService = conversionService;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 自动装配注入字段——内部类
+     * 由@Autowired注解标注的字段。ObjectFactory、ObjectProvider类型的字段注入对象提供者；标注了@Lazy注解的字段注入延迟解析代理对象；
+     * 这两种对象在构建元数据时创建一次，由该类的所有Bean对象共享。其他字段每次立即按名称（@Qualifier）或类型获取依赖的Bean对象。
+     * <p>
+     * <p>
+     * 属性字段：
+     * dependencyType
+     * qualifierName
+     * sharedValue
+     * <p>
+     * 重写方法：
+     * resolveValue
+     * <p>
+     * 定义方法：
+     * <p>
+     * 编写方法：
+     * AutowiredInjectedField
+     *
+     * @author stars
+     */
+    private class AutowiredInjectedField extends InjectionMetadata.InjectedField {
+
+        // 依赖的类对象
+        private final Class<?> dependencyType;
+        // 限定的Bean的名称，为null时按类型解析
+        private final String qualifierName;
+        // 共享的对象提供者或延迟解析代理对象，为null时立即获取依赖的Bean对象
+        private final Object sharedValue;
+
+        /**
+         * 有参构造函数（字段对象）
+         *
+         * @param field 标注了@Autowired注解的字段对象
+         * @throws BeansException 如果无法确定对象提供者的目标类型或无法创建延迟解析代理对象，则抛出BeansException异常
+         */
+        AutowiredInjectedField(Field field) throws BeansException {
+            super(field);
+            Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
+            this.qualifierName = (qualifierAnnotation != null ? qualifierAnnotation.value() : null);
+            Class<?> fieldType = field.getType();
+            ConfigurableListableBeanFactory beanFactory = AutowiredAnnotationBeanPostProcessor.this.beanFactory;
+            Lazy lazyAnnotation = field.getAnnotation(Lazy.class);
+            if (fieldType == ObjectFactory.class || fieldType == ObjectProvider.class) {
+                // ObjectFactory<T>、ObjectProvider<T>，首次调用getObject时才解析目标Bean对象
+                Class<?> providedType = TypeUtil.getClass(TypeUtil.getTypeArgument(field.getGenericType()));
+                if (providedType == null) {
+                    throw new BeansException("Cannot determine the provided type of field '" + field.getName() + "' in " + field.getDeclaringClass().getName());
+                }
+                this.dependencyType = providedType;
+                this.sharedValue = new DependencyObjectProvider(beanFactory, providedType, this.qualifierName);
+            } else if (lazyAnnotation != null && lazyAnnotation.value()) {
+                // @Lazy，注入延迟解析代理对象，首次调用方法时才解析目标Bean对象
+                this.dependencyType = fieldType;
+                this.sharedValue = AutowiredAnnotationBeanPostProcessor.this.buildLazyResolutionProxy(
+                        new DependencyObjectProvider(beanFactory, fieldType, this.qualifierName));
+            } else {
+                this.dependencyType = fieldType;
+                this.sharedValue = null;
+            }
+        }
+
+        /**
+         * 解析值
+         *
+         * @return 要注入字段的值
+         * @throws BeansException 如果获取依赖的Bean对象过程中发生异常，则抛出BeansException异常
+         */
+        @Override
+        protected Object resolveValue() throws BeansException {
+            if (this.sharedValue != null) {
+                return this.sharedValue;
+            }
+            ConfigurableListableBeanFactory beanFactory = AutowiredAnnotationBeanPostProcessor.this.beanFactory;
+            if (this.qualifierName != null) {
+                return beanFactory.getBean(this.qualifierName, this.dependencyType);
+            }
+            return beanFactory.getBean(this.dependencyType);
+        }
+    }
 }
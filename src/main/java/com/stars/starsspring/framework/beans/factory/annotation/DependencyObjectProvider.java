@@ -0,0 +1,132 @@
+package com.stars.starsspring.framework.beans.factory.annotation;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.ConfigurableListableBeanFactory;
+import com.stars.starsspring.framework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+/**
+ * 依赖对象提供者——类
+ * 为@Autowired注入点提供延迟解析：首次获取时才按名称（@Qualifier）或类型解析目标Bean对象，
+ * 解析出的Bean的名称会被缓存，目标为单例Bean对象时对象本身也会被缓存。
+ * <p>
+ * <p>
+ * 属性字段：
+ * beanFactory
+ * dependencyType
+ * qualifierName
+ * resolvedBeanName
+ * cachedTarget
+ * <p>
+ * 重写方法：
+ * getObject
+ * getIfAvailable
+ * toString
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * DependencyObjectProvider
+ * getDependencyType
+ * resolveBeanName
+ *
+ * @author stars
+ */
+class DependencyObjectProvider implements ObjectProvider<Object> {
+
+    // 配置列表Bean工厂对象
+    private final ConfigurableListableBeanFactory beanFactory;
+    // 依赖的类对象
+    private final Class<?> dependencyType;
+    // 限定的Bean的名称，为null时按类型解析
+    private final String qualifierName;
+    // 已解析的Bean的名称
+    private volatile String resolvedBeanName;
+    // 已缓存的单例目标对象
+    private volatile Object cachedTarget;
+
+    /**
+     * 有参构造函数（配置列表Bean工厂对象，依赖的类对象，限定的Bean的名称）
+     *
+     * @param beanFactory    配置列表Bean工厂对象
+     * @param dependencyType 依赖的类对象
+     * @param qualifierName  限定的Bean的名称，为null时按类型解析
+     */
+    DependencyObjectProvider(ConfigurableListableBeanFactory beanFactory, Class<?> dependencyType, String qualifierName) {
+        this.beanFactory = beanFactory;
+        this.dependencyType = dependencyType;
+        this.qualifierName = qualifierName;
+    }
+
+    /**
+     * 获取对象
+     * 解析并获取目标Bean对象，目标为单例Bean对象时缓存该对象。
+     *
+     * @return 目标Bean对象
+     * @throws BeansException 如果不存在唯一匹配的Bean对象或创建失败，则抛出BeansException异常
+     */
+    @Override
+    public Object getObject() throws BeansException {
+        Object target = this.cachedTarget;
+        if (target != null) {
+            return target;
+        }
+        String beanName = this.resolveBeanName();
+        target = this.beanFactory.getBean(beanName, this.dependencyType);
+        if (this.beanFactory.getBeanDefinition(beanName).isSingleton()) {
+            this.cachedTarget = target;
+        }
+        return target;
+    }
+
+    /**
+     * 获取对象如果可用
+     *
+     * @return 目标Bean对象，如果不存在匹配的Bean对象则返回null
+     * @throws BeansException 如果匹配的Bean对象不唯一或创建失败，则抛出BeansException异常
+     */
+    @Override
+    public Object getIfAvailable() throws BeansException {
+        if (this.cachedTarget == null && this.resolvedBeanName == null) {
+            if (this.qualifierName != null ? !this.beanFactory.containsBean(this.qualifierName)
+                    : this.beanFactory.getBeanNamesForType(this.dependencyType).isEmpty()) {
+                return null;
+            }
+        }
+        return this.getObject();
+    }
+
+    public Class<?> getDependencyType() {
+        return dependencyType;
+    }
+
+    /**
+     * 解析Bean名称
+     * 有@Qualifier注解时直接使用限定的名称，否则按类型查找唯一匹配的Bean的名称。
+     *
+     * @return 目标Bean的名称
+     * @throws BeansException 如果不存在唯一匹配的Bean对象，则抛出BeansException异常
+     */
+    private String resolveBeanName() throws BeansException {
+        String beanName = this.resolvedBeanName;
+        if (beanName == null) {
+            if (this.qualifierName != null) {
+                beanName = this.qualifierName;
+            } else {
+                List<String> beanNames = this.beanFactory.getBeanNamesForType(this.dependencyType);
+                if (beanNames.size() != 1) {
+                    throw new BeansException(this.dependencyType + "expected single bean but found " + beanNames.size() + ": " + beanNames);
+                }
+                beanName = beanNames.get(0);
+            }
+            this.resolvedBeanName = beanName;
+        }
+        return beanName;
+    }
+
+    @Override
+    public String toString() {
+        return "DependencyObjectProvider for " + this.dependencyType.getName();
+    }
+}
@@ -0,0 +1,136 @@
+package com.stars.starsspring.framework.beans.factory.annotation;
+
+import com.stars.starsspring.framework.beans.BeansException;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * 注入元数据——类
+ * 描述一个类需要注入的全部字段，由注解Bean扩展处理器按类构建一次并缓存，
+ * 之后每次创建该类的Bean对象时直接按元数据注入，不再进行注解和反射查找。
+ * <p>
+ * <p>
+ * 属性字段：
+ * targetClass
+ * injectedFields
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * InjectionMetadata
+ * getTargetClass
+ * isEmpty
+ * inject
+ *
+ * @author stars
+ */
+public class InjectionMetadata {
+
+    // 目标类对象
+    private final Class<?> targetClass;
+    // 需要注入的字段数组，按注入顺序排列
+    private final InjectedField[] injectedFields;
+
+    /**
+     * 有参构造函数（目标类对象，需要注入的字段列表）
+     *
+     * @param targetClass    目标类对象
+     * @param injectedFields 需要注入的字段列表，按注入顺序排列
+     */
+    public InjectionMetadata(Class<?> targetClass, List<InjectedField> injectedFields) {
+        this.targetClass = targetClass;
+        this.injectedFields = injectedFields.toArray(new InjectedField[0]);
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 是否为空
+     *
+     * @return 如果没有需要注入的字段，则返回true；否则返回false
+     */
+    public boolean isEmpty() {
+        return this.injectedFields.length == 0;
+    }
+
+    /**
+     * 注入（Bean对象）
+     * 依次解析并注入所有字段的值。
+     *
+     * @param bean 目标Bean对象
+     * @throws BeansException 如果解析或注入过程中发生异常，则抛出BeansException异常
+     */
+    public void inject(Object bean) throws BeansException {
+        for (InjectedField injectedField : this.injectedFields) {
+            injectedField.inject(bean);
+        }
+    }
+
+    /**
+     * 注入字段——抽象类
+     * 持有已设置为可访问的字段对象，由子类决定要注入的值。
+     * <p>
+     * <p>
+     * 属性字段：
+     * field
+     * <p>
+     * 重写方法：
+     * <p>
+     * 定义方法：
+     * resolveValue
+     * <p>
+     * 编写方法：
+     * InjectedField
+     * getField
+     * inject
+     *
+     * @author stars
+     */
+    public abstract static class InjectedField {
+
+        // 字段对象
+        protected final Field field;
+
+        /**
+         * 有参构造函数（字段对象）
+         *
+         * @param field 字段对象，构造时即设置为可访问
+         */
+        protected InjectedField(Field field) {
+            field.setAccessible(true);
+            this.field = field;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * 解析值
+         *
+         * @return 要注入字段的值
+         * @throws BeansException 如果解析过程中发生异常，则抛出BeansException异常
+         */
+        protected abstract Object resolveValue() throws BeansException;
+
+        /**
+         * 注入（Bean对象）
+         *
+         * @param bean 目标Bean对象
+         * @throws BeansException 如果注入过程中发生异常，则抛出BeansException异常
+         */
+        public void inject(Object bean) throws BeansException {
+            Object value = this.resolveValue();
+            try {
+                this.field.set(bean, value);
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                throw new BeansException("Could not inject field '" + this.field.getName() + "' of " + this.field.getDeclaringClass().getName(), e);
+            }
+        }
+    }
+}
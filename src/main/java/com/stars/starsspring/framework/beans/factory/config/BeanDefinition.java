@@ -2,6 +2,11 @@ package com.stars.starsspring.framework.beans.factory.config;
 
 import com.stars.starsspring.framework.beans.PropertyValues;
 
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Bean定义——类
  * 定义和描述Spring容器中的Bean对象。
@@ -11,6 +16,7 @@ import com.stars.starsspring.framework.beans.PropertyValues;
  * 属性字段：
  * SCOPE_SINGLETON
  * SCOPE_PROTOTYPE
+ * SCOPE_POOLED
  * beanClass
  * propertyValues
  * initMethodName
@@ -18,6 +24,12 @@ import com.stars.starsspring.framework.beans.PropertyValues;
  * SCOPE_SINGLETON
  * singleton
  * prototype
+ * pooled
+ * lazyInit
+ * resolvedConstructors
+ * poolMaxSize
+ * poolMinIdle
+ * poolMaxIdleTime
  * <p>
  * 重写方法：
  * <p>
@@ -34,9 +46,20 @@ import com.stars.starsspring.framework.beans.PropertyValues;
  * setInitMethodName
  * getDestroyMethodName
  * setDestroyMethodName
+ * getScope
  * setScope
  * isSingleton
  * isPrototype
+ * isPooled
+ * isLazyInit
+ * setLazyInit
+ * getResolvedConstructors
+ * getPoolMaxSize
+ * setPoolMaxSize
+ * getPoolMinIdle
+ * setPoolMinIdle
+ * getPoolMaxIdleTime
+ * setPoolMaxIdleTime
  *
  * @author stars
  */
@@ -46,6 +69,8 @@ public class BeanDefinition {
     String SCOPE_SINGLETON = ConfigurableBeanFactory.SCOPE_SINGLETON;
     // 原型范围
     String SCOPE_PROTOTYPE = ConfigurableBeanFactory.SCOPE_PROTOTYPE;
+    // 池化范围
+    String SCOPE_POOLED = ConfigurableBeanFactory.SCOPE_POOLED;
 
     // 类对象
     private Class beanClass;
@@ -61,6 +86,18 @@ public class BeanDefinition {
     private boolean singleton = true;
     // 原型标志
     private boolean prototype = false;
+    // 池化标志，为true时Bean对象从实例池中借出，使用完毕后通过releaseBean归还
+    private boolean pooled = false;
+    // 延迟初始化标志，为true时单例Bean对象不会被预实例化，而是在首次获取时创建
+    private boolean lazyInit = false;
+    // 已解析的构造函数缓存，键是构造参数的类型签名，值是与之匹配的构造函数对象
+    private final Map<List<Class<?>>, Constructor<?>> resolvedConstructors = new ConcurrentHashMap<>();
+    // 实例池最多保留的空闲实例数，仅对池化范围有效
+    private int poolMaxSize = 8;
+    // 实例池最少保留的空闲实例数，仅对池化范围有效
+    private int poolMinIdle = 0;
+    // 实例池中空闲实例的最长空闲时间（毫秒），小于等于0表示不驱逐，仅对池化范围有效
+    private long poolMaxIdleTime = 60000;
 
     /**
      * 有参构造函数（Bean的类对象）
@@ -91,6 +128,8 @@ public class BeanDefinition {
 
     public void setBeanClass(Class beanClass) {
         this.beanClass = beanClass;
+        // 类对象变化后已解析的构造函数不再有效
+        this.resolvedConstructors.clear();
     }
 
     public PropertyValues getPropertyValues() {
@@ -117,10 +156,15 @@ public class BeanDefinition {
         this.destroyMethodName = destroyMethodName;
     }
 
+    public String getScope() {
+        return scope;
+    }
+
     public void setScope(String scope) {
         this.scope = scope;
         this.singleton = SCOPE_SINGLETON.equals(scope);
         this.prototype = SCOPE_PROTOTYPE.equals(scope);
+        this.pooled = SCOPE_POOLED.equals(scope);
     }
 
     public boolean isSingleton() {
@@ -130,4 +174,44 @@ public class BeanDefinition {
     public boolean isPrototype() {
         return prototype;
     }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    public Map<List<Class<?>>, Constructor<?>> getResolvedConstructors() {
+        return resolvedConstructors;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public void setPoolMaxSize(int poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+
+    public int getPoolMinIdle() {
+        return poolMinIdle;
+    }
+
+    public void setPoolMinIdle(int poolMinIdle) {
+        this.poolMinIdle = poolMinIdle;
+    }
+
+    public long getPoolMaxIdleTime() {
+        return poolMaxIdleTime;
+    }
+
+    public void setPoolMaxIdleTime(long poolMaxIdleTime) {
+        this.poolMaxIdleTime = poolMaxIdleTime;
+    }
 }
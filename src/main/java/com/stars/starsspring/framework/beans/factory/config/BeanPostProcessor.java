@@ -25,24 +25,28 @@ public interface BeanPostProcessor {
     /**
      * 初始化之前扩展处理（Bean对象，Bean的名称）
      * 前置处理器
-     * 在Bean对象执行初始化方法之前，执行此方法。
+     * 在Bean对象执行初始化方法之前，执行此方法。默认直接返回原始对象，没有重写该方法的处理器不会参与初始化前处理。
      *
      * @param bean     当前Bean对象
      * @param beanName 当前Bean的名称
      * @return 修改后的Bean对象，可以是原始对象或修改后的代理对象
      * @throws BeansException 如果在处理过程中发生异常，则抛出BeansException异常
      */
-    Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException;
+    default Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
 
     /**
      * 初始化之后扩展处理（Bean对象，Bean的名称）
      * 后置处理器
-     * 在Bean对象执行初始化方法之后，执行此方法。
+     * 在Bean对象执行初始化方法之后，执行此方法。默认直接返回原始对象，没有重写该方法的处理器不会参与初始化后处理。
      *
      * @param bean     当前Bean对象
      * @param beanName 当前Bean的名称
      * @return 修改后的Bean对象，可以是原始对象或修改后的代理对象
      * @throws BeansException 如果在处理过程中发生异常，则抛出BeansException异常
      */
-    Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException;
+    default Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
 }
@@ -1,7 +1,9 @@
 package com.stars.starsspring.framework.beans.factory.config;
 
+import com.stars.starsspring.framework.beans.BeansException;
 import com.stars.starsspring.framework.beans.factory.HierarchicalBeanFactory;
 import com.stars.starsspring.framework.core.convert.ConversionService;
+import com.stars.starsspring.framework.core.metrics.ApplicationStartup;
 import com.stars.starsspring.framework.util.StringValueResolver;
 import org.jetbrains.annotations.Nullable;
 
@@ -13,16 +15,22 @@ import org.jetbrains.annotations.Nullable;
  * 属性字段：
  * SCOPE_SINGLETON
  * SCOPE_PROTOTYPE
+ * SCOPE_POOLED
  * <p>
  * 重写方法：
  * <p>
  * 定义方法：
  * addBeanPostProcessor
  * destroySingletons
+ * releaseBean
+ * registerScope
+ * getRegisteredScope
  * addEmbeddedValueResolver
  * resolveEmbeddedValue
  * setConversionService
  * getConversionService
+ * setApplicationStartup
+ * getApplicationStartup
  * <p>
  * 编写方法：
  *
@@ -34,6 +42,8 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory, Single
     String SCOPE_SINGLETON = "singleton";
     // 范围原型，定义了原型作用域的标识符，表示Bean对象是原型的，即每次请求都会创建一个新的实例。
     String SCOPE_PROTOTYPE = "prototype";
+    // 范围池化，定义了池化作用域的标识符，表示Bean对象从实例池中借出，使用完毕后归还以便复用。
+    String SCOPE_POOLED = "pooled";
 
     /**
      * 添加Bean扩展处理器（Bean扩展处理器对象）
@@ -49,6 +59,35 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory, Single
      */
     void destroySingletons();
 
+    /**
+     * 归还Bean对象（Bean的名称，Bean对象）
+     * 将从实例池中借出的池化Bean对象归还到实例池，实例池已满或已关闭时该对象会被销毁。
+     *
+     * @param name Bean的名称
+     * @param bean 要归还的Bean对象
+     * @throws BeansException 如果该Bean对象不是池化范围，或者销毁过程中出现异常，则抛出BeansException异常
+     */
+    void releaseBean(String name, Object bean) throws BeansException;
+
+    /**
+     * 注册作用域（作用域名称，作用域对象）
+     * 注册自定义作用域，范围为该名称的Bean对象交给该作用域对象管理。
+     *
+     * @param scopeName 作用域名称
+     * @param scope     作用域对象
+     * @throws BeansException 如果作用域名称是内置的singleton、prototype或pooled，则抛出BeansException异常
+     */
+    void registerScope(String scopeName, Scope scope) throws BeansException;
+
+    /**
+     * 获取已注册的作用域（作用域名称）
+     *
+     * @param scopeName 作用域名称
+     * @return 作用域对象，如果没有注册则返回null
+     */
+    @Nullable
+    Scope getRegisteredScope(String scopeName);
+
     /**
      * 添加嵌入式值解析器（字符串值解析对象）
      * 添加一个字符串值解析器，用于解析Bean定义对象中的字符串嵌入式值，例如注解属性。
@@ -86,4 +125,19 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory, Single
      */
     @Nullable
     ConversionService getConversionService();
+
+    /**
+     * 设置应用启动（应用启动对象）
+     * 用于记录每个Bean对象各个创建阶段的耗时，默认不记录。
+     *
+     * @param applicationStartup 应用启动对象
+     */
+    void setApplicationStartup(ApplicationStartup applicationStartup);
+
+    /**
+     * 获取应用启动
+     *
+     * @return 与该工厂关联的应用启动对象
+     */
+    ApplicationStartup getApplicationStartup();
 }
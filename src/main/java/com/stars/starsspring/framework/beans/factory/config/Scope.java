@@ -0,0 +1,55 @@
+package com.stars.starsspring.framework.beans.factory.config;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.ObjectFactory;
+
+/**
+ * 作用域——接口
+ * 自定义作用域的扩展点，通过ConfigurableBeanFactory的registerScope方法注册。
+ * 除单例、原型和池化以外的作用域名称都交给对应的作用域对象管理Bean对象的存储和销毁。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * get
+ * remove
+ * registerDestructionCallback
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+public interface Scope {
+
+    /**
+     * 获取（Bean的名称，对象工厂对象）
+     * 返回当前作用域中的Bean对象，不存在时通过对象工厂创建并保存到当前作用域中。
+     *
+     * @param name          Bean的名称
+     * @param objectFactory 用于创建Bean对象的对象工厂
+     * @return 当前作用域中的Bean对象
+     * @throws BeansException 如果创建Bean对象过程中出现异常，则抛出BeansException异常
+     */
+    Object get(String name, ObjectFactory<?> objectFactory) throws BeansException;
+
+    /**
+     * 移除（Bean的名称）
+     * 从当前作用域中移除Bean对象，同时移除其销毁回调，但不会执行该回调。
+     *
+     * @param name Bean的名称
+     * @return 被移除的Bean对象，如果不存在则返回null
+     */
+    Object remove(String name);
+
+    /**
+     * 注册销毁回调（Bean的名称，销毁回调）
+     * 注册在当前作用域结束时执行的销毁回调。
+     *
+     * @param name     Bean的名称
+     * @param callback 销毁回调
+     */
+    void registerDestructionCallback(String name, Runnable callback);
+}
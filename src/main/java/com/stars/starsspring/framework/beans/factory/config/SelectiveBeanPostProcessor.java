@@ -0,0 +1,30 @@
+package com.stars.starsspring.framework.beans.factory.config;
+
+/**
+ * 选择性Bean扩展处理器——接口
+ * 声明Bean扩展处理器只关心哪些Bean的类对象。Bean工厂按类对象缓存适用的Bean扩展处理器，
+ * 对不适用的Bean对象完全跳过该处理器的所有回调，创建Bean对象的开销只随实际适用的处理器数量增长。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * isApplicable
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+public interface SelectiveBeanPostProcessor extends BeanPostProcessor {
+
+    /**
+     * 是否适用（Bean的类对象）
+     * 结果会按类对象缓存，因此只能依赖类对象本身，不能依赖具体的Bean对象或可变状态。
+     *
+     * @param beanClass Bean的类对象，实例化之前是Bean定义对象中的类对象，之后是Bean对象的运行时类对象
+     * @return 如果该处理器需要处理该类的Bean对象，则返回true；否则返回false
+     */
+    boolean isApplicable(Class<?> beanClass);
+}
@@ -2,13 +2,16 @@ package com.stars.starsspring.framework.beans.factory.support;
 
 import com.stars.starsspring.framework.beans.BeansException;
 import com.stars.starsspring.framework.beans.PropertyValue;
+import com.stars.starsspring.framework.beans.PropertySetter;
+import com.stars.starsspring.framework.beans.PropertySetters;
 import com.stars.starsspring.framework.beans.PropertyValues;
 import com.stars.starsspring.framework.beans.factory.*;
 import com.stars.starsspring.framework.beans.factory.config.*;
 import com.stars.starsspring.framework.core.convert.ConversionService;
-import cn.hutool.core.bean.BeanUtil;
+import com.stars.starsspring.framework.core.metrics.ApplicationStartup;
+import com.stars.starsspring.framework.core.metrics.ContainerEvents;
+import com.stars.starsspring.framework.core.metrics.StartupStep;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.core.util.TypeUtil;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -61,13 +64,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     @Override
     protected Object createBean(String beanName, BeanDefinition beanDefinition, Object[] args) throws BeansException {
-        // 判断是否返回代理Bean对象
-        Object bean = this.resolveBeforeInstantiation(beanName, beanDefinition);
-        if (bean != null) {
-            return bean;
+        // 记录整个创建过程，创建过程中触发的其他Bean对象的创建会嵌套在该步骤之下
+        StartupStep creationStep = this.getApplicationStartup().start("bean.create").tag("beanName", beanName);
+        try {
+            // 判断是否返回代理Bean对象
+            Object bean = this.resolveBeforeInstantiation(beanName, beanDefinition);
+            if (bean != null) {
+                return bean;
+            }
+            // 执行创建Bean对象
+            return this.doCreateBean(beanName, beanDefinition, args);
+        } finally {
+            creationStep.end();
         }
-        // 执行创建Bean对象
-        return this.doCreateBean(beanName, beanDefinition, args);
     }
 
     /**
@@ -82,23 +91,40 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     protected Object doCreateBean(String beanName, BeanDefinition beanDefinition, Object[] args) {
         Object bean = null;
+        ApplicationStartup applicationStartup = this.getApplicationStartup();
+        // 飞行记录器事件，只记录成功创建的Bean对象
+        Object creationEvent = ContainerEvents.beginBeanCreation();
         try {
             // 1、实例化Bean对象
-            bean = this.createBeanInstance(beanDefinition, beanName, args);
+            StartupStep step = applicationStartup.start("bean.instantiate").tag("beanName", beanName);
+            try {
+                bean = this.createBeanInstance(beanDefinition, beanName, args);
+            } finally {
+                step.end();
+            }
             // 2、处理循环依赖，将实例化后的Bean对象提前放入缓存中曝光
             if (beanDefinition.isSingleton()) {
                 Object finalBean = bean;
                 this.addSingletonFactory(beanName, () -> this.getEarlyBeanReference(beanName, beanDefinition, finalBean));
             }
             // 3、实例化后判断
-            boolean continueWithPropertyPopulation = this.applyBeanPostProcessorsAfterInstantiation(beanName, bean);
+            step = applicationStartup.start("bean.populate").tag("beanName", beanName);
+            boolean continueWithPropertyPopulation;
+            try {
+                continueWithPropertyPopulation = this.applyBeanPostProcessorsAfterInstantiation(beanName, bean);
+                if (continueWithPropertyPopulation) {
+                    // 4、在设置Bean对象属性之前，允许Bean扩展处理器对象修改属性值
+                    this.applyBeanPostProcessorsBeforeApplyingPropertyValues(beanName, bean, beanDefinition);
+                    // 5、给Bean对象填充属性
+                    this.applyPropertyValues(beanName, bean, beanDefinition);
+                }
+            } finally {
+                step.end();
+            }
             if (!continueWithPropertyPopulation) {
+                ContainerEvents.commitBeanCreation(creationEvent, beanName, beanDefinition.getBeanClass());
                 return bean;
             }
-            // 4、在设置Bean对象属性之前，允许Bean扩展处理器对象修改属性值
-            this.applyBeanPostProcessorsBeforeApplyingPropertyValues(beanName, bean, beanDefinition);
-            // 5、给Bean对象填充属性
-            this.applyPropertyValues(beanName, bean, beanDefinition);
             // 6、执行Bean对象的初始化方法和Bean扩展处理器对象的前置和后置处理方法
             bean = this.initializeBean(beanName, bean, beanDefinition);
         } catch (Exception e) {
@@ -112,6 +138,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
             exposedObject = this.getSingleton(beanName);
             this.registerSingleton(beanName, exposedObject);
         }
+        ContainerEvents.commitBeanCreation(creationEvent, beanName, beanDefinition.getBeanClass());
         return exposedObject;
     }
 
@@ -124,22 +151,23 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @return 早期的Bean引用
      */
     protected Object getEarlyBeanReference(String beanName, BeanDefinition beanDefinition, Object bean) {
-        // 初始时，早期引用就是bean对象
-        Object exposedObject = bean;
-        // 遍历所有的BeanPostProcessor对象
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            // 检查是否是InstantiationAwareBeanPostProcessor类型的后置处理器
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
+        StartupStep step = this.getApplicationStartup().start("bean.early-reference").tag("beanName", beanName);
+        try {
+            // 初始时，早期引用就是bean对象
+            Object exposedObject = bean;
+            // 遍历适用于该类且重写了getEarlyBeanReference方法的后置处理器
+            for (InstantiationAwareBeanPostProcessor beanPostProcessor : this.getBeanPostProcessorCache(bean.getClass()).getEarlyReference()) {
                 // 调用后置处理器的getEarlyBeanReference方法，以获取早期引用
-                exposedObject = ((InstantiationAwareBeanPostProcessor) beanPostProcessor)
-                        .getEarlyBeanReference(exposedObject, beanName);
+                exposedObject = beanPostProcessor.getEarlyBeanReference(exposedObject, beanName);
                 // 如果返回的引用为null，说明后置处理器可能已经销毁了该Bean对象，直接结束循环
                 if (exposedObject == null) {
                     break;
                 }
             }
+            return exposedObject;
+        } finally {
+            step.end();
         }
-        return exposedObject;
     }
 
     /**
@@ -153,16 +181,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     private boolean applyBeanPostProcessorsAfterInstantiation(String beanName, Object bean) {
         boolean continueWithPropertyPopulation = true;
-        // 遍历所有的BeanPostProcessor对象
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            // 检查是否是InstantiationAwareBeanPostProcessor类型的后置处理器
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                InstantiationAwareBeanPostProcessor instantiationAwareBeanPostProcessor = (InstantiationAwareBeanPostProcessor) beanPostProcessor;
-                // 调用postProcessAfterInstantiation方法，返回值表示是否继续属性填充操作
-                if (!instantiationAwareBeanPostProcessor.postProcessAfterInstantiation(bean, beanName)) {
-                    continueWithPropertyPopulation = false;
-                    break;
-                }
+        // 遍历适用于该类的InstantiationAwareBeanPostProcessor后置处理器
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : this.getBeanPostProcessorCache(bean.getClass()).getInstantiationAware()) {
+            // 调用postProcessAfterInstantiation方法，返回值表示是否继续属性填充操作
+            if (!beanPostProcessor.postProcessAfterInstantiation(bean, beanName)) {
+                continueWithPropertyPopulation = false;
+                break;
             }
         }
         return continueWithPropertyPopulation;
@@ -178,17 +202,13 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @param beanDefinition Bean定义对象
      */
     protected void applyBeanPostProcessorsBeforeApplyingPropertyValues(String beanName, Object bean, BeanDefinition beanDefinition) {
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            // 检查是否是InstantiationAwareBeanPostProcessor类型的后置处理器
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                InstantiationAwareBeanPostProcessor instantiationAwareBeanPostProcessor = (InstantiationAwareBeanPostProcessor) beanPostProcessor;
-                // 调用postProcessPropertyValues方法，获取修改后的PropertyValues对象
-                PropertyValues propertyValues = instantiationAwareBeanPostProcessor.postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
-                if (propertyValues != null) {
-                    // 将修改后的PropertyValues对象添加到Bean定义对象中
-                    for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
-                        beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
-                    }
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : this.getBeanPostProcessorCache(bean.getClass()).getInstantiationAware()) {
+            // 调用postProcessPropertyValues方法，获取修改后的PropertyValues对象
+            PropertyValues propertyValues = beanPostProcessor.postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
+            if (propertyValues != null) {
+                // 将修改后的PropertyValues对象添加到Bean定义对象中
+                for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
+                    beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
                 }
             }
         }
@@ -220,15 +240,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @return 处理后的Bean对象，如果没有处理则返回null
      */
     protected Object applyBeanPostProcessorsBeforeInstantiation(Class<?> beanClass, String beanName) {
-        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-            // 检查BeanPostProcessor对象是否是InstantiationAwareBeanPostProcessor的实例
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-                // 调用postProcessBeforeInstantiation方法，传递Bean对象类型和名称
-                Object result = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessBeforeInstantiation(beanClass, beanName);
-                if (result != null) {
-                    // 如果处理器返回非空对象，则立即返回该对象
-                    return result;
-                }
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : this.getBeanPostProcessorCache(beanClass).getInstantiationAware()) {
+            // 调用postProcessBeforeInstantiation方法，传递Bean对象类型和名称
+            Object result = beanPostProcessor.postProcessBeforeInstantiation(beanClass, beanName);
+            if (result != null) {
+                // 如果处理器返回非空对象，则立即返回该对象
+                return result;
             }
         }
         // 如果没有处理器对Bean对象进行处理，则返回null
@@ -244,14 +261,29 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @param beanDefinition Bean定义对象，包含了配置信息
      */
     protected void registerDisposableBeanIfNecessary(String beanName, Object bean, BeanDefinition beanDefinition) {
-        // 非单例类型的Bean对象不执行销毁方法
-        if (!beanDefinition.isSingleton()) {
+        // 原型Bean对象不执行销毁方法，池化Bean对象由实例池负责销毁
+        if (beanDefinition.isPrototype() || beanDefinition.isPooled()) {
             return;
         }
         // 如果Bean对象实现了DisposableBean接口，或者配置了自定义的销毁方法，则注册销毁操作
         if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())) {
-            // 注册Bean对象的销毁适配器
-            this.registerDisposableBean(beanName, new DisposableBeanAdapter(bean, beanName, beanDefinition));
+            DisposableBeanAdapter disposableBean = new DisposableBeanAdapter(bean, beanName, beanDefinition);
+            if (beanDefinition.isSingleton()) {
+                // 注册Bean对象的销毁适配器
+                this.registerDisposableBean(beanName, disposableBean);
+                return;
+            }
+            // 自定义作用域的Bean对象在作用域结束时销毁
+            Scope scope = this.getRegisteredScope(beanDefinition.getScope());
+            if (scope != null) {
+                scope.registerDestructionCallback(beanName, () -> {
+                    try {
+                        disposableBean.destroy();
+                    } catch (Exception e) {
+                        throw new BeansException("Destroy method on bean with name '" + beanName + "' threw an exception", e);
+                    }
+                });
+            }
         }
     }
 
@@ -264,24 +296,11 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @return 创建的Bean对象
      */
     protected Object createBeanInstance(BeanDefinition beanDefinition, String beanName, Object[] args) {
-        // 创建一个变量来存储将要使用的构造函数
-        Constructor constructorToUse = null;
-        // 获取Bean的类对象
-        Class<?> beanClass = beanDefinition.getBeanClass();
-        // 获取Bean类中声明的所有构造函数
-        Constructor<?>[] declaredConstructors = beanClass.getDeclaredConstructors();
-        // 循环遍历所有的构造函数
-        for (Constructor ctor : declaredConstructors) {
-            // 检查是否传递了构造函数参数并且参数数量与当前构造函数匹配
-            // todo 源码中还判断参数类型一致性，而这里仅做简单处理，即只判断参数数量一致性
-            if (args != null && ctor.getParameterTypes().length == args.length) {
-                // 如果匹配，则选择这个构造函数作为要使用的构造函数
-                constructorToUse = ctor;
-                break;
-            }
-        }
+        // 按构造参数的类型选择构造函数，解析结果缓存在Bean定义对象中
+        Constructor<?> constructorToUse = ConstructorResolver.resolveConstructor(beanDefinition, args);
+        Object[] constructorArgs = (args != null ? args : ConstructorResolver.EMPTY_ARGS);
         // 使用实例化策略来创建Bean对象，并返回它
-        return this.getInstantiationStrategy().instantiate(beanDefinition, beanName, constructorToUse, args);
+        return this.getInstantiationStrategy().instantiate(beanDefinition, beanName, constructorToUse, constructorArgs);
     }
 
     /**
@@ -299,6 +318,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
             for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
                 String name = propertyValue.getName();
                 Object value = propertyValue.getValue();
+                // 获取按（类对象，属性名）缓存的属性设置器
+                PropertySetter propertySetter = PropertySetters.getPropertySetter(bean.getClass(), name);
                 if (value instanceof BeanReference) {
                     // 如果属性值是BeanReference类型，表示这个属性是一个引用其他Bean的依赖
                     BeanReference beanReference = (BeanReference) value;
@@ -307,7 +328,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
                 } else {
                     // 如果属性值不是BeanReference类型，需要进行类型转换，确保属性值的类型与目标属性的类型一致
                     Class<?> sourceType = value.getClass();
-                    Class<?> targetType = (Class<?>) TypeUtil.getFieldType(bean.getClass(), name);
+                    Class<?> targetType = propertySetter.getPropertyType();
                     ConversionService conversionService = getConversionService();
                     if (conversionService != null) {
                         if (conversionService.canConvert(sourceType, targetType)) {
@@ -316,8 +337,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
                         }
                     }
                 }
-                // 反射设置属性值
-                BeanUtil.setFieldValue(bean, name, value);
+                // 通过属性设置器设置属性值
+                propertySetter.setValue(bean, value);
             }
         } catch (Exception e) {
             throw new BeansException("Error setting property values for bean: " + beanName, e);
@@ -333,31 +354,51 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      * @return 初始化后的Bean对象
      */
     private Object initializeBean(String beanName, Object bean, BeanDefinition beanDefinition) {
+        ApplicationStartup applicationStartup = this.getApplicationStartup();
         // 1、处理Aware接口回调，让Bean对象可以感知容器
         if (bean instanceof Aware) {
-            // 如果Bean对象实现了BeanFactoryAware接口，将Bean工厂对象注入
-            if (bean instanceof BeanFactoryAware) {
-                ((BeanFactoryAware) bean).setBeanFactory(this);
-            }
-            // 如果Bean对象实现了BeanClassLoaderAware接口，将类加载器注入
-            if (bean instanceof BeanClassLoaderAware) {
-                ((BeanClassLoaderAware) bean).setBeanClassLoader(getBeanClassLoader());
-            }
-            // 如果Bean对象实现了BeanNameAware接口，将Bean的名称注入
-            if (bean instanceof BeanNameAware) {
-                ((BeanNameAware) bean).setBeanName(beanName);
+            StartupStep step = applicationStartup.start("bean.aware").tag("beanName", beanName);
+            try {
+                // 如果Bean对象实现了BeanFactoryAware接口，将Bean工厂对象注入
+                if (bean instanceof BeanFactoryAware) {
+                    ((BeanFactoryAware) bean).setBeanFactory(this);
+                }
+                // 如果Bean对象实现了BeanClassLoaderAware接口，将类加载器注入
+                if (bean instanceof BeanClassLoaderAware) {
+                    ((BeanClassLoaderAware) bean).setBeanClassLoader(getBeanClassLoader());
+                }
+                // 如果Bean对象实现了BeanNameAware接口，将Bean的名称注入
+                if (bean instanceof BeanNameAware) {
+                    ((BeanNameAware) bean).setBeanName(beanName);
+                }
+            } finally {
+                step.end();
             }
         }
         // 2、执行BeanPostProcessor对象的前置处理
-        Object wrappedBean = this.applyBeanPostProcessorsBeforeInitialization(bean, beanName);
+        StartupStep step = applicationStartup.start("bean.before-init").tag("beanName", beanName);
+        Object wrappedBean;
+        try {
+            wrappedBean = this.applyBeanPostProcessorsBeforeInitialization(bean, beanName);
+        } finally {
+            step.end();
+        }
         // 3、执行Bean对象的初始化方法
+        step = applicationStartup.start("bean.init-method").tag("beanName", beanName);
         try {
             this.invokeInitMethods(beanName, wrappedBean, beanDefinition);
         } catch (Exception e) {
             throw new BeansException("Invocation of init method of bean[" + beanName + "] failed", e);
+        } finally {
+            step.end();
+        }
+        // 4、执行BeanPostProcessor对象的后置处理，代理对象的创建记录为其中的bean.proxy步骤
+        step = applicationStartup.start("bean.after-init").tag("beanName", beanName);
+        try {
+            wrappedBean = this.applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+        } finally {
+            step.end();
         }
-        // 4、执行BeanPostProcessor对象的后置处理
-        wrappedBean = this.applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
         // 返回初始化后的Bean对象
         return wrappedBean;
     }
@@ -401,7 +442,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     @Override
     public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) throws BeansException {
         Object result = existingBean;
-        for (BeanPostProcessor processor : getBeanPostProcessors()) {
+        for (BeanPostProcessor processor : this.getBeanPostProcessorCache(existingBean.getClass()).getBeforeInitialization()) {
             Object current = processor.postProcessBeforeInitialization(result, beanName);
             if (current == null) return result;
             result = current;
@@ -421,7 +462,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     @Override
     public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) throws BeansException {
         Object result = existingBean;
-        for (BeanPostProcessor processor : getBeanPostProcessors()) {
+        for (BeanPostProcessor processor : this.getBeanPostProcessorCache(existingBean.getClass()).getAfterInitialization()) {
             Object current = processor.postProcessAfterInitialization(result, beanName);
             if (current == null) return result;
             result = current;
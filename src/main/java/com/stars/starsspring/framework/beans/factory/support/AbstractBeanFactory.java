@@ -4,13 +4,18 @@ import com.stars.starsspring.framework.beans.BeansException;
 import com.stars.starsspring.framework.beans.factory.FactoryBean;
 import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
 import com.stars.starsspring.framework.beans.factory.config.BeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.DisposableBean;
 import com.stars.starsspring.framework.beans.factory.config.ConfigurableBeanFactory;
+import com.stars.starsspring.framework.beans.factory.config.Scope;
 import com.stars.starsspring.framework.core.convert.ConversionService;
+import com.stars.starsspring.framework.core.metrics.ApplicationStartup;
 import com.stars.starsspring.framework.util.ClassUtils;
 import com.stars.starsspring.framework.util.StringValueResolver;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 抽象Bean工厂——抽象类
@@ -19,9 +24,14 @@ import java.util.List;
  * <p>
  * 属性字段：
  * beanPostProcessors
+ * beanPostProcessorCache
  * embeddedValueResolvers
  * beanClassLoader
  * conversionService
+ * applicationStartup
+ * beanPools
+ * beanPoolsClosed
+ * scopes
  * <p>
  * 重写方法：
  * getBean
@@ -33,6 +43,12 @@ import java.util.List;
  * resolveEmbeddedValue
  * setConversionService
  * ConversionService
+ * setApplicationStartup
+ * getApplicationStartup
+ * releaseBean
+ * registerScope
+ * getRegisteredScope
+ * destroySingletons
  * <p>
  * 定义方法：
  * containsBeanDefinition
@@ -42,7 +58,9 @@ import java.util.List;
  * 编写方法：
  * doGetBean
  * getObjectForBeanInstance
+ * getBeanPool
  * getBeanPostProcessors
+ * getBeanPostProcessorCache
  * getBeanClassLoader
  *
  * @author stars
@@ -51,6 +69,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 
     // Bean扩展处理列表对象
     private final List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+    // Bean扩展处理器缓存对象，注册Bean扩展处理器时按回调类型重新分类
+    private volatile BeanPostProcessorCache beanPostProcessorCache = BeanPostProcessorCache.EMPTY;
     // 嵌入式值解析器列表对象
     private final List<StringValueResolver> embeddedValueResolvers = new ArrayList<>();
 
@@ -58,6 +78,14 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
     private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
     // 转换服务对象
     private ConversionService conversionService;
+    // 应用启动对象，默认不记录启动步骤
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    // 实例池缓存，键是池化范围的Bean的名称，值是对应的实例池
+    private final Map<String, BeanInstancePool> beanPools = new ConcurrentHashMap<>();
+    // 实例池关闭标志，销毁单例之后设置，关闭后不再创建可用的实例池
+    private volatile boolean beanPoolsClosed;
+    // 自定义作用域缓存，键是作用域名称，值是作用域对象
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
 
     /**
      * 获取Bean（Bean的名称）
@@ -127,6 +155,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
      */
     @SuppressWarnings("unchecked")
     protected <T> T doGetBean(final String name, final Object[] args) {
+        // 如果当前线程正在创建单例Bean对象，记录它依赖于该Bean对象，销毁时按依赖的逆序销毁
+        this.registerDependencyOfCurrentBean(name);
         // 首先尝试从单例缓存中获取Bean对象
         Object sharedInstance = this.getSingleton(name);
         if (sharedInstance != null) {
@@ -137,8 +167,25 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         // 如果单例缓存中没有对应的Bean对象，则需要创建Bean对象
         // 首先获取Bean定义对象
         BeanDefinition beanDefinition = this.getBeanDefinition(name);
-        // 调用createBean方法创建Bean对象
-        Object bean = this.createBean(name, beanDefinition, args);
+        Object bean;
+        if (beanDefinition.isSingleton()) {
+            // 单例Bean对象在创建锁的保护下创建，并发请求只会创建一次
+            bean = this.getSingleton(name, () -> this.createBean(name, beanDefinition, args));
+        } else if (beanDefinition.isPooled()) {
+            // 池化Bean对象从实例池中借出，实例池为空时创建新实例
+            bean = this.getBeanPool(name, beanDefinition).borrow();
+        } else if (beanDefinition.isPrototype()) {
+            // 调用createBean方法创建Bean对象
+            bean = this.createBean(name, beanDefinition, args);
+        } else {
+            // 其他范围交给注册的作用域对象管理
+            String scopeName = beanDefinition.getScope();
+            Scope scope = this.scopes.get(scopeName);
+            if (scope == null) {
+                throw new BeansException("No Scope registered for scope name '" + scopeName + "' of bean '" + name + "'");
+            }
+            bean = scope.get(name, () -> this.createBean(name, beanDefinition, args));
+        }
         // 返回Bean对象，如果需要，会根据工厂Bean对象进行处理
         return (T) this.getObjectForBeanInstance(bean, name);
     }
@@ -167,6 +214,127 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         return object;
     }
 
+    /**
+     * 获取实例池（Bean的名称，Bean定义对象）
+     * 第一次获取时创建实例池，并由创建成功的线程启动空闲驱逐任务、按最少空闲实例数预热。
+     * Bean工厂对象销毁单例之后，已关闭的实例池仍保留在缓存中；此时才第一次获取的实例池创建后立即关闭，
+     * 不预热也不启动驱逐任务，借出时抛出异常，归还的实例直接销毁。
+     *
+     * @param beanName       Bean的名称
+     * @param beanDefinition 池化范围的Bean定义对象
+     * @return 实例池对象
+     * @throws BeansException 如果预热过程中出现异常，则抛出BeansException异常
+     */
+    protected BeanInstancePool getBeanPool(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        BeanInstancePool beanPool = this.beanPools.get(beanName);
+        if (beanPool == null) {
+            BeanInstancePool newPool = new BeanInstancePool(beanName, beanDefinition,
+                    () -> this.createBean(beanName, beanDefinition, null),
+                    bean -> new DisposableBeanAdapter(bean, beanName, beanDefinition).destroy());
+            beanPool = this.beanPools.putIfAbsent(beanName, newPool);
+            if (beanPool == null) {
+                beanPool = newPool;
+                if (this.beanPoolsClosed) {
+                    // 与destroySingletons并发或在其之后发布的实例池
+                    beanPool.close();
+                } else {
+                    beanPool.start();
+                    beanPool.prewarm();
+                }
+            }
+        }
+        return beanPool;
+    }
+
+    /**
+     * 归还Bean对象（Bean的名称，Bean对象）
+     * 将从实例池中借出的池化Bean对象归还到实例池，实例池已满或已关闭时该对象会被销毁。
+     * Bean工厂对象销毁单例之后归还的实例也由已关闭的实例池销毁，不会重新创建实例池。
+     *
+     * @param name Bean的名称
+     * @param bean 要归还的Bean对象
+     * @throws BeansException 如果该Bean对象不是池化范围，或者销毁过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public void releaseBean(String name, Object bean) throws BeansException {
+        BeanDefinition beanDefinition = this.getBeanDefinition(name);
+        if (!beanDefinition.isPooled()) {
+            throw new BeansException("Bean with name '" + name + "' is not pooled and cannot be released");
+        }
+        this.getBeanPool(name, beanDefinition).release(bean);
+    }
+
+    /**
+     * 注册作用域（作用域名称，作用域对象）
+     *
+     * @param scopeName 作用域名称
+     * @param scope     作用域对象
+     * @throws BeansException 如果作用域名称是内置的singleton、prototype或pooled，则抛出BeansException异常
+     */
+    @Override
+    public void registerScope(String scopeName, Scope scope) throws BeansException {
+        if (SCOPE_SINGLETON.equals(scopeName) || SCOPE_PROTOTYPE.equals(scopeName) || SCOPE_POOLED.equals(scopeName)) {
+            throw new BeansException("Cannot replace built-in scope '" + scopeName + "'");
+        }
+        this.scopes.put(scopeName, scope);
+    }
+
+    /**
+     * 获取已注册的作用域（作用域名称）
+     *
+     * @param scopeName 作用域名称
+     * @return 作用域对象，如果没有注册则返回null
+     */
+    @Override
+    public Scope getRegisteredScope(String scopeName) {
+        return this.scopes.get(scopeName);
+    }
+
+    /**
+     * 销毁所有单例
+     * 先关闭所有实例池并销毁其中的空闲实例，再结束实现了DisposableBean接口的作用域，最后销毁单例Bean对象。
+     * 关闭的实例池保留在缓存中，之后仍在处理中的请求归还的实例会被直接销毁。
+     * 实例池或作用域的销毁失败不会阻止单例Bean对象的销毁，单例销毁报告抛出时附加为被抑制的异常。
+     *
+     * @throws BeansException 如果销毁过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public void destroySingletons() throws BeansException {
+        BeansException failure = null;
+        this.beanPoolsClosed = true;
+        for (BeanInstancePool beanPool : this.beanPools.values()) {
+            try {
+                beanPool.close();
+            } catch (BeansException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        for (Scope scope : this.scopes.values()) {
+            if (scope instanceof DisposableBean) {
+                try {
+                    ((DisposableBean) scope).destroy();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = (e instanceof BeansException ? (BeansException) e : new BeansException("Destroy of scope threw an exception", e));
+                    }
+                }
+            }
+        }
+        try {
+            super.destroySingletons();
+        } catch (BeansException e) {
+            if (failure != null) {
+                e.addSuppressed(failure);
+            }
+            throw e;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * 获取Bean定义（Bean的名称）
      *
@@ -197,6 +365,7 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
         this.beanPostProcessors.remove(beanPostProcessor);
         this.beanPostProcessors.add(beanPostProcessor);
+        this.beanPostProcessorCache = new BeanPostProcessorCache(this.beanPostProcessors);
     }
 
     /**
@@ -252,10 +421,30 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         return conversionService;
     }
 
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
     public List<BeanPostProcessor> getBeanPostProcessors() {
         return beanPostProcessors;
     }
 
+    /**
+     * 获取Bean扩展处理器缓存（Bean的类对象）
+     *
+     * @param beanClass Bean的类对象
+     * @return 只包含适用于该类对象的Bean扩展处理器的缓存对象
+     */
+    BeanPostProcessorCache getBeanPostProcessorCache(Class<?> beanClass) {
+        return this.beanPostProcessorCache.forBeanClass(beanClass);
+    }
+
     public ClassLoader getBeanClassLoader() {
         return beanClassLoader;
     }
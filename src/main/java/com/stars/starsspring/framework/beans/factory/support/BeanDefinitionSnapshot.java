@@ -0,0 +1,597 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.PropertyValue;
+import com.stars.starsspring.framework.beans.PropertyValues;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import com.stars.starsspring.framework.beans.factory.config.BeanReference;
+import com.stars.starsspring.framework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Bean定义快照——类
+ * 把读取配置资源和扫描类路径得到的Bean定义对象保存为紧凑的二进制文件，之后的启动一次读入即可注册，
+ * 不再解析XML，也不再加载扫描包中的每一个类。
+ * 快照记录了生成它时每个来源（配置资源、扫描的包）的校验和，来源变化后快照失效，由调用方回退到正常加载。
+ * 文件格式：魔数、版本、字符串表、来源校验和、Bean定义，最后是前面所有字节的CRC32校验和；
+ * 字符串只在字符串表中出现一次，其他位置以变长整数编号引用。
+ * 属性值只支持字符串字面量、Bean引用和null，也就是XML读取器和类路径扫描器会产生的属性值。
+ * <p>
+ * <p>
+ * 属性字段：
+ * MAGIC
+ * VERSION
+ * VALUE_NULL
+ * VALUE_LITERAL
+ * VALUE_REFERENCE
+ * RESOURCE_SOURCE_PREFIX
+ * PACKAGE_SOURCE_PREFIX
+ * sourceChecksums
+ * entries
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * BeanDefinitionSnapshot
+ * BeanDefinitionSnapshot
+ * read
+ * write
+ * getSourceChecksums
+ * registerBeanDefinitions
+ * checksumResource
+ * checksumPackage
+ * encode
+ * decode
+ * fingerprintDirectory
+ * fingerprintArchive
+ * writeVarInt
+ * readVarInt
+ *
+ * @author stars
+ */
+public class BeanDefinitionSnapshot {
+
+    // 文件魔数，"SSBD"
+    private static final int MAGIC = 0x53534244;
+    // 文件格式版本，格式变化时递增，旧版本的快照直接失效
+    private static final int VERSION = 1;
+    // 属性值类型：null
+    private static final int VALUE_NULL = 0;
+    // 属性值类型：字符串字面量
+    private static final int VALUE_LITERAL = 1;
+    // 属性值类型：Bean引用
+    private static final int VALUE_REFERENCE = 2;
+
+    // 配置资源来源的前缀，后接资源位置
+    public static final String RESOURCE_SOURCE_PREFIX = "resource:";
+    // 扫描包来源的前缀，后接包名
+    public static final String PACKAGE_SOURCE_PREFIX = "package:";
+
+    // 来源校验和Map对象，键是带前缀的来源，值是生成快照时该来源的校验和
+    private final Map<String, Long> sourceChecksums;
+    // Bean定义条目列表，按注册顺序排列
+    private final List<Entry> entries;
+
+    /**
+     * 有参构造函数（来源校验和Map对象，Bean定义Map对象）
+     *
+     * @param sourceChecksums 来源校验和Map对象，键以RESOURCE_SOURCE_PREFIX或PACKAGE_SOURCE_PREFIX开头
+     * @param beanDefinitions Bean的名称到Bean定义对象的Map对象
+     * @throws BeansException 如果Bean定义对象包含快照不支持的属性值，则抛出BeansException异常
+     */
+    public BeanDefinitionSnapshot(Map<String, Long> sourceChecksums, Map<String, BeanDefinition> beanDefinitions) throws BeansException {
+        this.sourceChecksums = new LinkedHashMap<>(sourceChecksums);
+        this.entries = new ArrayList<>(beanDefinitions.size());
+        for (Map.Entry<String, BeanDefinition> beanDefinitionEntry : beanDefinitions.entrySet()) {
+            this.entries.add(new Entry(beanDefinitionEntry.getKey(), beanDefinitionEntry.getValue()));
+        }
+    }
+
+    /**
+     * 有参构造函数（来源校验和Map对象，Bean定义条目列表）
+     *
+     * @param sourceChecksums 来源校验和Map对象
+     * @param entries         Bean定义条目列表
+     */
+    private BeanDefinitionSnapshot(Map<String, Long> sourceChecksums, List<Entry> entries) {
+        this.sourceChecksums = sourceChecksums;
+        this.entries = entries;
+    }
+
+    /**
+     * 读取（快照文件路径）
+     * 一次读入整个文件并校验魔数、版本和CRC32校验和，不加载任何类。
+     *
+     * @param file 快照文件路径
+     * @return 快照对象
+     * @throws BeansException 如果文件无法读取、已损坏或版本不匹配，则抛出BeansException异常
+     */
+    public static BeanDefinitionSnapshot read(Path file) throws BeansException {
+        try {
+            return decode(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new BeansException("Failed to read bean definition snapshot from [" + file + "]", e);
+        }
+    }
+
+    /**
+     * 写入（快照文件路径）
+     * 先写入同一目录下的临时文件再替换目标文件，读取方不会看到写了一半的快照。
+     *
+     * @param file 快照文件路径
+     * @throws BeansException 如果写入失败，则抛出BeansException异常
+     */
+    public void write(Path file) throws BeansException {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporaryFile, this.encode());
+                try {
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            throw new BeansException("Failed to write bean definition snapshot to [" + file + "]", e);
+        }
+    }
+
+    public Map<String, Long> getSourceChecksums() {
+        return Collections.unmodifiableMap(sourceChecksums);
+    }
+
+    /**
+     * 注册Bean定义（Bean定义注册表对象，类加载器对象）
+     * 先加载所有Bean的类对象并创建全部Bean定义对象，再依次注册；任何一个类无法加载时不注册任何Bean定义对象，
+     * 调用方可以安全地回退到正常加载。类只加载不初始化。
+     *
+     * @param registry    Bean定义注册表对象
+     * @param classLoader 用于加载Bean的类对象的类加载器对象
+     * @throws BeansException 如果某个类无法加载，则抛出BeansException异常
+     */
+    public void registerBeanDefinitions(BeanDefinitionRegistry registry, ClassLoader classLoader) throws BeansException {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(this.entries.size());
+        for (Entry entry : this.entries) {
+            beanDefinitions.add(entry.toBeanDefinition(classLoader));
+        }
+        for (int i = 0; i < this.entries.size(); i++) {
+            registry.registerBeanDefinition(this.entries.get(i).beanName, beanDefinitions.get(i));
+        }
+    }
+
+    /**
+     * 资源校验和（资源对象）
+     *
+     * @param resource 资源对象
+     * @return 资源内容的CRC32校验和
+     * @throws IOException 如果读取资源失败，则抛出IOException异常
+     */
+    public static long checksumResource(Resource resource) throws IOException {
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = resource.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc32.update(buffer, 0, read);
+            }
+        }
+        return crc32.getValue();
+    }
+
+    /**
+     * 包校验和（包名，类加载器对象）
+     * 根据包及其子包中所有类文件的相对路径、大小和修改时间计算校验和，不读取也不加载任何类。
+     * 包位于JAR文件中时，使用JAR文件的路径、大小和修改时间。
+     *
+     * @param basePackage 包名
+     * @param classLoader 类加载器对象
+     * @return 包内容的校验和
+     * @throws IOException 如果遍历类路径失败，则抛出IOException异常
+     */
+    public static long checksumPackage(String basePackage, ClassLoader classLoader) throws IOException {
+        String packagePath = basePackage.replace('.', '/');
+        // 同一个包可能分布在多个类路径条目中，排序后计算，结果与类路径条目的枚举顺序无关
+        TreeSet<String> fingerprints = new TreeSet<>();
+        Enumeration<URL> urls = classLoader.getResources(packagePath);
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            if ("file".equals(url.getProtocol())) {
+                fingerprintDirectory(url, fingerprints);
+            } else {
+                fingerprintArchive(url, fingerprints);
+            }
+        }
+        CRC32 crc32 = new CRC32();
+        for (String fingerprint : fingerprints) {
+            crc32.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            crc32.update('\n');
+        }
+        return crc32.getValue();
+    }
+
+    /**
+     * 编码
+     *
+     * @return 快照文件内容
+     * @throws IOException 如果字符串超过DataOutput.writeUTF的长度限制，则抛出IOException异常
+     */
+    private byte[] encode() throws IOException {
+        // 先收集字符串表，编号0保留给null
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (String source : this.sourceChecksums.keySet()) {
+            strings.putIfAbsent(source, strings.size() + 1);
+        }
+        for (Entry entry : this.entries) {
+            entry.collectStrings(strings);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        writeVarInt(output, strings.size());
+        for (String string : strings.keySet()) {
+            output.writeUTF(string);
+        }
+        writeVarInt(output, this.sourceChecksums.size());
+        for (Map.Entry<String, Long> sourceChecksum : this.sourceChecksums.entrySet()) {
+            writeVarInt(output, strings.get(sourceChecksum.getKey()));
+            output.writeLong(sourceChecksum.getValue());
+        }
+        writeVarInt(output, this.entries.size());
+        for (Entry entry : this.entries) {
+            entry.writeTo(output, strings);
+        }
+        output.flush();
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes.toByteArray());
+        output.writeLong(crc32.getValue());
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解码（快照文件内容）
+     *
+     * @param content 快照文件内容
+     * @return 快照对象
+     * @throws IOException 如果内容已损坏或版本不匹配，则抛出IOException异常
+     */
+    private static BeanDefinitionSnapshot decode(byte[] content) throws IOException {
+        if (content.length < 16) {
+            throw new IOException("Snapshot is truncated");
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(content, 0, content.length - 8);
+        long expectedChecksum = new DataInputStream(new ByteArrayInputStream(content, content.length - 8, 8)).readLong();
+        if (expectedChecksum != crc32.getValue()) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(content, 0, content.length - 8));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a bean definition snapshot");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        String[] strings = new String[readVarInt(input) + 1];
+        for (int i = 1; i < strings.length; i++) {
+            strings[i] = input.readUTF();
+        }
+        int sourceCount = readVarInt(input);
+        Map<String, Long> sourceChecksums = new LinkedHashMap<>(sourceCount * 4 / 3 + 1);
+        for (int i = 0; i < sourceCount; i++) {
+            sourceChecksums.put(strings[readVarInt(input)], input.readLong());
+        }
+        int entryCount = readVarInt(input);
+        List<Entry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(new Entry(input, strings));
+        }
+        return new BeanDefinitionSnapshot(sourceChecksums, entries);
+    }
+
+    /**
+     * 目录指纹（目录URL对象，指纹集合）
+     *
+     * @param url          包对应的目录URL对象
+     * @param fingerprints 收集类文件指纹的集合
+     * @throws IOException 如果遍历目录失败，则抛出IOException异常
+     */
+    private static void fingerprintDirectory(URL url, TreeSet<String> fingerprints) throws IOException {
+        Path directory;
+        try {
+            directory = Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid class path directory " + url, e);
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(path -> path.toString().endsWith(".class")).forEach(path -> {
+                File classFile = path.toFile();
+                fingerprints.add(directory.relativize(path) + ":" + classFile.length() + ":" + classFile.lastModified());
+            });
+        }
+    }
+
+    /**
+     * 归档指纹（归档中的包URL对象，指纹集合）
+     *
+     * @param url          包对应的JAR中的URL对象
+     * @param fingerprints 收集指纹的集合
+     * @throws IOException 如果无法打开归档文件，则抛出IOException异常
+     */
+    private static void fingerprintArchive(URL url, TreeSet<String> fingerprints) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (connection instanceof JarURLConnection) {
+            URL archiveUrl = ((JarURLConnection) connection).getJarFileURL();
+            if ("file".equals(archiveUrl.getProtocol())) {
+                try {
+                    File archive = new File(archiveUrl.toURI());
+                    fingerprints.add(archive.getAbsolutePath() + ":" + archive.length() + ":" + archive.lastModified());
+                    return;
+                } catch (URISyntaxException e) {
+                    throw new IOException("Invalid class path archive " + archiveUrl, e);
+                }
+            }
+        }
+        // 无法定位到本地文件的来源，只能使用其大小和修改时间
+        fingerprints.add(url + ":" + connection.getContentLengthLong() + ":" + connection.getLastModified());
+    }
+
+    /**
+     * 写入变长整数（数据输出流对象，非负整数）
+     *
+     * @param output 数据输出流对象
+     * @param value  非负整数
+     * @throws IOException 如果写入失败，则抛出IOException异常
+     */
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * 读取变长整数（数据输入流对象）
+     *
+     * @param input 数据输入流对象
+     * @return 非负整数
+     * @throws IOException 如果读取失败或数据已损坏，则抛出IOException异常
+     */
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Bean定义条目——内部类
+     * 以类名而不是类对象保存的Bean定义对象。
+     *
+     * @author stars
+     */
+    private static final class Entry {
+
+        // Bean的名称
+        private final String beanName;
+        // Bean的类名
+        private final String className;
+        // 范围
+        private final String scope;
+        // 延迟初始化标志
+        private final boolean lazyInit;
+        // 初始化方法名字
+        private final String initMethodName;
+        // 销毁方法名字
+        private final String destroyMethodName;
+        // 实例池最多保留的空闲实例数
+        private final int poolMaxSize;
+        // 实例池最少保留的空闲实例数
+        private final int poolMinIdle;
+        // 实例池中空闲实例的最长空闲时间（毫秒）
+        private final long poolMaxIdleTime;
+        // 属性名数组
+        private final String[] propertyNames;
+        // 属性值类型数组
+        private final int[] propertyKinds;
+        // 属性值数组，Bean引用保存为被引用的Bean的名称
+        private final String[] propertyValues;
+
+        /**
+         * 有参构造函数（Bean的名称，Bean定义对象）
+         *
+         * @param beanName       Bean的名称
+         * @param beanDefinition Bean定义对象
+         * @throws BeansException 如果Bean定义对象包含快照不支持的属性值，则抛出BeansException异常
+         */
+        Entry(String beanName, BeanDefinition beanDefinition) throws BeansException {
+            this.beanName = beanName;
+            this.className = beanDefinition.getBeanClass().getName();
+            this.scope = beanDefinition.getScope();
+            this.lazyInit = beanDefinition.isLazyInit();
+            this.initMethodName = beanDefinition.getInitMethodName();
+            this.destroyMethodName = beanDefinition.getDestroyMethodName();
+            this.poolMaxSize = beanDefinition.getPoolMaxSize();
+            this.poolMinIdle = beanDefinition.getPoolMinIdle();
+            this.poolMaxIdleTime = beanDefinition.getPoolMaxIdleTime();
+            PropertyValue[] propertyValueArray = beanDefinition.getPropertyValues().getPropertyValues();
+            this.propertyNames = new String[propertyValueArray.length];
+            this.propertyKinds = new int[propertyValueArray.length];
+            this.propertyValues = new String[propertyValueArray.length];
+            for (int i = 0; i < propertyValueArray.length; i++) {
+                Object value = propertyValueArray[i].getValue();
+                this.propertyNames[i] = propertyValueArray[i].getName();
+                if (value == null) {
+                    this.propertyKinds[i] = VALUE_NULL;
+                } else if (value instanceof String) {
+                    this.propertyKinds[i] = VALUE_LITERAL;
+                    this.propertyValues[i] = (String) value;
+                } else if (value instanceof BeanReference) {
+                    this.propertyKinds[i] = VALUE_REFERENCE;
+                    this.propertyValues[i] = ((BeanReference) value).getBeanName();
+                } else {
+                    throw new BeansException("Property '" + this.propertyNames[i] + "' of bean '" + beanName
+                            + "' has a value of type " + value.getClass().getName() + " that cannot be stored in a snapshot");
+                }
+            }
+        }
+
+        /**
+         * 有参构造函数（数据输入流对象，字符串表）
+         *
+         * @param input   数据输入流对象
+         * @param strings 字符串表，编号0是null
+         * @throws IOException 如果读取失败或数据已损坏，则抛出IOException异常
+         */
+        Entry(DataInputStream input, String[] strings) throws IOException {
+            this.beanName = strings[readVarInt(input)];
+            this.className = strings[readVarInt(input)];
+            this.scope = strings[readVarInt(input)];
+            this.lazyInit = input.readBoolean();
+            this.initMethodName = strings[readVarInt(input)];
+            this.destroyMethodName = strings[readVarInt(input)];
+            this.poolMaxSize = input.readInt();
+            this.poolMinIdle = input.readInt();
+            this.poolMaxIdleTime = input.readLong();
+            int propertyCount = readVarInt(input);
+            this.propertyNames = new String[propertyCount];
+            this.propertyKinds = new int[propertyCount];
+            this.propertyValues = new String[propertyCount];
+            for (int i = 0; i < propertyCount; i++) {
+                this.propertyNames[i] = strings[readVarInt(input)];
+                this.propertyKinds[i] = input.readUnsignedByte();
+                this.propertyValues[i] = strings[readVarInt(input)];
+            }
+            if (this.beanName == null || this.className == null) {
+                throw new IOException("Snapshot entry without bean name or class name");
+            }
+        }
+
+        /**
+         * 收集字符串（字符串表）
+         *
+         * @param strings 字符串到编号的Map对象
+         */
+        void collectStrings(Map<String, Integer> strings) {
+            collect(strings, this.beanName);
+            collect(strings, this.className);
+            collect(strings, this.scope);
+            collect(strings, this.initMethodName);
+            collect(strings, this.destroyMethodName);
+            for (int i = 0; i < this.propertyNames.length; i++) {
+                collect(strings, this.propertyNames[i]);
+                collect(strings, this.propertyValues[i]);
+            }
+        }
+
+        /**
+         * 写入（数据输出流对象，字符串表）
+         *
+         * @param output  数据输出流对象
+         * @param strings 字符串到编号的Map对象
+         * @throws IOException 如果写入失败，则抛出IOException异常
+         */
+        void writeTo(DataOutputStream output, Map<String, Integer> strings) throws IOException {
+            writeVarInt(output, indexOf(strings, this.beanName));
+            writeVarInt(output, indexOf(strings, this.className));
+            writeVarInt(output, indexOf(strings, this.scope));
+            output.writeBoolean(this.lazyInit);
+            writeVarInt(output, indexOf(strings, this.initMethodName));
+            writeVarInt(output, indexOf(strings, this.destroyMethodName));
+            output.writeInt(this.poolMaxSize);
+            output.writeInt(this.poolMinIdle);
+            output.writeLong(this.poolMaxIdleTime);
+            writeVarInt(output, this.propertyNames.length);
+            for (int i = 0; i < this.propertyNames.length; i++) {
+                writeVarInt(output, indexOf(strings, this.propertyNames[i]));
+                output.writeByte(this.propertyKinds[i]);
+                writeVarInt(output, indexOf(strings, this.propertyValues[i]));
+            }
+        }
+
+        /**
+         * 转换为Bean定义（类加载器对象）
+         *
+         * @param classLoader 类加载器对象
+         * @return Bean定义对象
+         * @throws BeansException 如果类无法加载，则抛出BeansException异常
+         */
+        BeanDefinition toBeanDefinition(ClassLoader classLoader) throws BeansException {
+            Class<?> beanClass;
+            try {
+                beanClass = Class.forName(this.className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new BeansException("Cannot load class [" + this.className + "] of bean '" + this.beanName + "' from snapshot", e);
+            }
+            PropertyValues propertyValueSet = new PropertyValues();
+            for (int i = 0; i < this.propertyNames.length; i++) {
+                Object value = (this.propertyKinds[i] == VALUE_REFERENCE ? new BeanReference(this.propertyValues[i]) : this.propertyValues[i]);
+                propertyValueSet.addPropertyValue(new PropertyValue(this.propertyNames[i], value));
+            }
+            BeanDefinition beanDefinition = new BeanDefinition(beanClass, propertyValueSet);
+            if (this.scope != null) {
+                beanDefinition.setScope(this.scope);
+            }
+            beanDefinition.setLazyInit(this.lazyInit);
+            beanDefinition.setInitMethodName(this.initMethodName);
+            beanDefinition.setDestroyMethodName(this.destroyMethodName);
+            beanDefinition.setPoolMaxSize(this.poolMaxSize);
+            beanDefinition.setPoolMinIdle(this.poolMinIdle);
+            beanDefinition.setPoolMaxIdleTime(this.poolMaxIdleTime);
+            return beanDefinition;
+        }
+
+        private static void collect(Map<String, Integer> strings, String string) {
+            if (string != null) {
+                strings.putIfAbsent(string, strings.size() + 1);
+            }
+        }
+
+        private static int indexOf(Map<String, Integer> strings, String string) {
+            return (string != null ? strings.get(string) : 0);
+        }
+    }
+}
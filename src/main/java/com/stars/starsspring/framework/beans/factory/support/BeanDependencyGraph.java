@@ -0,0 +1,579 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import cn.hutool.json.JSONUtil;
+
+import java.util.*;
+
+/**
+ * Bean依赖图——类
+ * 在Bean对象实例化之前，根据Bean定义对象静态推断出的Bean对象之间的创建时依赖关系。
+ * 依赖来源于属性值集中的Bean引用和@Autowired注解标注的字段（有@Qualifier注解时按名称，否则按类型）；
+ * 依赖工厂Bean对象实际上依赖的是它的产品，工厂Bean节点记录了从泛型参数推断出的产品类型。
+ * <p>
+ * 构建时一次性计算以下分析结果：
+ * 强连通分量，其中包含多个Bean对象（或者Bean对象依赖自身）的分量就是通过早期单例对象解决的循环依赖；
+ * 关键路径，即必须依次创建的最长Bean对象链，同一个强连通分量中的Bean对象只能在同一个线程中依次创建，按其数量计入长度；
+ * 扇入，即直接依赖某个Bean对象的Bean对象数量，扇入最高的Bean对象是并行创建时的热点。
+ * 依赖图可以导出为Graphviz的DOT格式或者JSON格式。
+ * <p>
+ * <p>
+ * 属性字段：
+ * HOT_SPOT_LIMIT
+ * beanNames
+ * nodes
+ * dependencies
+ * dependents
+ * components
+ * componentIndex
+ * componentDepths
+ * criticalPath
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * BeanDependencyGraph
+ * getBeanNames
+ * getBeanNode
+ * getDependencies
+ * getDependents
+ * getFanIn
+ * getDepth
+ * getComponents
+ * getCircularReferences
+ * isCircular
+ * getCriticalPath
+ * getCriticalPathDepth
+ * getFanInHotSpots
+ * toDot
+ * isCriticalEdge
+ * toJson
+ * appendJsonArray
+ * computeComponents
+ * computeCriticalPath
+ * dotId
+ *
+ * @author stars
+ */
+public final class BeanDependencyGraph {
+
+    // 导出JSON时列出的扇入热点数量
+    private static final int HOT_SPOT_LIMIT = 10;
+
+    // 所有Bean的名称
+    private final List<String> beanNames;
+    // Bean节点Map，键是Bean的名称
+    private final Map<String, BeanNode> nodes = new LinkedHashMap<>();
+    // 依赖Map，键是Bean的名称，值是它直接依赖的Bean的名称集合
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    // 依赖方Map，键是Bean的名称，值是直接依赖它的Bean的名称集合
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    // 强连通分量列表，依赖在前、依赖方在后
+    private final List<List<String>> components;
+    // Bean的名称到所属强连通分量下标的Map
+    private final Map<String, Integer> componentIndex = new HashMap<>();
+    // 每个强连通分量的深度，即以该分量结尾的最长依赖链上的Bean对象数量
+    private final int[] componentDepths;
+    // 关键路径上的Bean的名称，依赖在前、依赖方在后
+    private final List<String> criticalPath;
+
+    /**
+     * 有参构造函数（Bean节点列表）
+     * 指向图中不存在的Bean对象的依赖被忽略。
+     *
+     * @param beanNodes Bean节点列表
+     */
+    BeanDependencyGraph(List<BeanNode> beanNodes) {
+        for (BeanNode node : beanNodes) {
+            this.nodes.put(node.getBeanName(), node);
+            this.dependents.put(node.getBeanName(), new LinkedHashSet<>());
+        }
+        this.beanNames = Collections.unmodifiableList(new ArrayList<>(this.nodes.keySet()));
+        for (BeanNode node : beanNodes) {
+            Set<String> beanDependencies = new LinkedHashSet<>();
+            for (Dependency dependency : node.getDependencies()) {
+                if (this.nodes.containsKey(dependency.getBeanName())) {
+                    beanDependencies.add(dependency.getBeanName());
+                    // 依赖自身只构成循环引用，不计入扇入
+                    if (!dependency.getBeanName().equals(node.getBeanName())) {
+                        this.dependents.get(dependency.getBeanName()).add(node.getBeanName());
+                    }
+                }
+            }
+            this.dependencies.put(node.getBeanName(), beanDependencies);
+        }
+        this.components = Collections.unmodifiableList(computeComponents(this.beanNames, this.dependencies));
+        for (int i = 0; i < this.components.size(); i++) {
+            for (String beanName : this.components.get(i)) {
+                this.componentIndex.put(beanName, i);
+            }
+        }
+        this.componentDepths = new int[this.components.size()];
+        this.criticalPath = Collections.unmodifiableList(this.computeCriticalPath());
+    }
+
+    public List<String> getBeanNames() {
+        return beanNames;
+    }
+
+    /**
+     * 获取Bean节点（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return Bean节点，如果图中没有该Bean对象，则返回null
+     */
+    public BeanNode getBeanNode(String beanName) {
+        return this.nodes.get(beanName);
+    }
+
+    /**
+     * 获取依赖（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 该Bean对象直接依赖的Bean的名称集合，依赖自身时包含自身
+     */
+    public Set<String> getDependencies(String beanName) {
+        return Collections.unmodifiableSet(this.dependencies.getOrDefault(beanName, Collections.emptySet()));
+    }
+
+    /**
+     * 获取依赖方（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 直接依赖该Bean对象的其他Bean的名称集合
+     */
+    public Set<String> getDependents(String beanName) {
+        return Collections.unmodifiableSet(this.dependents.getOrDefault(beanName, Collections.emptySet()));
+    }
+
+    /**
+     * 获取扇入（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 直接依赖该Bean对象的Bean对象数量
+     */
+    public int getFanIn(String beanName) {
+        return this.getDependents(beanName).size();
+    }
+
+    /**
+     * 获取深度（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 创建该Bean对象之前（含自身）必须依次创建的最长Bean对象链的长度，图中没有该Bean对象时返回0
+     */
+    public int getDepth(String beanName) {
+        Integer index = this.componentIndex.get(beanName);
+        return index != null ? this.componentDepths[index] : 0;
+    }
+
+    /**
+     * 获取强连通分量
+     *
+     * @return 所有强连通分量，依赖在前、依赖方在后，分量内部保持Bean节点的顺序
+     */
+    public List<List<String>> getComponents() {
+        return components;
+    }
+
+    /**
+     * 获取循环引用
+     *
+     * @return 包含多个Bean对象或者Bean对象依赖自身的强连通分量
+     */
+    public List<List<String>> getCircularReferences() {
+        List<List<String>> circularReferences = new ArrayList<>();
+        for (List<String> component : this.components) {
+            if (this.isCircular(component)) {
+                circularReferences.add(component);
+            }
+        }
+        return circularReferences;
+    }
+
+    /**
+     * 是否循环（强连通分量）
+     *
+     * @param component 强连通分量
+     * @return 如果分量包含多个Bean对象或者唯一的Bean对象依赖自身，则返回true；否则返回false
+     */
+    private boolean isCircular(List<String> component) {
+        return component.size() > 1 || this.dependencies.get(component.get(0)).contains(component.get(0));
+    }
+
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public int getCriticalPathDepth() {
+        return criticalPath.size();
+    }
+
+    /**
+     * 获取扇入热点（数量上限）
+     *
+     * @param limit 返回的Bean对象数量上限
+     * @return 扇入大于0的Bean的名称，按扇入从高到低排列，扇入相同时保持Bean节点的顺序
+     */
+    public List<String> getFanInHotSpots(int limit) {
+        List<String> hotSpots = new ArrayList<>();
+        for (String beanName : this.beanNames) {
+            if (this.getFanIn(beanName) > 0) {
+                hotSpots.add(beanName);
+            }
+        }
+        hotSpots.sort(Comparator.comparingInt(this::getFanIn).reversed());
+        return (hotSpots.size() > limit ? new ArrayList<>(hotSpots.subList(0, limit)) : hotSpots);
+    }
+
+    /**
+     * 转换为DOT
+     * 边从依赖方指向依赖，标签是依赖方式和注入点；循环引用中的Bean对象填充为红色，关键路径加粗。
+     *
+     * @return Graphviz的DOT格式字符串
+     */
+    public String toDot() {
+        Set<String> circularBeans = new HashSet<>();
+        for (List<String> component : this.getCircularReferences()) {
+            circularBeans.addAll(component);
+        }
+        Set<String> criticalBeans = new HashSet<>(this.criticalPath);
+        StringBuilder dot = new StringBuilder(this.nodes.size() * 120 + 64);
+        dot.append("digraph beans {\n  rankdir=LR;\n  node [shape=box, fontname=\"Helvetica\"];\n");
+        for (BeanNode node : this.nodes.values()) {
+            String label = node.getBeanName() + "\n" + node.getBeanClass().getSimpleName() + " (" + node.getScope()
+                    + (node.isLazyInit() ? ", lazy" : "") + ")";
+            if (node.isFactoryBean()) {
+                label += "\nproduct: " + (node.getProductType() != null ? node.getProductType().getSimpleName() : "?");
+            }
+            dot.append("  ").append(dotId(node.getBeanName())).append(" [label=").append(dotId(label));
+            if (node.isFactoryBean()) {
+                dot.append(", shape=component");
+            }
+            if (circularBeans.contains(node.getBeanName())) {
+                dot.append(", style=filled, fillcolor=\"#f4cccc\"");
+            }
+            if (criticalBeans.contains(node.getBeanName())) {
+                dot.append(", penwidth=2");
+            }
+            dot.append("];\n");
+        }
+        for (BeanNode node : this.nodes.values()) {
+            Set<String> written = new HashSet<>();
+            for (Dependency dependency : node.getDependencies()) {
+                if (!this.nodes.containsKey(dependency.getBeanName()) || !written.add(dependency.getBeanName())) {
+                    continue;
+                }
+                dot.append("  ").append(dotId(node.getBeanName())).append(" -> ").append(dotId(dependency.getBeanName()))
+                        .append(" [label=").append(dotId(dependency.getKind().name().toLowerCase() + ":" + dependency.getInjectionPoint()));
+                if (this.isCriticalEdge(node.getBeanName(), dependency.getBeanName())) {
+                    dot.append(", penwidth=2, color=red");
+                }
+                dot.append("];\n");
+            }
+        }
+        dot.append("}\n");
+        return dot.toString();
+    }
+
+    /**
+     * 是否关键路径上的边（依赖方Bean的名称，依赖Bean的名称）
+     *
+     * @param dependentName  依赖方Bean的名称
+     * @param dependencyName 依赖Bean的名称
+     * @return 如果两个Bean对象在关键路径上相邻，则返回true；否则返回false
+     */
+    private boolean isCriticalEdge(String dependentName, String dependencyName) {
+        int index = this.criticalPath.indexOf(dependencyName);
+        return index >= 0 && index + 1 < this.criticalPath.size() && this.criticalPath.get(index + 1).equals(dependentName);
+    }
+
+    /**
+     * 转换为JSON
+     * 包含每个Bean节点及其依赖、扇入和深度，以及循环引用、关键路径和扇入热点。
+     *
+     * @return JSON字符串
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(this.nodes.size() * 200 + 64);
+        json.append("{\"beans\":[");
+        boolean firstNode = true;
+        for (BeanNode node : this.nodes.values()) {
+            json.append(firstNode ? "\n" : ",\n");
+            firstNode = false;
+            json.append("{\"name\":").append(JSONUtil.quote(node.getBeanName()))
+                    .append(",\"class\":").append(JSONUtil.quote(node.getBeanClass().getName()))
+                    .append(",\"scope\":").append(JSONUtil.quote(node.getScope()))
+                    .append(",\"lazyInit\":").append(node.isLazyInit())
+                    .append(",\"factoryBean\":").append(node.isFactoryBean());
+            if (node.isFactoryBean()) {
+                json.append(",\"productType\":").append(node.getProductType() != null ? JSONUtil.quote(node.getProductType().getName()) : "null");
+            }
+            json.append(",\"fanIn\":").append(this.getFanIn(node.getBeanName()))
+                    .append(",\"depth\":").append(this.getDepth(node.getBeanName()))
+                    .append(",\"dependencies\":[");
+            boolean firstDependency = true;
+            for (Dependency dependency : node.getDependencies()) {
+                if (!this.nodes.containsKey(dependency.getBeanName())) {
+                    continue;
+                }
+                json.append(firstDependency ? "" : ",");
+                firstDependency = false;
+                json.append("{\"bean\":").append(JSONUtil.quote(dependency.getBeanName()))
+                        .append(",\"kind\":").append(JSONUtil.quote(dependency.getKind().name()))
+                        .append(",\"injectionPoint\":").append(JSONUtil.quote(dependency.getInjectionPoint()))
+                        .append('}');
+            }
+            json.append("]}");
+        }
+        json.append("\n],\"circularReferences\":[");
+        List<List<String>> circularReferences = this.getCircularReferences();
+        for (int i = 0; i < circularReferences.size(); i++) {
+            json.append(i > 0 ? "," : "");
+            appendJsonArray(json, circularReferences.get(i));
+        }
+        json.append("],\"criticalPath\":{\"depth\":").append(this.getCriticalPathDepth()).append(",\"beans\":");
+        appendJsonArray(json, this.criticalPath);
+        json.append("},\"fanInHotSpots\":[");
+        List<String> hotSpots = this.getFanInHotSpots(HOT_SPOT_LIMIT);
+        for (int i = 0; i < hotSpots.size(); i++) {
+            json.append(i > 0 ? "," : "").append("{\"bean\":").append(JSONUtil.quote(hotSpots.get(i)))
+                    .append(",\"fanIn\":").append(this.getFanIn(hotSpots.get(i))).append('}');
+        }
+        json.append("]}\n");
+        return json.toString();
+    }
+
+    private static void appendJsonArray(StringBuilder json, List<String> values) {
+        json.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            json.append(i > 0 ? "," : "").append(JSONUtil.quote(values.get(i)));
+        }
+        json.append(']');
+    }
+
+    /**
+     * 计算强连通分量（节点列表，依赖图）
+     * 使用Tarjan算法（迭代实现）计算依赖图的强连通分量，Tarjan算法产出强连通分量的顺序恰好是依赖在前、依赖方在后。
+     *
+     * @param beanNames       Bean的名称列表，依赖图中的所有依赖都必须在此列表中
+     * @param dependencyGraph 依赖图，键是Bean的名称，值是其依赖的Bean的名称集合
+     * @return 强连通分量列表，分量内部保持Bean的名称列表中的原始顺序
+     */
+    static List<List<String>> computeComponents(List<String> beanNames, Map<String, ? extends Collection<String>> dependencyGraph) {
+        Map<String, Integer> order = new HashMap<>();
+        for (int i = 0; i < beanNames.size(); i++) {
+            order.put(beanNames.get(i), i);
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        Map<String, Integer> lowLinks = new HashMap<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        List<List<String>> components = new ArrayList<>();
+        int index = 0;
+        for (String root : beanNames) {
+            if (indices.containsKey(root)) {
+                continue;
+            }
+            // 模拟递归调用栈，每一帧保存当前节点及其尚未访问的依赖迭代器
+            Deque<Map.Entry<String, Iterator<String>>> callStack = new ArrayDeque<>();
+            indices.put(root, index);
+            lowLinks.put(root, index++);
+            stack.push(root);
+            onStack.add(root);
+            callStack.push(new AbstractMap.SimpleEntry<>(root, dependencyGraph.get(root).iterator()));
+            while (!callStack.isEmpty()) {
+                Map.Entry<String, Iterator<String>> frame = callStack.peek();
+                String node = frame.getKey();
+                Iterator<String> iterator = frame.getValue();
+                if (iterator.hasNext()) {
+                    String next = iterator.next();
+                    if (!indices.containsKey(next)) {
+                        indices.put(next, index);
+                        lowLinks.put(next, index++);
+                        stack.push(next);
+                        onStack.add(next);
+                        callStack.push(new AbstractMap.SimpleEntry<>(next, dependencyGraph.get(next).iterator()));
+                    } else if (onStack.contains(next)) {
+                        lowLinks.put(node, Math.min(lowLinks.get(node), indices.get(next)));
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    String parent = callStack.peek().getKey();
+                    lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(node)));
+                }
+                if (lowLinks.get(node).equals(indices.get(node))) {
+                    List<String> component = new ArrayList<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(node));
+                    component.sort(Comparator.comparing(order::get));
+                    components.add(component);
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * 计算关键路径
+     * 按依赖在前的顺序遍历强连通分量，每个分量的深度等于其Bean对象数量加上所依赖分量的最大深度，
+     * 从深度最大的分量沿着取得最大深度的依赖分量回溯即为关键路径。
+     *
+     * @return 关键路径上的Bean的名称，依赖在前、依赖方在后
+     */
+    private List<String> computeCriticalPath() {
+        int[] previous = new int[this.components.size()];
+        int deepest = -1;
+        for (int i = 0; i < this.components.size(); i++) {
+            int maxDependencyDepth = 0;
+            previous[i] = -1;
+            for (String beanName : this.components.get(i)) {
+                for (String dependency : this.dependencies.get(beanName)) {
+                    int dependencyIndex = this.componentIndex.get(dependency);
+                    if (dependencyIndex != i && this.componentDepths[dependencyIndex] > maxDependencyDepth) {
+                        maxDependencyDepth = this.componentDepths[dependencyIndex];
+                        previous[i] = dependencyIndex;
+                    }
+                }
+            }
+            this.componentDepths[i] = this.components.get(i).size() + maxDependencyDepth;
+            if (deepest < 0 || this.componentDepths[i] > this.componentDepths[deepest]) {
+                deepest = i;
+            }
+        }
+        LinkedList<String> path = new LinkedList<>();
+        for (int i = deepest; i >= 0; i = previous[i]) {
+            List<String> component = this.components.get(i);
+            for (int j = component.size() - 1; j >= 0; j--) {
+                path.addFirst(component.get(j));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * DOT标识符（文本）
+     *
+     * @param text 文本
+     * @return 加上双引号并转义后的DOT标识符，换行符转换为DOT的换行转义
+     */
+    private static String dotId(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    /**
+     * 依赖方式——枚举
+     */
+    public enum DependencyKind {
+        // 属性值集中的Bean引用
+        PROPERTY_REFERENCE,
+        // @Autowired注解标注的字段，按类型匹配
+        AUTOWIRED_BY_TYPE,
+        // @Autowired注解标注的字段，按@Qualifier注解指定的名称匹配
+        AUTOWIRED_BY_QUALIFIER
+    }
+
+    /**
+     * 依赖——类
+     * Bean对象对另一个Bean对象的一次依赖。
+     */
+    public static final class Dependency {
+
+        // 被依赖的Bean的名称
+        private final String beanName;
+        // 依赖方式
+        private final DependencyKind kind;
+        // 注入点，即属性名称或者字段名称
+        private final String injectionPoint;
+
+        Dependency(String beanName, DependencyKind kind, String injectionPoint) {
+            this.beanName = beanName;
+            this.kind = kind;
+            this.injectionPoint = injectionPoint;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        public DependencyKind getKind() {
+            return kind;
+        }
+
+        public String getInjectionPoint() {
+            return injectionPoint;
+        }
+
+        @Override
+        public String toString() {
+            return this.injectionPoint + " -> " + this.beanName + " (" + this.kind + ")";
+        }
+    }
+
+    /**
+     * Bean节点——类
+     * 依赖图中的一个Bean对象及其直接依赖。
+     */
+    public static final class BeanNode {
+
+        // Bean的名称
+        private final String beanName;
+        // Bean的类对象
+        private final Class<?> beanClass;
+        // 作用域名称
+        private final String scope;
+        // 是否延迟初始化
+        private final boolean lazyInit;
+        // 是否工厂Bean对象
+        private final boolean factoryBean;
+        // 工厂Bean对象的产品类型，不是工厂Bean对象或者无法从泛型参数推断时为null
+        private final Class<?> productType;
+        // 直接依赖，按属性值集、类层次结构中字段的顺序排列
+        private final List<Dependency> dependencies;
+
+        BeanNode(String beanName, Class<?> beanClass, String scope, boolean lazyInit, boolean factoryBean, Class<?> productType, List<Dependency> dependencies) {
+            this.beanName = beanName;
+            this.beanClass = beanClass;
+            this.scope = scope;
+            this.lazyInit = lazyInit;
+            this.factoryBean = factoryBean;
+            this.productType = productType;
+            this.dependencies = Collections.unmodifiableList(dependencies);
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        public Class<?> getBeanClass() {
+            return beanClass;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public boolean isLazyInit() {
+            return lazyInit;
+        }
+
+        public boolean isFactoryBean() {
+            return factoryBean;
+        }
+
+        public Class<?> getProductType() {
+            return productType;
+        }
+
+        public List<Dependency> getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.ObjectFactory;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bean实例池——类
+ * 池化作用域的Bean对象的无锁实例池，每个Bean定义对象对应一个实例池。
+ * 空闲实例保存在无锁双端队列中：借出和归还都在队首进行（后进先出，最近使用的实例更可能仍在CPU缓存中），
+ * 空闲驱逐从队尾开始（最久未使用的实例）。池中最多保留maxSize个空闲实例，池为空时直接创建新实例，
+ * 归还时超出maxSize的实例会被销毁，因此借出操作永远不会阻塞。
+ * 空闲驱逐任务不在构造时启动，只有被Bean工厂对象采用的实例池才调用start，竞争中被丢弃的实例池不会留下驱逐任务。
+ * <p>
+ * <p>
+ * 属性字段：
+ * beanName
+ * instanceFactory
+ * instanceDestroyer
+ * maxSize
+ * minIdle
+ * maxIdleNanos
+ * idleInstances
+ * idleCount
+ * evictionTask
+ * closed
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * BeanInstancePool
+ * start
+ * prewarm
+ * borrow
+ * release
+ * evictIdleInstances
+ * close
+ * getIdleCount
+ * drain
+ * destroyInstance
+ *
+ * @author stars
+ */
+class BeanInstancePool {
+
+    // Bean的名称
+    private final String beanName;
+    // 实例工厂对象，用于创建新实例
+    private final ObjectFactory<Object> instanceFactory;
+    // 实例销毁器，用于销毁被驱逐或超出容量的实例
+    private final InstanceDestroyer instanceDestroyer;
+    // 最多保留的空闲实例数
+    private final int maxSize;
+    // 最少保留的空闲实例数，创建实例池时预热，空闲驱逐不会低于该数量
+    private final int minIdle;
+    // 空闲实例的最长空闲时间（纳秒），小于等于0表示不驱逐
+    private final long maxIdleNanos;
+    // 空闲实例队列，队首是最近归还的实例
+    private final Deque<PooledInstance> idleInstances = new ConcurrentLinkedDeque<>();
+    // 空闲实例计数
+    private final AtomicInteger idleCount = new AtomicInteger();
+    // 空闲驱逐任务，调用start之前为null
+    private volatile ScheduledFuture<?> evictionTask;
+    // 关闭标志
+    private volatile boolean closed;
+
+    /**
+     * 有参构造函数（Bean的名称，Bean定义对象，实例工厂对象，实例销毁器）
+     *
+     * @param beanName          Bean的名称
+     * @param beanDefinition    Bean定义对象，提供实例池的容量、最少空闲实例数和最长空闲时间
+     * @param instanceFactory   实例工厂对象
+     * @param instanceDestroyer 实例销毁器
+     */
+    BeanInstancePool(String beanName, BeanDefinition beanDefinition, ObjectFactory<Object> instanceFactory, InstanceDestroyer instanceDestroyer) {
+        this.beanName = beanName;
+        this.instanceFactory = instanceFactory;
+        this.instanceDestroyer = instanceDestroyer;
+        this.maxSize = Math.max(1, beanDefinition.getPoolMaxSize());
+        this.minIdle = Math.min(Math.max(0, beanDefinition.getPoolMinIdle()), this.maxSize);
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(beanDefinition.getPoolMaxIdleTime());
+    }
+
+    /**
+     * 启动
+     * 启动空闲驱逐任务，只能在实例池发布之后由发布它的线程调用一次。
+     */
+    void start() {
+        if (this.maxIdleNanos > 0 && !this.closed) {
+            // 以最长空闲时间的一半为周期检查空闲实例
+            long period = Math.max(TimeUnit.MILLISECONDS.toNanos(100), this.maxIdleNanos / 2);
+            this.evictionTask = EvictorHolder.EVICTOR.scheduleWithFixedDelay(this::evictIdleInstances, period, period, TimeUnit.NANOSECONDS);
+            if (this.closed) {
+                // 与close并发执行时，close可能没有看到刚启动的驱逐任务
+                this.evictionTask.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 预热
+     * 创建实例直到空闲实例数达到最少空闲实例数。
+     *
+     * @throws BeansException 如果创建实例过程中出现异常，则抛出BeansException异常
+     */
+    void prewarm() throws BeansException {
+        while (!this.closed && this.idleCount.get() < this.minIdle) {
+            this.release(this.instanceFactory.getObject());
+        }
+    }
+
+    /**
+     * 借出
+     * 优先借出最近归还的空闲实例，没有空闲实例时创建新实例。
+     *
+     * @return Bean对象
+     * @throws BeansException 如果实例池已关闭或创建实例过程中出现异常，则抛出BeansException异常
+     */
+    Object borrow() throws BeansException {
+        if (this.closed) {
+            throw new BeansException("Pool for bean '" + this.beanName + "' has been closed");
+        }
+        PooledInstance pooledInstance = this.idleInstances.pollFirst();
+        if (pooledInstance != null) {
+            this.idleCount.decrementAndGet();
+            return pooledInstance.instance;
+        }
+        return this.instanceFactory.getObject();
+    }
+
+    /**
+     * 归还（Bean对象）
+     * 空闲实例数未达到容量时放回队首，否则销毁该实例。
+     *
+     * @param bean 要归还的Bean对象
+     * @throws BeansException 如果销毁超出容量的实例时出现异常，则抛出BeansException异常
+     */
+    void release(Object bean) throws BeansException {
+        if (!this.closed) {
+            if (this.idleCount.incrementAndGet() <= this.maxSize) {
+                this.idleInstances.offerFirst(new PooledInstance(bean, System.nanoTime()));
+                if (this.closed) {
+                    // 与close并发执行时，由归还线程负责销毁刚放回的实例
+                    this.drain();
+                }
+                return;
+            }
+            this.idleCount.decrementAndGet();
+        }
+        this.destroyInstance(bean);
+    }
+
+    /**
+     * 驱逐空闲实例
+     * 从队尾开始销毁空闲时间超过最长空闲时间的实例，保留最少空闲实例数个实例。
+     * 由后台驱逐线程调用，销毁时出现的异常会被忽略，以免终止驱逐任务。
+     */
+    void evictIdleInstances() {
+        long now = System.nanoTime();
+        while (!this.closed && this.idleCount.get() > this.minIdle) {
+            PooledInstance oldest = this.idleInstances.pollLast();
+            if (oldest == null) {
+                return;
+            }
+            if (now - oldest.returnedAt < this.maxIdleNanos) {
+                // 最久未使用的实例也未超时，放回队尾
+                this.idleInstances.offerLast(oldest);
+                return;
+            }
+            this.idleCount.decrementAndGet();
+            try {
+                this.destroyInstance(oldest.instance);
+            } catch (BeansException ignored) {
+                // 驱逐线程无法把异常交给调用方
+            }
+        }
+    }
+
+    /**
+     * 关闭
+     * 停止空闲驱逐任务并销毁所有空闲实例，之后归还的实例会被直接销毁。
+     *
+     * @throws BeansException 如果销毁实例时出现异常，则在销毁全部空闲实例后抛出第一个异常
+     */
+    void close() throws BeansException {
+        this.closed = true;
+        ScheduledFuture<?> task = this.evictionTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        this.drain();
+    }
+
+    int getIdleCount() {
+        return this.idleCount.get();
+    }
+
+    /**
+     * 清空
+     * 销毁所有空闲实例。
+     *
+     * @throws BeansException 如果销毁实例时出现异常，则在销毁全部空闲实例后抛出第一个异常
+     */
+    private void drain() throws BeansException {
+        BeansException failure = null;
+        PooledInstance pooledInstance;
+        while ((pooledInstance = this.idleInstances.pollFirst()) != null) {
+            this.idleCount.decrementAndGet();
+            try {
+                this.destroyInstance(pooledInstance.instance);
+            } catch (BeansException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 销毁实例（Bean对象）
+     *
+     * @param bean 要销毁的Bean对象
+     * @throws BeansException 如果销毁过程中出现异常，则抛出BeansException异常
+     */
+    private void destroyInstance(Object bean) throws BeansException {
+        try {
+            this.instanceDestroyer.destroy(bean);
+        } catch (Exception e) {
+            throw new BeansException("Destroy method on pooled bean with name '" + this.beanName + "' threw an exception", e);
+        }
+    }
+
+    /**
+     * 实例销毁器——接口
+     *
+     * @author stars
+     */
+    interface InstanceDestroyer {
+
+        /**
+         * 销毁（Bean对象）
+         *
+         * @param bean 要销毁的Bean对象
+         * @throws Exception 如果销毁过程中出现异常
+         */
+        void destroy(Object bean) throws Exception;
+    }
+
+    /**
+     * 池化实例——内部类
+     * 空闲实例及其归还时间。
+     *
+     * @author stars
+     */
+    private static final class PooledInstance {
+
+        // Bean对象
+        private final Object instance;
+        // 归还时间（纳秒）
+        private final long returnedAt;
+
+        PooledInstance(Object instance, long returnedAt) {
+            this.instance = instance;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    /**
+     * 驱逐线程持有者——内部类
+     * 所有实例池共享一个守护线程执行空闲驱逐，第一次需要时才创建。
+     *
+     * @author stars
+     */
+    private static final class EvictorHolder {
+
+        // 空闲驱逐调度器
+        private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "starsspring-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.factory.config.BeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.config.SelectiveBeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bean扩展处理器缓存——类
+ * 注册Bean扩展处理器时按回调类型分类一次，得到实例化感知、初始化前、初始化后和早期引用四个有序数组，
+ * 创建Bean对象时直接遍历对应数组，不再对每个处理器做类型判断。
+ * 只有实际重写了默认方法的处理器才会进入初始化前、初始化后和早期引用数组。
+ * 存在选择性Bean扩展处理器时，再按Bean的类对象缓存过滤后的数组。
+ * <p>
+ * <p>
+ * 属性字段：
+ * EMPTY
+ * instantiationAware
+ * beforeInitialization
+ * afterInitialization
+ * earlyReference
+ * selective
+ * cachesByBeanClass
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * BeanPostProcessorCache
+ * BeanPostProcessorCache
+ * forBeanClass
+ * getInstantiationAware
+ * getBeforeInitialization
+ * getAfterInitialization
+ * getEarlyReference
+ * filter
+ * overrides
+ *
+ * @author stars
+ */
+final class BeanPostProcessorCache {
+
+    // 没有任何Bean扩展处理器时的缓存对象
+    static final BeanPostProcessorCache EMPTY = new BeanPostProcessorCache(new ArrayList<>());
+
+    // 实例化感知Bean扩展处理器数组
+    private final InstantiationAwareBeanPostProcessor[] instantiationAware;
+    // 重写了初始化前回调的Bean扩展处理器数组
+    private final BeanPostProcessor[] beforeInitialization;
+    // 重写了初始化后回调的Bean扩展处理器数组
+    private final BeanPostProcessor[] afterInitialization;
+    // 重写了早期引用回调的实例化感知Bean扩展处理器数组
+    private final InstantiationAwareBeanPostProcessor[] earlyReference;
+    // 是否存在选择性Bean扩展处理器，不存在时所有类对象共享当前缓存对象
+    private final boolean selective;
+    // 按Bean的类对象过滤后的缓存对象
+    private final Map<Class<?>, BeanPostProcessorCache> cachesByBeanClass;
+
+    /**
+     * 有参构造函数（Bean扩展处理器列表）
+     * 按注册顺序对Bean扩展处理器分类。
+     *
+     * @param beanPostProcessors Bean扩展处理器列表
+     */
+    BeanPostProcessorCache(List<BeanPostProcessor> beanPostProcessors) {
+        List<InstantiationAwareBeanPostProcessor> instantiationAwareList = new ArrayList<>();
+        List<BeanPostProcessor> beforeInitializationList = new ArrayList<>();
+        List<BeanPostProcessor> afterInitializationList = new ArrayList<>();
+        List<InstantiationAwareBeanPostProcessor> earlyReferenceList = new ArrayList<>();
+        boolean anySelective = false;
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
+            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
+                InstantiationAwareBeanPostProcessor instantiationAwareBeanPostProcessor = (InstantiationAwareBeanPostProcessor) beanPostProcessor;
+                instantiationAwareList.add(instantiationAwareBeanPostProcessor);
+                if (overrides(beanPostProcessor, InstantiationAwareBeanPostProcessor.class, "getEarlyBeanReference")) {
+                    earlyReferenceList.add(instantiationAwareBeanPostProcessor);
+                }
+            }
+            if (overrides(beanPostProcessor, BeanPostProcessor.class, "postProcessBeforeInitialization")) {
+                beforeInitializationList.add(beanPostProcessor);
+            }
+            if (overrides(beanPostProcessor, BeanPostProcessor.class, "postProcessAfterInitialization")) {
+                afterInitializationList.add(beanPostProcessor);
+            }
+            anySelective |= beanPostProcessor instanceof SelectiveBeanPostProcessor;
+        }
+        this.instantiationAware = instantiationAwareList.toArray(new InstantiationAwareBeanPostProcessor[0]);
+        this.beforeInitialization = beforeInitializationList.toArray(new BeanPostProcessor[0]);
+        this.afterInitialization = afterInitializationList.toArray(new BeanPostProcessor[0]);
+        this.earlyReference = earlyReferenceList.toArray(new InstantiationAwareBeanPostProcessor[0]);
+        this.selective = anySelective;
+        this.cachesByBeanClass = (anySelective ? new ConcurrentHashMap<>() : null);
+    }
+
+    /**
+     * 有参构造函数（按类对象过滤后的四个数组）
+     *
+     * @param instantiationAware   实例化感知Bean扩展处理器数组
+     * @param beforeInitialization 初始化前Bean扩展处理器数组
+     * @param afterInitialization  初始化后Bean扩展处理器数组
+     * @param earlyReference       早期引用Bean扩展处理器数组
+     */
+    private BeanPostProcessorCache(InstantiationAwareBeanPostProcessor[] instantiationAware, BeanPostProcessor[] beforeInitialization,
+                                   BeanPostProcessor[] afterInitialization, InstantiationAwareBeanPostProcessor[] earlyReference) {
+        this.instantiationAware = instantiationAware;
+        this.beforeInitialization = beforeInitialization;
+        this.afterInitialization = afterInitialization;
+        this.earlyReference = earlyReference;
+        this.selective = false;
+        this.cachesByBeanClass = null;
+    }
+
+    /**
+     * 获取适用于类对象的缓存（Bean的类对象）
+     *
+     * @param beanClass Bean的类对象
+     * @return 只包含适用于该类对象的Bean扩展处理器的缓存对象
+     */
+    BeanPostProcessorCache forBeanClass(Class<?> beanClass) {
+        if (!this.selective || beanClass == null) {
+            return this;
+        }
+        BeanPostProcessorCache cache = this.cachesByBeanClass.get(beanClass);
+        if (cache == null) {
+            cache = new BeanPostProcessorCache(
+                    filter(this.instantiationAware, beanClass, new InstantiationAwareBeanPostProcessor[0]),
+                    filter(this.beforeInitialization, beanClass, new BeanPostProcessor[0]),
+                    filter(this.afterInitialization, beanClass, new BeanPostProcessor[0]),
+                    filter(this.earlyReference, beanClass, new InstantiationAwareBeanPostProcessor[0]));
+            BeanPostProcessorCache existing = this.cachesByBeanClass.putIfAbsent(beanClass, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    InstantiationAwareBeanPostProcessor[] getInstantiationAware() {
+        return instantiationAware;
+    }
+
+    BeanPostProcessor[] getBeforeInitialization() {
+        return beforeInitialization;
+    }
+
+    BeanPostProcessor[] getAfterInitialization() {
+        return afterInitialization;
+    }
+
+    InstantiationAwareBeanPostProcessor[] getEarlyReference() {
+        return earlyReference;
+    }
+
+    /**
+     * 过滤（Bean扩展处理器数组，Bean的类对象，空数组）
+     *
+     * @param beanPostProcessors Bean扩展处理器数组
+     * @param beanClass          Bean的类对象
+     * @param emptyArray         用于确定结果数组类型的空数组
+     * @param <T>                Bean扩展处理器类型
+     * @return 适用于该类对象的Bean扩展处理器数组
+     */
+    private static <T extends BeanPostProcessor> T[] filter(T[] beanPostProcessors, Class<?> beanClass, T[] emptyArray) {
+        List<T> applicable = new ArrayList<>(beanPostProcessors.length);
+        for (T beanPostProcessor : beanPostProcessors) {
+            if (!(beanPostProcessor instanceof SelectiveBeanPostProcessor)
+                    || ((SelectiveBeanPostProcessor) beanPostProcessor).isApplicable(beanClass)) {
+                applicable.add(beanPostProcessor);
+            }
+        }
+        return (applicable.size() == beanPostProcessors.length ? beanPostProcessors : applicable.toArray(emptyArray));
+    }
+
+    /**
+     * 是否重写（Bean扩展处理器对象，声明默认方法的接口，方法名）
+     *
+     * @param beanPostProcessor Bean扩展处理器对象
+     * @param defaultInterface  声明该默认方法的接口
+     * @param methodName        方法名
+     * @return 如果该处理器使用的实现不是接口中的默认方法，则返回true；否则返回false
+     */
+    private static boolean overrides(BeanPostProcessor beanPostProcessor, Class<?> defaultInterface, String methodName) {
+        try {
+            return beanPostProcessor.getClass().getMethod(methodName, Object.class, String.class).getDeclaringClass() != defaultInterface;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+}
@@ -2,18 +2,29 @@ package com.stars.starsspring.framework.beans.factory.support;
 
 import com.stars.starsspring.framework.beans.BeansException;
 import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.NoOp;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CGLIB子类化实例化策略——类
  * CGLIB实例化，使用CGLIB动态创建Bean的子类实例。
+ * 每个Bean类只通过Enhancer生成一次子类，缓存的是生成的子类而不是任何Bean实例，
+ * 子类上注册了静态的NoOp回调，之后的实例（任意构造函数）都通过子类的对应构造函数反射创建，
+ * 不再计算Enhancer的缓存键和设置回调，也不会让缓存持有某个Bean实例的对象图。
+ * 子类的构造函数按原始构造函数缓存并关闭访问检查，每次实例化只有一次Map读取和一次Constructor.newInstance。
  * 源码中还有CallbackFilter等实现。
  * <p>
  * <p>
  * 属性字段：
+ * NOOP_CALLBACKS
+ * EMPTY_ARGS
+ * enhancedClasses
  * <p>
  * 重写方法：
  * instantiate
@@ -21,11 +32,22 @@ import java.lang.reflect.Constructor;
  * 定义方法：
  * <p>
  * 编写方法：
+ * getEnhancedClass
+ * getEnhancedConstructor
+ * createEnhancedClass
  *
  * @author stars
  */
 public class CglibSubclassingInstantiationStrategy implements InstantiationStrategy {
 
+    // 共享的NoOp回调数组，禁用任何方法拦截
+    private static final Callback[] NOOP_CALLBACKS = new Callback[]{NoOp.INSTANCE};
+    // 无参构造函数的空参数数组
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    // CGLIB子类缓存，键是Bean的类对象，值是为该类生成并注册了静态回调的子类及其已解析的构造函数
+    private final Map<Class<?>, EnhancedClass> enhancedClasses = new ConcurrentHashMap<>();
+
     /**
      * 实例化（Bean定义对象，Bean的名称，构造函数对象，构造函数参数数）
      *
@@ -38,17 +60,108 @@ public class CglibSubclassingInstantiationStrategy implements InstantiationStrat
      */
     @Override
     public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor ctor, Object[] args) throws BeansException {
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        Constructor<?> enhancedCtor = this.getEnhancedConstructor(this.getEnhancedClass(beanClass), ctor);
+        try {
+            return enhancedCtor.newInstance(ctor == null ? EMPTY_ARGS : args);
+        } catch (InvocationTargetException e) {
+            throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]", e.getTargetException());
+        } catch (InstantiationException | IllegalAccessException | RuntimeException e) {
+            throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]", e);
+        }
+    }
+
+    /**
+     * 获取增强类（Bean的类对象）
+     *
+     * @param beanClass Bean的类对象
+     * @return 缓存的子类，首次调用时生成
+     * @throws BeansException 如果生成子类过程中出现异常，则抛出BeansException异常
+     */
+    private EnhancedClass getEnhancedClass(Class<?> beanClass) throws BeansException {
+        EnhancedClass enhancedClass = this.enhancedClasses.get(beanClass);
+        if (enhancedClass == null) {
+            // 首次实例化，生成子类并缓存，并发生成时以先放入的为准
+            enhancedClass = new EnhancedClass(this.createEnhancedClass(beanClass));
+            EnhancedClass existing = this.enhancedClasses.putIfAbsent(beanClass, enhancedClass);
+            if (existing != null) {
+                enhancedClass = existing;
+            }
+        }
+        return enhancedClass;
+    }
+
+    /**
+     * 获取增强构造函数（增强类，原始构造函数对象）
+     *
+     * @param enhancedClass 缓存的子类
+     * @param ctor          Bean类的构造函数对象，为null时使用无参构造函数
+     * @return 子类中与原始构造函数参数类型相同的构造函数，已关闭访问检查
+     * @throws BeansException 如果子类中没有对应的构造函数，则抛出BeansException异常
+     */
+    private Constructor<?> getEnhancedConstructor(EnhancedClass enhancedClass, Constructor<?> ctor) throws BeansException {
+        Constructor<?> enhancedCtor = ctor == null ? enhancedClass.defaultConstructor : enhancedClass.constructors.get(ctor);
+        if (enhancedCtor != null) {
+            return enhancedCtor;
+        }
+        try {
+            enhancedCtor = ctor == null
+                    ? enhancedClass.type.getDeclaredConstructor()
+                    : enhancedClass.type.getDeclaredConstructor(ctor.getParameterTypes());
+            enhancedCtor.setAccessible(true);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new BeansException("No matching constructor on CGLIB subclass of [" + enhancedClass.type.getSuperclass().getName() + "]", e);
+        }
+        // 并发解析得到的是相同的构造函数，覆盖无害
+        if (ctor == null) {
+            enhancedClass.defaultConstructor = enhancedCtor;
+        } else {
+            enhancedClass.constructors.put(ctor, enhancedCtor);
+        }
+        return enhancedCtor;
+    }
+
+    /**
+     * 创建增强类（Bean的类对象）
+     *
+     * @param beanClass Bean的类对象
+     * @return 生成的子类，已注册静态的NoOp回调，通过构造函数创建的实例不拦截任何方法
+     * @throws BeansException 如果生成子类过程中出现异常，则抛出BeansException异常
+     */
+    private Class<?> createEnhancedClass(Class<?> beanClass) throws BeansException {
         // 创建一个CGLIB的Enhancer对象
         Enhancer enhancer = new Enhancer();
         // 设置父类为Bean的类
-        enhancer.setSuperclass(beanDefinition.getBeanClass());
-        // 设置回调为NoOp，以禁用任何方法拦截
-        enhancer.setCallback(NoOp.INSTANCE);
-        // 如果构造函数为空，直接创建Bean的子类实例
-        if (ctor == null) {
-            return enhancer.create();
+        enhancer.setSuperclass(beanClass);
+        // 只设置回调类型为NoOp，生成子类时不创建实例
+        enhancer.setCallbackType(NoOp.class);
+        try {
+            Class<?> enhancedClass = enhancer.createClass();
+            // 注册静态回调，子类的所有实例在构造时都绑定NoOp回调
+            Enhancer.registerStaticCallbacks(enhancedClass, NOOP_CALLBACKS);
+            return enhancedClass;
+        } catch (RuntimeException e) {
+            throw new BeansException("Failed to generate CGLIB subclass of [" + beanClass.getName() + "]", e);
+        }
+    }
+
+    /**
+     * 增强类——内部类
+     * 生成的子类及其按原始构造函数解析出的构造函数。
+     *
+     * @author stars
+     */
+    private static final class EnhancedClass {
+
+        // 生成的子类
+        private final Class<?> type;
+        // 子类的无参构造函数，首次使用时解析
+        private volatile Constructor<?> defaultConstructor;
+        // 子类的有参构造函数，键是Bean类的构造函数对象
+        private final Map<Constructor<?>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+        EnhancedClass(Class<?> type) {
+            this.type = type;
         }
-        // 否则使用指定的构造函数和参数创建Bean对象的子类实例
-        return enhancer.create(ctor.getParameterTypes(), args);
     }
 }
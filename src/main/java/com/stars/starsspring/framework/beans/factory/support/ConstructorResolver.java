@@ -0,0 +1,140 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import cn.hutool.core.convert.BasicType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 构造函数解析器——类
+ * 根据构造参数的类型为Bean定义对象选择构造函数，支持基本类型的装箱以及父类、接口的可赋值匹配，
+ * 同一参数个数的重载构造函数中选择类型差异权重最小的一个。
+ * 解析结果按构造参数的类型签名缓存在Bean定义对象中，之后相同类型签名的创建不再扫描构造函数。
+ * <p>
+ * <p>
+ * 属性字段：
+ * EMPTY_ARGS
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * resolveConstructor
+ * findConstructor
+ * getTypeDifferenceWeight
+ *
+ * @author stars
+ */
+class ConstructorResolver {
+
+    // 空参数数组
+    static final Object[] EMPTY_ARGS = new Object[0];
+
+    /**
+     * 解析构造函数（Bean定义对象，构造参数）
+     *
+     * @param beanDefinition Bean定义对象
+     * @param args           构造参数，为null时解析无参构造函数
+     * @return 与构造参数匹配的构造函数对象
+     * @throws BeansException 如果没有与构造参数匹配的构造函数，则抛出BeansException异常
+     */
+    static Constructor<?> resolveConstructor(BeanDefinition beanDefinition, Object[] args) throws BeansException {
+        Object[] arguments = (args != null ? args : EMPTY_ARGS);
+        Class<?>[] argumentTypes = new Class<?>[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            argumentTypes[i] = (arguments[i] != null ? arguments[i].getClass() : null);
+        }
+        // 构造参数的类型签名，null参数的类型记为null
+        List<Class<?>> signature = Arrays.asList(argumentTypes);
+        Map<List<Class<?>>, Constructor<?>> resolvedConstructors = beanDefinition.getResolvedConstructors();
+        Constructor<?> constructor = resolvedConstructors.get(signature);
+        if (constructor == null) {
+            Class<?> beanClass = beanDefinition.getBeanClass();
+            constructor = findConstructor(beanClass, arguments);
+            if (constructor == null) {
+                throw new BeansException("No constructor of [" + beanClass.getName() + "] matches argument types " + signature);
+            }
+            if (!Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(beanClass.getModifiers())) {
+                constructor.setAccessible(true);
+            }
+            resolvedConstructors.put(signature, constructor);
+        }
+        return constructor;
+    }
+
+    /**
+     * 查找构造函数（Bean的类对象，构造参数）
+     * 权重相同时优先选择公共构造函数。
+     *
+     * @param beanClass Bean的类对象
+     * @param args      构造参数
+     * @return 类型差异权重最小的构造函数对象，如果没有匹配的构造函数则返回null
+     */
+    private static Constructor<?> findConstructor(Class<?> beanClass, Object[] args) {
+        Constructor<?> constructorToUse = null;
+        int minWeight = Integer.MAX_VALUE;
+        for (Constructor<?> candidate : beanClass.getDeclaredConstructors()) {
+            if (candidate.getParameterCount() != args.length) {
+                continue;
+            }
+            int weight = getTypeDifferenceWeight(candidate.getParameterTypes(), args);
+            if (weight < 0) {
+                continue;
+            }
+            if (weight < minWeight || (weight == minWeight && !Modifier.isPublic(constructorToUse.getModifiers())
+                    && Modifier.isPublic(candidate.getModifiers()))) {
+                constructorToUse = candidate;
+                minWeight = weight;
+            }
+        }
+        return constructorToUse;
+    }
+
+    /**
+     * 获取类型差异权重（参数类型数组，构造参数）
+     * 参数类型与实参类型完全一致时权重为0；实参类型每向上一级父类才能匹配参数类型加2，参数类型为接口时加1，
+     * 需要拆箱才能匹配基本类型参数时加1。
+     *
+     * @param paramTypes 构造函数的参数类型数组
+     * @param args       构造参数
+     * @return 类型差异权重，不匹配时返回-1
+     */
+    private static int getTypeDifferenceWeight(Class<?>[] paramTypes, Object[] args) {
+        int weight = 0;
+        for (int i = 0; i < paramTypes.length; i++) {
+            Class<?> paramType = paramTypes[i];
+            Object arg = args[i];
+            if (arg == null) {
+                // null不能赋值给基本类型参数
+                if (paramType.isPrimitive()) {
+                    return -1;
+                }
+                continue;
+            }
+            if (paramType.isPrimitive()) {
+                if (BasicType.wrap(paramType) != arg.getClass()) {
+                    return -1;
+                }
+                weight += 1;
+                continue;
+            }
+            if (!paramType.isInstance(arg)) {
+                return -1;
+            }
+            for (Class<?> superClass = arg.getClass(); superClass != paramType && superClass.getSuperclass() != null
+                    && paramType.isAssignableFrom(superClass.getSuperclass()); superClass = superClass.getSuperclass()) {
+                weight += 2;
+            }
+            if (paramType.isInterface()) {
+                weight += 1;
+            }
+        }
+        return weight;
+    }
+}
@@ -1,13 +1,21 @@
 package com.stars.starsspring.framework.beans.factory.support;
 
 import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.PropertyValue;
 import com.stars.starsspring.framework.beans.factory.ConfigurableListableBeanFactory;
+import com.stars.starsspring.framework.beans.factory.FactoryBean;
+import com.stars.starsspring.framework.beans.factory.ObjectFactory;
+import com.stars.starsspring.framework.beans.factory.annotation.Autowired;
+import com.stars.starsspring.framework.beans.factory.annotation.Qualifier;
 import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import com.stars.starsspring.framework.beans.factory.config.BeanReference;
+import com.stars.starsspring.framework.context.annotation.Lazy;
+import com.stars.starsspring.framework.util.ClassUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -16,6 +24,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * 属性字段：
  * beanDefinitionMap
+ * beanNamesByType
+ * indexedBeanClasses
+ * parallelPreInstantiation
+ * preInstantiationParallelism
+ * frozenBeanRegistry
+ * dependencyGraph
  * <p>
  * 重写方法：
  * registerBeanDefinition
@@ -25,10 +39,28 @@ import java.util.concurrent.ConcurrentHashMap;
  * getBeanDefinition
  * preInstantiateSingletons
  * getBean
+ * getBean
+ * containsBean
+ * registerSingleton
+ * clearMetadataCache
+ * freezeConfiguration
+ * isConfigurationFrozen
+ * destroySingletons
  * <p>
  * 定义方法：
  * <p>
  * 编写方法：
+ * getBeanNamesForType
+ * indexBeanType
+ * unindexBeanType
+ * getBeanDependencyGraph
+ * determineDependencies
+ * resolveFactoryBeanProductType
+ * cacheResolvedObject
+ * isParallelPreInstantiation
+ * setParallelPreInstantiation
+ * getPreInstantiationParallelism
+ * setPreInstantiationParallelism
  *
  * @author stars
  */
@@ -36,6 +68,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     // Bean定义Map对象，容器的Bean定义注册表对象
     private Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>();
+    // 类型索引Map对象，键是Bean的类对象及其所有父类和接口，值是对应的Bean的名称集合
+    private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>();
+    // 已建立类型索引的Bean的类对象Map对象，用于在Bean定义对象被覆盖时移除旧的索引
+    private final Map<String, Class<?>> indexedBeanClasses = new ConcurrentHashMap<>();
+    // 并行预实例化标志，默认关闭
+    private boolean parallelPreInstantiation = false;
+    // 并行预实例化的并行度，默认为可用处理器数量
+    private int preInstantiationParallelism = Runtime.getRuntime().availableProcessors();
+    // 冻结的Bean注册表对象，配置冻结后创建，不为null表示配置已冻结
+    private volatile FrozenBeanRegistry frozenBeanRegistry;
+    // Bean依赖图对象，第一次使用时根据当前的Bean定义对象构建，Bean定义对象变化时丢弃
+    private volatile BeanDependencyGraph dependencyGraph;
 
     /**
      * 注册Bean定义（Bean的名称，Bean定义对象）
@@ -43,11 +87,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      *
      * @param beanName       要注册的Bean的名称
      * @param beanDefinition Bean定义，包含了Bean的配置信息
+     * @throws BeansException 如果配置已冻结，则抛出BeansException异常
      */
     @Override
-    public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
+    public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        if (this.frozenBeanRegistry != null) {
+            throw new BeansException("Cannot register bean definition '" + beanName + "': configuration has been frozen");
+        }
         // 将Bean定义对象放入容器中
         this.beanDefinitionMap.put(beanName, beanDefinition);
+        // 增量更新类型索引
+        this.indexBeanType(beanName, beanDefinition.getBeanClass());
+        this.dependencyGraph = null;
     }
 
     /**
@@ -74,12 +125,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     @SuppressWarnings("unchecked")
     public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
         Map<String, T> result = new HashMap<>();
-        this.beanDefinitionMap.forEach((beanName, beanDefinition) -> {
-            Class beanClass = beanDefinition.getBeanClass();
-            if (type.isAssignableFrom(beanClass)) {
-                result.put(beanName, (T) getBean(beanName));
-            }
-        });
+        for (String beanName : this.getBeanNamesForType(type)) {
+            result.put(beanName, (T) getBean(beanName));
+        }
         return result;
     }
 
@@ -121,28 +169,368 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     @Override
     public void preInstantiateSingletons() throws BeansException {
-        this.beanDefinitionMap.keySet().forEach(this::getBean);
+        // 只预实例化非延迟初始化的单例Bean对象，其他Bean对象在首次获取时创建
+        List<String> beanNames = new ArrayList<>();
+        List<String> pooledBeanNames = new ArrayList<>();
+        for (String beanName : this.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = this.getBeanDefinition(beanName);
+            if (beanDefinition.isSingleton() && !beanDefinition.isLazyInit()) {
+                beanNames.add(beanName);
+            } else if (beanDefinition.isPooled() && !beanDefinition.isLazyInit() && beanDefinition.getPoolMinIdle() > 0) {
+                pooledBeanNames.add(beanName);
+            }
+        }
+        if (this.parallelPreInstantiation && beanNames.size() > 1) {
+            // 依赖图在实例化之前一次性构建，实例化期间不会再推断依赖
+            new ParallelSingletonPreInstantiator(this, this.getBeanDependencyGraph(), this.preInstantiationParallelism).preInstantiate(beanNames);
+        } else {
+            beanNames.forEach(this::getBean);
+        }
+        // 单例Bean对象就绪后，按最少空闲实例数预热池化Bean对象的实例池
+        for (String beanName : pooledBeanNames) {
+            this.getBeanPool(beanName, this.getBeanDefinition(beanName));
+        }
+    }
+
+    /**
+     * 获取Bean（Bean的名称）
+     * 配置冻结后优先从冻结的Bean注册表中按编号读取已解析的Bean对象，未解析时经过常规流程获取并缓存。
+     *
+     * @param name Bean的名称
+     * @return 匹配名称的Bean对象
+     * @throws BeansException 如果无法找到或创建Bean对象，则抛出BeansException异常
+     */
+    @Override
+    public Object getBean(String name) throws BeansException {
+        FrozenBeanRegistry frozenRegistry = this.frozenBeanRegistry;
+        if (frozenRegistry == null) {
+            return super.getBean(name);
+        }
+        int beanId = frozenRegistry.getBeanId(name);
+        if (beanId < 0) {
+            return super.getBean(name);
+        }
+        Object bean = frozenRegistry.getResolvedObject(beanId);
+        if (bean != null) {
+            // 已解析的Bean对象不经过doGetBean，在这里记录依赖关系
+            this.registerDependencyOfCurrentBean(name);
+        } else {
+            bean = super.getBean(name);
+            if (frozenRegistry.isCacheable(beanId)) {
+                this.cacheResolvedObject(frozenRegistry, beanId, bean);
+            }
+        }
+        return bean;
     }
 
     /**
      * 获取Bean（Bean的类对象）
+     * 配置冻结后缓存类型到唯一匹配的Bean的编号的解析结果。
      *
      * @param requiredType 要求的Bean类型
      * @return 匹配类型的Bean对象
      * @throws BeansException 如果无法找到或创建Bean对象，则抛出BeansException异常
      */
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T getBean(Class<T> requiredType) throws BeansException {
-        List<String> beanNames = new ArrayList<>();
-        for (Map.Entry<String, BeanDefinition> entry : this.beanDefinitionMap.entrySet()) {
-            Class beanClass = entry.getValue().getBeanClass();
-            if (requiredType.isAssignableFrom(beanClass)) {
-                beanNames.add(entry.getKey());
+        FrozenBeanRegistry frozenRegistry = this.frozenBeanRegistry;
+        if (frozenRegistry != null) {
+            int beanId = frozenRegistry.getBeanIdForType(requiredType);
+            if (beanId >= 0) {
+                return (T) this.getBean(frozenRegistry.getBeanName(beanId));
             }
         }
+        List<String> beanNames = this.getBeanNamesForType(requiredType);
         if (1 == beanNames.size()) {
+            if (frozenRegistry != null) {
+                frozenRegistry.setBeanIdForType(requiredType, frozenRegistry.getBeanId(beanNames.get(0)));
+            }
             return getBean(beanNames.get(0), requiredType);
         }
         throw new BeansException(requiredType + "expected single bean but found " + beanNames.size() + ": " + beanNames);
     }
+
+    /**
+     * 是否包含Bean（Bean的名称）
+     *
+     * @param name 要检查的Bean名称
+     * @return 如果存在具有给定名称的Bean对象，则返回true；否则返回false
+     */
+    @Override
+    public boolean containsBean(String name) {
+        FrozenBeanRegistry frozenRegistry = this.frozenBeanRegistry;
+        return (frozenRegistry != null ? frozenRegistry.getBeanId(name) >= 0 : super.containsBean(name));
+    }
+
+    /**
+     * 注册单例（Bean的名称，单例对象）
+     * 配置冻结后只允许登记已有Bean定义对象的单例（例如延迟初始化的单例创建完成时）。
+     *
+     * @param beanName        Bean的名称
+     * @param singletonObject 单例对象
+     * @throws BeansException 如果配置已冻结且该名称没有对应的Bean定义对象，则抛出BeansException异常
+     */
+    @Override
+    public void registerSingleton(String beanName, Object singletonObject) throws BeansException {
+        if (this.frozenBeanRegistry != null && !this.beanDefinitionMap.containsKey(beanName)) {
+            throw new BeansException("Cannot register singleton '" + beanName + "': configuration has been frozen");
+        }
+        super.registerSingleton(beanName, singletonObject);
+    }
+
+    /**
+     * 清除元数据缓存
+     * 根据当前的Bean定义对象重建类型索引。
+     * Bean工厂扩展处理器修改了Bean定义对象的类对象之后需要调用此方法，已构建的Bean依赖图也会被丢弃。
+     */
+    @Override
+    public void clearMetadataCache() {
+        this.dependencyGraph = null;
+        this.beanDefinitionMap.forEach((beanName, beanDefinition) -> {
+            if (this.indexedBeanClasses.get(beanName) != beanDefinition.getBeanClass()) {
+                this.indexBeanType(beanName, beanDefinition.getBeanClass());
+            }
+        });
+    }
+
+    /**
+     * 冻结配置
+     * 为每个Bean定义对象分配连续编号并建立冻结的Bean注册表，已创建的单例Bean对象直接放入扁平数组。
+     * 冻结后不允许再注册Bean定义对象或单例对象。
+     */
+    @Override
+    public void freezeConfiguration() {
+        if (this.frozenBeanRegistry != null) {
+            return;
+        }
+        FrozenBeanRegistry frozenRegistry = new FrozenBeanRegistry(this.beanDefinitionMap);
+        for (String beanName : this.beanDefinitionMap.keySet()) {
+            int beanId = frozenRegistry.getBeanId(beanName);
+            Object singleton = this.getSingleton(beanName);
+            // 工厂Bean对象的产品在第一次获取时再缓存，避免冻结时提前创建产品
+            if (singleton != null && !(singleton instanceof FactoryBean) && frozenRegistry.isCacheable(beanId)) {
+                frozenRegistry.setResolvedObject(beanId, singleton);
+            }
+        }
+        this.frozenBeanRegistry = frozenRegistry;
+    }
+
+    @Override
+    public boolean isConfigurationFrozen() {
+        return this.frozenBeanRegistry != null;
+    }
+
+    /**
+     * 销毁所有单例
+     * 销毁后清除冻结的Bean注册表中已解析的Bean对象，配置仍保持冻结。
+     *
+     * @throws BeansException 如果销毁过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public void destroySingletons() throws BeansException {
+        try {
+            super.destroySingletons();
+        } finally {
+            FrozenBeanRegistry frozenRegistry = this.frozenBeanRegistry;
+            if (frozenRegistry != null) {
+                frozenRegistry.clearResolvedObjects();
+            }
+        }
+    }
+
+    /**
+     * 获取Bean名称依据类型（Bean的类对象）
+     * 返回Bean定义对象的类对象可以赋值给给定类型的所有Bean的名称。
+     * 直接查询类型索引，不再遍历所有Bean定义对象。
+     *
+     * @param type Bean的类对象
+     * @return 匹配类型的Bean的名称列表
+     */
+    @Override
+    public List<String> getBeanNamesForType(Class<?> type) {
+        Set<String> beanNames = this.beanNamesByType.get(type);
+        return (beanNames != null ? new ArrayList<>(beanNames) : new ArrayList<>());
+    }
+
+    /**
+     * 建立类型索引（Bean的名称，Bean的类对象）
+     * 将Bean的名称登记到其类对象、所有父类以及所有接口（包括父接口）的索引中。
+     *
+     * @param beanName  Bean的名称
+     * @param beanClass Bean的类对象
+     */
+    private void indexBeanType(String beanName, Class<?> beanClass) {
+        Class<?> previousClass = this.indexedBeanClasses.put(beanName, beanClass);
+        if (previousClass != null) {
+            this.unindexBeanType(beanName, previousClass);
+        }
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        queue.add(beanClass);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            this.beanNamesByType.computeIfAbsent(type, key -> ConcurrentHashMap.newKeySet()).add(beanName);
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            Collections.addAll(queue, type.getInterfaces());
+        }
+    }
+
+    /**
+     * 移除类型索引（Bean的名称，Bean的类对象）
+     *
+     * @param beanName  Bean的名称
+     * @param beanClass 之前建立索引时使用的Bean的类对象
+     */
+    private void unindexBeanType(String beanName, Class<?> beanClass) {
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(beanClass);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            Set<String> beanNames = this.beanNamesByType.get(type);
+            if (beanNames != null) {
+                beanNames.remove(beanName);
+            }
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            Collections.addAll(queue, type.getInterfaces());
+        }
+    }
+
+    /**
+     * 获取Bean依赖图
+     * 根据当前所有的Bean定义对象静态推断依赖关系，不创建任何Bean对象；构建结果会被缓存，直到注册新的Bean定义对象或者清除元数据缓存。
+     *
+     * @return Bean依赖图对象
+     */
+    public BeanDependencyGraph getBeanDependencyGraph() {
+        BeanDependencyGraph graph = this.dependencyGraph;
+        if (graph == null) {
+            List<BeanDependencyGraph.BeanNode> nodes = new ArrayList<>();
+            for (String beanName : this.getBeanDefinitionNames()) {
+                BeanDefinition beanDefinition = this.getBeanDefinition(beanName);
+                Class<?> beanClass = ClassUtils.getActualClass(beanDefinition.getBeanClass());
+                boolean factoryBean = FactoryBean.class.isAssignableFrom(beanClass);
+                nodes.add(new BeanDependencyGraph.BeanNode(beanName, beanClass, beanDefinition.getScope(), beanDefinition.isLazyInit(),
+                        factoryBean, factoryBean ? resolveFactoryBeanProductType(beanClass) : null,
+                        this.determineDependencies(beanName, beanDefinition)));
+            }
+            graph = new BeanDependencyGraph(nodes);
+            this.dependencyGraph = graph;
+        }
+        return graph;
+    }
+
+    /**
+     * 确定依赖（Bean的名称，Bean定义对象）
+     * 在Bean对象创建之前，根据Bean定义对象静态地推断该Bean对象依赖的其他Bean对象。
+     * 依赖来源于属性值集中的Bean引用，以及类层次结构中@Autowired注解标注的字段（有@Qualifier注解时按名称，否则按类型）。
+     * 注入对象提供者或延迟解析代理对象的字段（ObjectFactory、ObjectProvider类型或标注了@Lazy注解）不构成创建时依赖。
+     *
+     * @param beanName       Bean的名称
+     * @param beanDefinition Bean定义对象
+     * @return 依赖列表，只包含指向已注册的Bean定义对象的依赖
+     */
+    protected List<BeanDependencyGraph.Dependency> determineDependencies(String beanName, BeanDefinition beanDefinition) {
+        List<BeanDependencyGraph.Dependency> dependencies = new ArrayList<>();
+        // 1、属性值集中的Bean引用
+        for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+            if (propertyValue.getValue() instanceof BeanReference) {
+                dependencies.add(new BeanDependencyGraph.Dependency(((BeanReference) propertyValue.getValue()).getBeanName(),
+                        BeanDependencyGraph.DependencyKind.PROPERTY_REFERENCE, propertyValue.getName()));
+            }
+        }
+        // 2、@Autowired注解标注的字段
+        Class<?> clazz = ClassUtils.getActualClass(beanDefinition.getBeanClass());
+        while (clazz != null && clazz != Object.class) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getAnnotation(Autowired.class) == null || ObjectFactory.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                Lazy lazyAnnotation = field.getAnnotation(Lazy.class);
+                if (lazyAnnotation != null && lazyAnnotation.value()) {
+                    continue;
+                }
+                Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
+                if (qualifierAnnotation != null) {
+                    dependencies.add(new BeanDependencyGraph.Dependency(qualifierAnnotation.value(),
+                            BeanDependencyGraph.DependencyKind.AUTOWIRED_BY_QUALIFIER, field.getName()));
+                } else {
+                    for (String candidate : this.getBeanNamesForType(field.getType())) {
+                        dependencies.add(new BeanDependencyGraph.Dependency(candidate,
+                                BeanDependencyGraph.DependencyKind.AUTOWIRED_BY_TYPE, field.getName()));
+                    }
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+        dependencies.removeIf(dependency -> !this.containsBeanDefinition(dependency.getBeanName()));
+        return dependencies;
+    }
+
+    /**
+     * 解析工厂Bean产品类型（工厂Bean的类对象）
+     * 沿着类层次结构查找FactoryBean接口的泛型参数，不创建工厂Bean对象。
+     *
+     * @param factoryBeanClass 工厂Bean的类对象
+     * @return 产品的类对象，如果泛型参数是类型变量或者没有声明泛型参数，则返回null
+     */
+    private static Class<?> resolveFactoryBeanProductType(Class<?> factoryBeanClass) {
+        for (Class<?> clazz = factoryBeanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Type type : clazz.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == FactoryBean.class) {
+                    Type productType = ((ParameterizedType) type).getActualTypeArguments()[0];
+                    if (productType instanceof ParameterizedType) {
+                        productType = ((ParameterizedType) productType).getRawType();
+                    }
+                    return productType instanceof Class ? (Class<?>) productType : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 缓存已解析的Bean对象（冻结的Bean注册表对象，Bean的编号，Bean对象）
+     * 只缓存已完成创建的单例Bean对象，产品不是单例的工厂Bean对象标记为不可缓存。
+     *
+     * @param frozenRegistry 冻结的Bean注册表对象
+     * @param beanId         Bean的编号
+     * @param bean           通过常规流程获取到的Bean对象
+     */
+    private void cacheResolvedObject(FrozenBeanRegistry frozenRegistry, int beanId, Object bean) {
+        String beanName = frozenRegistry.getBeanName(beanId);
+        if (this.isSingletonCurrentlyInCreation(beanName)) {
+            // 循环依赖中拿到的可能是早期引用，不能缓存
+            return;
+        }
+        Object singleton = this.getSingleton(beanName);
+        if (singleton instanceof FactoryBean && !((FactoryBean<?>) singleton).isSingleton()) {
+            frozenRegistry.markNotCacheable(beanId);
+        } else if (singleton != null) {
+            frozenRegistry.setResolvedObject(beanId, bean);
+        }
+    }
+
+    public boolean isParallelPreInstantiation() {
+        return parallelPreInstantiation;
+    }
+
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    public int getPreInstantiationParallelism() {
+        return preInstantiationParallelism;
+    }
+
+    public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+        this.preInstantiationParallelism = preInstantiationParallelism;
+    }
 }
@@ -5,23 +5,44 @@ import com.stars.starsspring.framework.beans.factory.DisposableBean;
 import com.stars.starsspring.framework.beans.factory.ObjectFactory;
 import com.stars.starsspring.framework.beans.factory.config.SingletonBeanRegistry;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 默认单例Bean注册——类
  * 这个类负责管理单例对象的缓存以及销毁已注册的DisposableBean对象。
+ * 单例对象的创建通过按Bean名称划分的创建锁进行保护，保证每个单例Bean对象只会被创建一次；
+ * 已完全创建的单例对象直接从一级缓存中读取，不需要获取任何锁。
+ * 单例对象创建期间获取的其他Bean对象会被记录为它的依赖，销毁时按依赖的逆序并发销毁，
+ * 每个Bean对象的销毁超时时间和整个销毁过程的截止时间可以通过系统属性或者设置方法配置。
  * <p>
  * <p>
  * 属性字段：
  * NULL_OBJECT
+ * CREATION_LOCK_CHECK_INTERVAL_MILLIS
+ * DESTRUCTION_TIMEOUT_PROPERTY
+ * DESTRUCTION_DEADLINE_PROPERTY
  * singletonObjects
  * earlySingletonObjects
  * singletonFactories
  * disposableBeans
+ * singletonCreationLocks
+ * singletonsCurrentlyInCreation
+ * singletonsAwaitedByThread
+ * singletonsInCreationOnThread
+ * dependentBeanMap
+ * dependenciesForBeanMap
+ * destructionParallelism
+ * destructionTimeoutMillis
+ * destructionDeadlineMillis
  * <p>
  * 重写方法：
  * getSingleton
@@ -30,9 +51,24 @@ import java.util.concurrent.ConcurrentHashMap;
  * 定义方法：
  * <p>
  * 编写方法：
+ * getSingleton
+ * getEarlySingleton
+ * acquireSingletonCreationLock
+ * isWaitingForCurrentThread
+ * isSingletonCurrentlyInCreation
  * addSingletonFactory
  * registerDisposableBean
+ * registerDependentBean
+ * registerDependencyOfCurrentBean
+ * getDependentBeans
+ * getDependenciesForBean
  * destroySingletons
+ * getDestructionParallelism
+ * setDestructionParallelism
+ * getDestructionTimeoutMillis
+ * setDestructionTimeoutMillis
+ * getDestructionDeadlineMillis
+ * setDestructionDeadlineMillis
  *
  * @author stars
  */
@@ -41,44 +77,226 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     // 空对象，用于替代null值，单例对象的内部标记值，用作并发Map的标记值（不支持null值）。
     protected static final Object NULL_OBJECT = new Object();
 
+    // 等待创建锁时检测线程间循环等待的时间间隔（毫秒）
+    private static final long CREATION_LOCK_CHECK_INTERVAL_MILLIS = 50;
+
+    // 单个Bean对象销毁超时时间（毫秒）的系统属性名称
+    public static final String DESTRUCTION_TIMEOUT_PROPERTY = "starsspring.destroy.timeout";
+    // 整个销毁过程截止时间（毫秒）的系统属性名称
+    public static final String DESTRUCTION_DEADLINE_PROPERTY = "starsspring.destroy.deadline";
+
     // 一级缓存，存放普通单例对象（单例对象）
     private Map<String, Object> singletonObjects = new ConcurrentHashMap<>();
     // 二级缓存，提前曝光对象，存放未完全初始化的对象（早期单例对象）
-    protected final Map<String, Object> earlySingletonObjects = new HashMap<>();
+    protected final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>();
     // 三级缓存，存放代理对象（单例工厂对象）
-    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>();
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>();
     // 销毁BeanMap，存放DisposableBean对象
     private final Map<String, DisposableBean> disposableBeans = new LinkedHashMap<>();
+    // 单例创建锁Map，键是Bean的名称，值是该Bean对象的创建锁，单例对象创建成功后移除
+    private final Map<String, ReentrantLock> singletonCreationLocks = new ConcurrentHashMap<>();
+    // 正在创建的单例Map，键是Bean的名称，值是正在创建该Bean对象的线程
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>();
+    // 线程等待的单例Map，键是线程，值是该线程正在等待其创建锁的Bean的名称，用于检测线程间的循环等待
+    private final Map<Thread, String> singletonsAwaitedByThread = new ConcurrentHashMap<>();
+    // 当前线程正在创建的单例Bean的名称栈，栈顶是最内层正在创建的Bean对象
+    private final ThreadLocal<Deque<String>> singletonsInCreationOnThread = new ThreadLocal<>();
+    // 依赖方Map，键是Bean的名称，值是依赖它的Bean的名称集合
+    private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>();
+    // 依赖Map，键是Bean的名称，值是它依赖的Bean的名称集合
+    private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>();
+    // 销毁并行度，销毁方法大多阻塞在刷新缓冲区、关闭连接等I/O操作上，默认为可用处理器数量的2倍且不少于4
+    private int destructionParallelism = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    // 单个Bean对象的销毁超时时间（毫秒），小于等于0表示不限制
+    private long destructionTimeoutMillis = Long.getLong(DESTRUCTION_TIMEOUT_PROPERTY, 10_000L);
+    // 整个销毁过程的截止时间（毫秒），小于等于0表示不限制，默认留在常见的30秒终止宽限期之内
+    private long destructionDeadlineMillis = Long.getLong(DESTRUCTION_DEADLINE_PROPERTY, 25_000L);
 
     /**
      * 获取单例（Bean的名称）
+     * 已完全创建的单例对象直接从一级缓存中返回；早期单例对象只对正在创建该Bean对象的线程可见，
+     * 其他线程需要通过getSingleton(String, ObjectFactory)等待创建完成。
      *
      * @param beanName Bean的名称
      * @return 单例Bean对象，如果不存在则返回null
      */
     @Override
     public Object getSingleton(String beanName) {
-        // 从一级缓存中获取
+        // 从一级缓存中获取，无锁快速路径
+        Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject == null && this.singletonsCurrentlyInCreation.get(beanName) == Thread.currentThread()) {
+            // 当前线程正在创建该Bean对象（循环依赖），从二、三级缓存中获取早期单例对象
+            singletonObject = this.getEarlySingleton(beanName);
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 获取单例（Bean的名称，单例工厂对象）
+     * 获取指定名称的单例对象，如果不存在，则在该Bean名称的创建锁保护下调用单例工厂对象创建并注册。
+     * 并发请求同一个单例对象的其他线程会等待创建完成后直接返回同一个对象。
+     *
+     * @param beanName         Bean的名称
+     * @param singletonFactory 单例工厂对象，用于在单例对象不存在时创建它
+     * @return 单例Bean对象
+     * @throws BeansException 如果创建过程中出现异常或存在无法解决的循环依赖，则抛出BeansException异常
+     */
+    public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) throws BeansException {
         Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
+        Thread currentThread = Thread.currentThread();
+        if (this.singletonsCurrentlyInCreation.get(beanName) == currentThread) {
+            // 当前线程重入创建同一个Bean对象，且没有可用的早期单例对象（例如构造函数循环依赖）
+            throw new BeansException("Requested bean '" + beanName + "' is currently in creation: Is there an unresolvable circular reference?");
+        }
+        ReentrantLock lock = this.singletonCreationLocks.computeIfAbsent(beanName, name -> new ReentrantLock());
+        Object earlySingletonObject = this.acquireSingletonCreationLock(beanName, lock);
+        if (earlySingletonObject != null) {
+            // 与正在创建该Bean对象的线程形成了循环等待，使用其提前曝光的早期单例对象
+            return earlySingletonObject;
+        }
+        try {
+            // 双重检查，等待期间其他线程可能已经创建完成
+            singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
+            this.singletonsCurrentlyInCreation.put(beanName, currentThread);
+            Deque<String> creationStack = this.singletonsInCreationOnThread.get();
+            if (creationStack == null) {
+                creationStack = new ArrayDeque<>();
+                this.singletonsInCreationOnThread.set(creationStack);
+            }
+            creationStack.push(beanName);
+            try {
+                singletonObject = singletonFactory.getObject();
+            } catch (Throwable e) {
+                // 创建失败时（包括NoClassDefFoundError、StackOverflowError等错误）丢弃提前曝光的早期单例对象，之后的请求会重新创建
+                this.earlySingletonObjects.remove(beanName);
+                this.singletonFactories.remove(beanName);
+                throw e;
+            } finally {
+                this.singletonsCurrentlyInCreation.remove(beanName);
+                creationStack.pop();
+                if (creationStack.isEmpty()) {
+                    this.singletonsInCreationOnThread.remove();
+                }
+            }
+            // 单例工厂对象通常已经完成注册，否则（例如实例化前被扩展处理器短路）在此注册
+            if (!this.singletonObjects.containsKey(beanName)) {
+                this.registerSingleton(beanName, singletonObject);
+            }
+            // 创建成功后移除创建锁，之后获取到旧锁的线程会在双重检查时直接返回单例对象
+            this.singletonCreationLocks.remove(beanName, lock);
+            return singletonObject;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取早期单例（Bean的名称）
+     * 依次从二级缓存、三级缓存中获取早期单例对象，从三级缓存中获取到时提升至二级缓存。
+     *
+     * @param beanName Bean的名称
+     * @return 早期单例对象，如果不存在则返回null
+     */
+    private Object getEarlySingleton(String beanName) {
+        // 从二级缓存中获取
+        Object singletonObject = this.earlySingletonObjects.get(beanName);
         if (singletonObject == null) {
-            // 一级缓存中未获取到，则从二级缓存中获取
-            singletonObject = this.earlySingletonObjects.get(beanName);
-            if (singletonObject == null) {
-                // 二级缓存中未获取到，则从三级缓存中获取
-                ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-                if (singletonFactory != null) {
-                    // 已从三级缓存中获取到
-                    singletonObject = singletonFactory.getObject();
-                    // 放入二级缓存
-                    this.earlySingletonObjects.put(beanName, singletonObject);
-                    // 放入一级缓存
-                    this.singletonFactories.remove(beanName);
+            // 二级缓存中未获取到，则从三级缓存中获取
+            ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+            if (singletonFactory != null) {
+                // 以单例工厂对象作为锁，只在发生线程间循环等待时才会出现竞争，且不会阻塞其他Bean对象的创建
+                synchronized (singletonFactory) {
+                    singletonObject = this.earlySingletonObjects.get(beanName);
+                    if (singletonObject == null && this.singletonFactories.get(beanName) == singletonFactory) {
+                        // 已从三级缓存中获取到
+                        singletonObject = singletonFactory.getObject();
+                        // 放入二级缓存
+                        this.earlySingletonObjects.put(beanName, singletonObject);
+                        // 移除三级缓存
+                        this.singletonFactories.remove(beanName);
+                    }
                 }
             }
         }
         return singletonObject;
     }
 
+    /**
+     * 获取单例创建锁（Bean的名称，创建锁对象）
+     * 等待期间周期性检测线程间的循环等待：如果持有该锁的线程（直接或间接）正在等待当前线程，
+     * 则不再等待，改为返回其提前曝光的早期单例对象。
+     *
+     * @param beanName Bean的名称
+     * @param lock     创建锁对象
+     * @return 成功获取创建锁时返回null；发生循环等待时返回早期单例对象
+     * @throws BeansException 如果发生循环等待且没有可用的早期单例对象，或等待被中断，则抛出BeansException异常
+     */
+    private Object acquireSingletonCreationLock(String beanName, ReentrantLock lock) throws BeansException {
+        if (lock.tryLock()) {
+            return null;
+        }
+        Thread currentThread = Thread.currentThread();
+        this.singletonsAwaitedByThread.put(currentThread, beanName);
+        try {
+            while (!lock.tryLock(CREATION_LOCK_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (this.isWaitingForCurrentThread(beanName)) {
+                    Object earlySingletonObject = this.getEarlySingleton(beanName);
+                    if (earlySingletonObject == null) {
+                        throw new BeansException("Requested bean '" + beanName + "' is currently in creation by thread '"
+                                + this.singletonsCurrentlyInCreation.get(beanName) + "' which waits for the current thread: Is there an unresolvable circular reference?");
+                    }
+                    return earlySingletonObject;
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeansException("Interrupted while waiting for creation of bean '" + beanName + "'", e);
+        } finally {
+            this.singletonsAwaitedByThread.remove(currentThread);
+        }
+    }
+
+    /**
+     * 是否正在等待当前线程（Bean的名称）
+     * 沿着“创建线程——等待的Bean对象——创建线程”链路查找，判断是否回到当前线程。
+     *
+     * @param beanName 当前线程正在等待的Bean的名称
+     * @return 如果形成循环等待，则返回true；否则返回false
+     */
+    private boolean isWaitingForCurrentThread(String beanName) {
+        Thread currentThread = Thread.currentThread();
+        Set<Thread> visited = new HashSet<>();
+        String awaitedBeanName = beanName;
+        while (awaitedBeanName != null) {
+            Thread creatingThread = this.singletonsCurrentlyInCreation.get(awaitedBeanName);
+            if (creatingThread == null || !visited.add(creatingThread)) {
+                return false;
+            }
+            if (creatingThread == currentThread) {
+                return true;
+            }
+            awaitedBeanName = this.singletonsAwaitedByThread.get(creatingThread);
+        }
+        return false;
+    }
+
+    /**
+     * 是否单例正在创建中（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 如果任一线程正在创建该单例Bean对象，则返回true；否则返回false
+     */
+    public boolean isSingletonCurrentlyInCreation(String beanName) {
+        return this.singletonsCurrentlyInCreation.containsKey(beanName);
+    }
+
     /**
      * 注册单例（Bean的名称，单例对象）
      *
@@ -87,7 +305,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      */
     @Override
     public void registerSingleton(String beanName, Object singletonObject) {
-        // 放入一级缓存
+        // 放入一级缓存，先放入一级缓存再移除二、三级缓存，保证并发读取时总能获取到其中之一
         this.singletonObjects.put(beanName, singletonObject);
         // 移除二、三级缓存
         this.earlySingletonObjects.remove(beanName);
@@ -96,6 +314,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
     /**
      * 添加单例工厂（Bean的名称，单例工厂对象）
+     * 只会由持有该Bean名称创建锁的线程调用。
      *
      * @param beanName         Bean的名称
      * @param singletonFactory 单例工厂对象，用于创建单例对象
@@ -117,26 +336,103 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      */
     public void registerDisposableBean(String beanName, DisposableBean bean) {
         // 将可销毁的Bean对象存储到DisposableBeans中
-        this.disposableBeans.put(beanName, bean);
+        synchronized (this.disposableBeans) {
+            this.disposableBeans.put(beanName, bean);
+        }
     }
 
     /**
-     * 销毁所有单例
-     * 销毁所有已注册的可销毁的单例Bean对象。
+     * 注册依赖方（Bean的名称，依赖方Bean的名称）
+     *
+     * @param beanName          被依赖的Bean的名称
+     * @param dependentBeanName 依赖它的Bean的名称
      */
-    public void destroySingletons() {
-        // 获取所有已注册的可销毁Bean的名称
-        Set<String> beanNames = this.disposableBeans.keySet();
-        // 倒序遍历可销毁Bean的名称
-        for (String beanName : beanNames) {
-            DisposableBean disposableBean = this.disposableBeans.remove(beanName);
-            try {
-                // 销毁单例Bean对象
-                disposableBean.destroy();
-            } catch (Exception e) {
-                // 如果销毁过程中发生异常，包装为BeansException并抛出
-                throw new BeansException("Destroy method on bean with name '" + beanName + "' threw an exception", e);
+    public void registerDependentBean(String beanName, String dependentBeanName) {
+        this.dependentBeanMap.computeIfAbsent(beanName, name -> ConcurrentHashMap.newKeySet()).add(dependentBeanName);
+        this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, name -> ConcurrentHashMap.newKeySet()).add(beanName);
+    }
+
+    /**
+     * 注册当前Bean的依赖（Bean的名称）
+     * 如果当前线程正在创建单例Bean对象，则把给定的Bean对象记录为最内层正在创建的Bean对象的依赖。
+     * 原型Bean对象不入栈，它在创建期间获取的Bean对象记录为外层单例Bean对象的依赖。
+     *
+     * @param beanName 当前线程正在获取的Bean的名称
+     */
+    protected void registerDependencyOfCurrentBean(String beanName) {
+        Deque<String> creationStack = this.singletonsInCreationOnThread.get();
+        if (creationStack != null) {
+            String currentBeanName = creationStack.peek();
+            if (currentBeanName != null && !currentBeanName.equals(beanName)) {
+                this.registerDependentBean(beanName, currentBeanName);
             }
         }
     }
+
+    /**
+     * 获取依赖方Bean（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 依赖该Bean对象的Bean的名称数组
+     */
+    public String[] getDependentBeans(String beanName) {
+        Set<String> dependentBeans = this.dependentBeanMap.get(beanName);
+        return dependentBeans != null ? dependentBeans.toArray(new String[0]) : new String[0];
+    }
+
+    /**
+     * 获取依赖Bean（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return 该Bean对象依赖的Bean的名称数组
+     */
+    public String[] getDependenciesForBean(String beanName) {
+        Set<String> dependencies = this.dependenciesForBeanMap.get(beanName);
+        return dependencies != null ? dependencies.toArray(new String[0]) : new String[0];
+    }
+
+    /**
+     * 销毁所有单例
+     * 按依赖的逆序销毁所有已注册的可销毁的单例Bean对象，彼此独立的Bean对象并发销毁。
+     * 单个Bean对象销毁失败或者超时不会中止其他Bean对象的销毁，所有问题汇总后统一抛出。
+     *
+     * @throws BeansException 如果有Bean对象销毁失败、超时或者因截止时间被跳过，则抛出包含销毁报告的BeansException异常
+     */
+    public void destroySingletons() throws BeansException {
+        // 在锁内取出并清空所有已注册的可销毁Bean对象，销毁期间新注册的Bean对象不受影响
+        Map<String, DisposableBean> disposableBeans;
+        synchronized (this.disposableBeans) {
+            disposableBeans = new LinkedHashMap<>(this.disposableBeans);
+            this.disposableBeans.clear();
+        }
+        Map<String, Set<String>> dependentBeans = new HashMap<>(this.dependentBeanMap);
+        this.dependentBeanMap.clear();
+        this.dependenciesForBeanMap.clear();
+        new ParallelSingletonDestroyer(this.destructionParallelism, this.destructionTimeoutMillis, this.destructionDeadlineMillis)
+                .destroy(disposableBeans, dependentBeans);
+    }
+
+    public int getDestructionParallelism() {
+        return destructionParallelism;
+    }
+
+    public void setDestructionParallelism(int destructionParallelism) {
+        this.destructionParallelism = destructionParallelism;
+    }
+
+    public long getDestructionTimeoutMillis() {
+        return destructionTimeoutMillis;
+    }
+
+    public void setDestructionTimeoutMillis(long destructionTimeoutMillis) {
+        this.destructionTimeoutMillis = destructionTimeoutMillis;
+    }
+
+    public long getDestructionDeadlineMillis() {
+        return destructionDeadlineMillis;
+    }
+
+    public void setDestructionDeadlineMillis(long destructionDeadlineMillis) {
+        this.destructionDeadlineMillis = destructionDeadlineMillis;
+    }
 }
@@ -55,8 +55,14 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
         if (factory.isSingleton()) {
             Object object = this.factoryBeanObjectCache.get(beanName);
             if (object == null) {
-                object = this.doGetObjectFromFactoryBean(factory, beanName);
-                this.factoryBeanObjectCache.put(beanName, (object != null ? object : DefaultSingletonBeanRegistry.NULL_OBJECT));
+                // 以工厂Bean对象作为锁，保证并发请求时单例的产品对象只会被创建一次
+                synchronized (factory) {
+                    object = this.factoryBeanObjectCache.get(beanName);
+                    if (object == null) {
+                        object = this.doGetObjectFromFactoryBean(factory, beanName);
+                        this.factoryBeanObjectCache.put(beanName, (object != null ? object : DefaultSingletonBeanRegistry.NULL_OBJECT));
+                    }
+                }
             }
             return (object != DefaultSingletonBeanRegistry.NULL_OBJECT ? object : null);
         } else {
@@ -0,0 +1,160 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 冻结的Bean注册表——类
+ * 配置冻结后Bean定义对象不再变化，为每个Bean的名称分配一个从0开始的连续编号，
+ * 并把已解析的单例Bean对象（工厂Bean对象则是其单例产品）保存在按编号索引的扁平数组中。
+ * 获取Bean对象只需要一次只读HashMap查找和一次数组读取，不再经过单例缓存、工厂Bean判断和Bean定义Map。
+ * <p>
+ * <p>
+ * 属性字段：
+ * NOT_CACHEABLE
+ * beanIds
+ * beanNames
+ * resolvedObjects
+ * beanIdsByType
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * FrozenBeanRegistry
+ * getBeanId
+ * getBeanName
+ * getResolvedObject
+ * setResolvedObject
+ * markNotCacheable
+ * isCacheable
+ * getBeanIdForType
+ * setBeanIdForType
+ * clearResolvedObjects
+ *
+ * @author stars
+ */
+final class FrozenBeanRegistry {
+
+    // 不可缓存标记，用于原型、池化、自定义作用域以及产品不是单例的工厂Bean对象
+    private static final Object NOT_CACHEABLE = new Object();
+
+    // Bean的名称到编号的只读Map对象
+    private final Map<String, Integer> beanIds;
+    // 按编号索引的Bean的名称
+    private final String[] beanNames;
+    // 按编号索引的已解析Bean对象，null表示尚未解析（例如延迟初始化的单例）
+    private final AtomicReferenceArray<Object> resolvedObjects;
+    // 按类型获取Bean对象的解析结果缓存，键是要求的类型，值是唯一匹配的Bean的编号
+    private final Map<Class<?>, Integer> beanIdsByType = new ConcurrentHashMap<>();
+
+    /**
+     * 有参构造函数（Bean定义Map对象）
+     * 只有单例Bean定义对象的槽位可以缓存Bean对象，其他槽位直接标记为不可缓存。
+     *
+     * @param beanDefinitionMap 冻结时的Bean定义Map对象
+     */
+    FrozenBeanRegistry(Map<String, BeanDefinition> beanDefinitionMap) {
+        int size = beanDefinitionMap.size();
+        this.beanIds = new HashMap<>(size * 4 / 3 + 1);
+        this.beanNames = new String[size];
+        this.resolvedObjects = new AtomicReferenceArray<>(size);
+        int beanId = 0;
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+            this.beanIds.put(entry.getKey(), beanId);
+            this.beanNames[beanId] = entry.getKey();
+            if (!entry.getValue().isSingleton()) {
+                this.resolvedObjects.set(beanId, NOT_CACHEABLE);
+            }
+            beanId++;
+        }
+    }
+
+    /**
+     * 获取Bean的编号（Bean的名称）
+     *
+     * @param beanName Bean的名称
+     * @return Bean的编号，如果不存在则返回-1
+     */
+    int getBeanId(String beanName) {
+        Integer beanId = this.beanIds.get(beanName);
+        return (beanId != null ? beanId : -1);
+    }
+
+    String getBeanName(int beanId) {
+        return this.beanNames[beanId];
+    }
+
+    /**
+     * 获取已解析的Bean对象（Bean的编号）
+     *
+     * @param beanId Bean的编号
+     * @return 已解析的Bean对象，如果尚未解析或不可缓存则返回null
+     */
+    Object getResolvedObject(int beanId) {
+        Object resolvedObject = this.resolvedObjects.get(beanId);
+        return (resolvedObject != NOT_CACHEABLE ? resolvedObject : null);
+    }
+
+    /**
+     * 设置已解析的Bean对象（Bean的编号，Bean对象）
+     * 只在槽位仍为空时写入，不会覆盖不可缓存标记。
+     *
+     * @param beanId         Bean的编号
+     * @param resolvedObject 已解析的Bean对象
+     */
+    void setResolvedObject(int beanId, Object resolvedObject) {
+        this.resolvedObjects.compareAndSet(beanId, null, resolvedObject);
+    }
+
+    /**
+     * 标记为不可缓存（Bean的编号）
+     *
+     * @param beanId Bean的编号
+     */
+    void markNotCacheable(int beanId) {
+        this.resolvedObjects.set(beanId, NOT_CACHEABLE);
+    }
+
+    /**
+     * 是否可缓存（Bean的编号）
+     *
+     * @param beanId Bean的编号
+     * @return 如果该槽位尚未被标记为不可缓存，则返回true；否则返回false
+     */
+    boolean isCacheable(int beanId) {
+        return this.resolvedObjects.get(beanId) != NOT_CACHEABLE;
+    }
+
+    /**
+     * 获取Bean的编号依据类型（要求的类型）
+     *
+     * @param requiredType 要求的类型
+     * @return 唯一匹配该类型的Bean的编号，如果尚未解析则返回-1
+     */
+    int getBeanIdForType(Class<?> requiredType) {
+        Integer beanId = this.beanIdsByType.get(requiredType);
+        return (beanId != null ? beanId : -1);
+    }
+
+    void setBeanIdForType(Class<?> requiredType, int beanId) {
+        this.beanIdsByType.put(requiredType, beanId);
+    }
+
+    /**
+     * 清除已解析的Bean对象
+     * 单例Bean对象被销毁后调用，之后的获取请求重新经过单例缓存。
+     */
+    void clearResolvedObjects() {
+        for (int i = 0; i < this.resolvedObjects.length(); i++) {
+            if (this.resolvedObjects.get(i) != NOT_CACHEABLE) {
+                this.resolvedObjects.set(i, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lambda实例化策略——类
+ * 为每个构造函数生成一次实例化函数并缓存，之后直接调用，避免Constructor.newInstance的访问检查和参数复制。
+ * 公共类的公共无参构造函数通过LambdaMetafactory生成Supplier；其他构造函数通过展开参数数组的MethodHandle调用；
+ * 无法生成时退回到反射实例化。适合高频创建原型Bean对象的场景。
+ * <p>
+ * <p>
+ * 属性字段：
+ * LOOKUP
+ * instantiators
+ * <p>
+ * 重写方法：
+ * instantiate
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * createInstantiator
+ * createSupplier
+ * newInstanceReflectively
+ * isVisible
+ *
+ * @author stars
+ */
+public class LambdaInstantiationStrategy implements InstantiationStrategy {
+
+    // 方法句柄查找对象
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 实例化函数缓存，键是构造函数对象，值是接收构造参数数组、返回新实例的函数
+    private final Map<Constructor<?>, Function<Object[], Object>> instantiators = new ConcurrentHashMap<>();
+
+    /**
+     * 实例化（Bean定义对象，Bean的名称，构造函数对象，构造函数参数数）
+     *
+     * @param beanDefinition Bean定义对象
+     * @param beanName       Bean的名称
+     * @param ctor           构造函数对象，目的是为了拿到符合入参信息相对应的构造函数
+     * @param args           构造函数参数
+     * @return 实例化的Bean对象
+     * @throws BeansException 如果实例化过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor ctor, Object[] args) throws BeansException {
+        Class<?> clazz = beanDefinition.getBeanClass();
+        try {
+            Constructor<?> constructorToUse = (ctor != null ? ctor : clazz.getDeclaredConstructor());
+            Function<Object[], Object> instantiator = this.instantiators.get(constructorToUse);
+            if (instantiator == null) {
+                instantiator = this.instantiators.computeIfAbsent(constructorToUse, this::createInstantiator);
+            }
+            return instantiator.apply(args != null ? args : ConstructorResolver.EMPTY_ARGS);
+        } catch (NoSuchMethodException e) {
+            throw new BeansException("Failed to instantiate [" + clazz.getName() + "]", e);
+        } catch (BeansException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BeansException("Failed to instantiate [" + clazz.getName() + "]", e);
+        }
+    }
+
+    /**
+     * 创建实例化函数（构造函数对象）
+     *
+     * @param ctor 构造函数对象
+     * @return 接收构造参数数组、返回新实例的函数
+     */
+    private Function<Object[], Object> createInstantiator(Constructor<?> ctor) {
+        Class<?> clazz = ctor.getDeclaringClass();
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            // 抽象类无法实例化，交给反射抛出明确的异常
+            return args -> newInstanceReflectively(ctor, args);
+        }
+        boolean accessible = Modifier.isPublic(ctor.getModifiers()) && Modifier.isPublic(clazz.getModifiers());
+        try {
+            // 1、公共无参构造函数，生成Supplier
+            if (ctor.getParameterCount() == 0 && accessible && isVisible(clazz)) {
+                Supplier<Object> supplier = createSupplier(ctor);
+                if (supplier != null) {
+                    return args -> supplier.get();
+                }
+            }
+            // 2、其他构造函数，使用展开参数数组的方法句柄
+            if (!accessible) {
+                ctor.setAccessible(true);
+            }
+            MethodHandle methodHandle = LOOKUP.unreflectConstructor(ctor)
+                    .asSpreader(Object[].class, ctor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return args -> {
+                try {
+                    return methodHandle.invokeExact(args);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new BeansException("Failed to instantiate [" + clazz.getName() + "]", e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            // 3、无法生成访问代码时退回到反射实例化
+            return args -> newInstanceReflectively(ctor, args);
+        }
+    }
+
+    /**
+     * 创建Supplier（公共无参构造函数对象）
+     *
+     * @param ctor 公共类的公共无参构造函数对象
+     * @return 调用该构造函数的Supplier对象，生成失败时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> createSupplier(Constructor<?> ctor) {
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), LOOKUP.unreflectConstructor(ctor),
+                    MethodType.methodType(ctor.getDeclaringClass()));
+            return (Supplier<Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 反射实例化（构造函数对象，构造参数）
+     *
+     * @param ctor 构造函数对象
+     * @param args 构造参数
+     * @return 新实例
+     * @throws BeansException 如果实例化过程中出现异常，则抛出BeansException异常
+     */
+    private static Object newInstanceReflectively(Constructor<?> ctor, Object[] args) throws BeansException {
+        try {
+            return ctor.newInstance(args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new BeansException("Failed to instantiate [" + ctor.getDeclaringClass().getName() + "]", e);
+        }
+    }
+
+    /**
+     * 是否可见（类对象）
+     * 生成的Lambda类由当前类的类加载器定义，只能引用该类加载器可见的类。
+     *
+     * @param clazz 类对象
+     * @return 如果通过当前类的类加载器可以加载到同一个类，则返回true；否则返回false
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, LambdaInstantiationStrategy.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.DisposableBean;
+import com.stars.starsspring.framework.core.metrics.ContainerEvents;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行单例销毁器——类
+ * 按照依赖的逆序销毁单例Bean对象：一个Bean对象只有在所有依赖它的Bean对象都销毁之后才会被销毁，
+ * 彼此之间没有依赖关系的Bean对象在销毁线程中并发销毁。依赖关系来自创建时实际发生的getBean调用，
+ * 不可销毁的Bean对象会被穿透，例如A依赖B、B依赖C时，即使B不需要销毁，C也会在A之后销毁。
+ * 可以同时开始销毁的Bean对象按注册的逆序提交；循环依赖使剩余的Bean对象互相等待时，先销毁其中最后注册的一个。
+ * <p>
+ * 每个Bean对象的销毁有单独的超时时间，整个销毁过程有总的截止时间。超时的Bean对象会被中断并视为已销毁，
+ * 它所依赖的Bean对象继续销毁；到达截止时间时，仍在执行的销毁被中断，尚未开始的Bean对象不再销毁。
+ * 销毁线程是守护线程，不会阻止JVM退出。异常、超时和跳过的Bean对象收集到销毁报告中，所有Bean对象处理完之后统一抛出。
+ * <p>
+ * <p>
+ * 属性字段：
+ * parallelism
+ * beanTimeoutMillis
+ * deadlineMillis
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ParallelSingletonDestroyer
+ * destroy
+ * collectBlockingBeans
+ * destroyBean
+ * createExecutor
+ * reportFailures
+ *
+ * @author stars
+ */
+final class ParallelSingletonDestroyer {
+
+    // 并行度
+    private final int parallelism;
+    // 单个Bean对象的销毁超时时间（毫秒），小于等于0表示不限制
+    private final long beanTimeoutMillis;
+    // 整个销毁过程的截止时间（毫秒），小于等于0表示不限制
+    private final long deadlineMillis;
+
+    /**
+     * 有参构造函数（并行度，单个Bean对象的超时时间，总截止时间）
+     *
+     * @param parallelism       并行度，即同时执行销毁方法的最大线程数
+     * @param beanTimeoutMillis 单个Bean对象的销毁超时时间（毫秒），小于等于0表示不限制
+     * @param deadlineMillis    整个销毁过程的截止时间（毫秒），小于等于0表示不限制
+     */
+    ParallelSingletonDestroyer(int parallelism, long beanTimeoutMillis, long deadlineMillis) {
+        this.parallelism = Math.max(1, parallelism);
+        this.beanTimeoutMillis = beanTimeoutMillis;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * 销毁（可销毁的Bean对象，依赖方Map）
+     * 所有Bean对象都销毁、超时或者到达截止时间之后才返回。
+     *
+     * @param disposableBeans 可销毁的Bean对象，按注册顺序排列
+     * @param dependentBeans  依赖方Map，键是Bean的名称，值是依赖它的Bean的名称集合
+     * @throws BeansException 如果有Bean对象销毁失败、超时或者因截止时间被跳过，则抛出包含销毁报告的BeansException异常
+     */
+    void destroy(Map<String, DisposableBean> disposableBeans, Map<String, Set<String>> dependentBeans) throws BeansException {
+        if (disposableBeans.isEmpty()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, this.deadlineMillis));
+        long beanTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(0, this.beanTimeoutMillis));
+        // 注册顺序，可以同时开始销毁的Bean对象按注册的逆序提交
+        Map<String, Integer> order = new HashMap<>();
+        for (String beanName : disposableBeans.keySet()) {
+            order.put(beanName, order.size());
+        }
+        // 每个Bean对象尚未销毁的阻塞Bean对象数量，以及每个Bean对象销毁后可以解除阻塞的Bean对象
+        Map<String, Integer> remainingBlockers = new HashMap<>();
+        Map<String, List<String>> blockedBeans = new HashMap<>();
+        for (String beanName : disposableBeans.keySet()) {
+            Set<String> blockers = collectBlockingBeans(beanName, disposableBeans.keySet(), dependentBeans);
+            remainingBlockers.put(beanName, blockers.size());
+            for (String blocker : blockers) {
+                blockedBeans.computeIfAbsent(blocker, name -> new ArrayList<>()).add(beanName);
+            }
+        }
+        Comparator<String> reverseRegistration = Comparator.comparing(order::get, Comparator.reverseOrder());
+        PriorityQueue<String> ready = new PriorityQueue<>(reverseRegistration);
+        Set<String> pending = new LinkedHashSet<>(disposableBeans.keySet());
+        for (String beanName : pending) {
+            if (remainingBlockers.get(beanName) == 0) {
+                ready.add(beanName);
+            }
+        }
+        // 正在销毁的Bean对象及其开始时间，按开始顺序排列，第一个最先超时
+        Map<String, Long> running = new LinkedHashMap<>();
+        Map<String, Future<?>> futures = new HashMap<>();
+        BlockingQueue<String> completed = new LinkedBlockingQueue<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        List<String> skipped = new ArrayList<>();
+        boolean interrupted = false;
+        ExecutorService executor = this.createExecutor();
+        try {
+            while (!pending.isEmpty() || !running.isEmpty()) {
+                while (running.size() < this.parallelism && !ready.isEmpty()) {
+                    String beanName = ready.poll();
+                    pending.remove(beanName);
+                    running.put(beanName, System.nanoTime());
+                    DisposableBean disposableBean = disposableBeans.get(beanName);
+                    futures.put(beanName, executor.submit(() -> destroyBean(beanName, disposableBean, failures, completed)));
+                }
+                if (running.isEmpty()) {
+                    // 剩余的Bean对象之间存在循环依赖，先销毁其中最后注册的一个
+                    ready.add(Collections.min(pending, reverseRegistration));
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (this.deadlineMillis > 0 && now - deadline >= 0) {
+                    break;
+                }
+                // 等待到下一个销毁完成、最早开始的销毁超时或者到达截止时间
+                long waitNanos = this.deadlineMillis > 0 ? deadline - now : Long.MAX_VALUE;
+                if (this.beanTimeoutMillis > 0) {
+                    waitNanos = Math.min(waitNanos, running.values().iterator().next() + beanTimeout - now);
+                }
+                String finished;
+                try {
+                    finished = completed.poll(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    // 关闭线程被中断时按到达截止时间处理
+                    Thread.currentThread().interrupt();
+                    interrupted = true;
+                    break;
+                }
+                List<String> done = new ArrayList<>();
+                while (finished != null) {
+                    if (running.remove(finished) != null) {
+                        done.add(finished);
+                    }
+                    finished = completed.poll();
+                }
+                // 中断超时的销毁，超时的Bean对象视为已销毁，解除对其依赖的Bean对象的阻塞
+                if (this.beanTimeoutMillis > 0) {
+                    now = System.nanoTime();
+                    for (Iterator<Map.Entry<String, Long>> iterator = running.entrySet().iterator(); iterator.hasNext(); ) {
+                        Map.Entry<String, Long> entry = iterator.next();
+                        if (now - entry.getValue() < beanTimeout) {
+                            break;
+                        }
+                        String beanName = entry.getKey();
+                        if (futures.get(beanName).cancel(true)) {
+                            failures.put(beanName, new BeansException("Destroy method on bean with name '" + beanName
+                                    + "' did not complete within " + this.beanTimeoutMillis + " ms"));
+                            iterator.remove();
+                            done.add(beanName);
+                        }
+                    }
+                }
+                for (String beanName : done) {
+                    for (String blocked : blockedBeans.getOrDefault(beanName, Collections.emptyList())) {
+                        int remaining = remainingBlockers.merge(blocked, -1, Integer::sum);
+                        if (remaining == 0 && pending.contains(blocked)) {
+                            ready.add(blocked);
+                        }
+                    }
+                }
+            }
+            if (!pending.isEmpty() || !running.isEmpty()) {
+                // 到达截止时间，中断仍在执行的销毁，尚未开始的Bean对象不再销毁
+                String reason = interrupted ? "shutdown interrupted" : "shutdown deadline of " + this.deadlineMillis + " ms exceeded";
+                for (String beanName : running.keySet()) {
+                    if (futures.get(beanName).cancel(true)) {
+                        failures.put(beanName, new BeansException("Destroy method on bean with name '" + beanName
+                                + "' was interrupted: " + reason));
+                    }
+                }
+                for (String beanName : pending) {
+                    skipped.add(beanName + " (" + reason + ")");
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        this.reportFailures(disposableBeans.keySet(), failures, skipped, System.nanoTime() - startTime);
+    }
+
+    /**
+     * 收集阻塞Bean对象（Bean的名称，可销毁的Bean的名称集合，依赖方Map）
+     * 沿着依赖方查找，遇到可销毁的Bean对象时停止，遇到不可销毁的Bean对象时继续查找其依赖方。
+     * 更远的可销毁的依赖方会阻塞找到的这些Bean对象，因此不需要直接收集。
+     *
+     * @param beanName        Bean的名称
+     * @param disposableNames 可销毁的Bean的名称集合
+     * @param dependentBeans  依赖方Map，键是Bean的名称，值是依赖它的Bean的名称集合
+     * @return 必须在该Bean对象之前销毁的可销毁的Bean的名称集合
+     */
+    private static Set<String> collectBlockingBeans(String beanName, Set<String> disposableNames, Map<String, Set<String>> dependentBeans) {
+        Set<String> blockers = new LinkedHashSet<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        visited.add(beanName);
+        queue.add(beanName);
+        while (!queue.isEmpty()) {
+            for (String dependent : dependentBeans.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (!visited.add(dependent)) {
+                    continue;
+                }
+                if (disposableNames.contains(dependent)) {
+                    blockers.add(dependent);
+                } else {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return blockers;
+    }
+
+    /**
+     * 销毁Bean（Bean的名称，可销毁的Bean对象，异常Map，已完成队列）
+     * 在销毁线程中执行，无论成功与否都会把Bean的名称放入已完成队列。
+     *
+     * @param beanName       Bean的名称
+     * @param disposableBean 可销毁的Bean对象
+     * @param failures       异常Map，销毁失败时放入异常
+     * @param completed      已完成队列
+     */
+    private static void destroyBean(String beanName, DisposableBean disposableBean, Map<String, Throwable> failures, BlockingQueue<String> completed) {
+        Object destructionEvent = ContainerEvents.beginBeanDestruction();
+        try {
+            // 销毁单例Bean对象
+            disposableBean.destroy();
+            ContainerEvents.commitBeanDestruction(destructionEvent, beanName);
+        } catch (Throwable e) {
+            failures.putIfAbsent(beanName, new BeansException("Destroy method on bean with name '" + beanName + "' threw an exception", e));
+        } finally {
+            completed.add(beanName);
+        }
+    }
+
+    /**
+     * 创建线程池
+     * 线程数量不设上限，由调用方控制同时执行的销毁数量，超时后仍未结束的线程不会占用并行度。
+     * 工作线程是守护线程，使用关闭线程的上下文类加载器。
+     *
+     * @return 线程池对象
+     */
+    private ExecutorService createExecutor() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 1, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "starsspring-destruction-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+    }
+
+    /**
+     * 报告失败（Bean的名称集合，异常Map，跳过的Bean对象，耗时）
+     * 按注册的逆序列出每个失败的Bean对象，各自的异常作为被抑制的异常附加在报告上。
+     *
+     * @param beanNames    所有可销毁的Bean的名称，按注册顺序排列
+     * @param failures     异常Map
+     * @param skipped      跳过的Bean对象及原因
+     * @param elapsedNanos 销毁耗时（纳秒）
+     * @throws BeansException 如果存在失败或者跳过的Bean对象，则抛出BeansException异常
+     */
+    private void reportFailures(Set<String> beanNames, Map<String, Throwable> failures, List<String> skipped, long elapsedNanos) throws BeansException {
+        if (failures.isEmpty() && skipped.isEmpty()) {
+            return;
+        }
+        List<String> orderedNames = new ArrayList<>(beanNames);
+        Collections.reverse(orderedNames);
+        StringBuilder report = new StringBuilder("Destruction of ").append(beanNames.size()).append(" singletons finished in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms with ")
+                .append(failures.size()).append(" failed and ").append(skipped.size()).append(" skipped");
+        List<Throwable> causes = new ArrayList<>();
+        for (String beanName : orderedNames) {
+            Throwable failure = failures.get(beanName);
+            if (failure != null) {
+                report.append("\n  ").append(failure.getMessage());
+                if (failure.getCause() != null) {
+                    report.append(": ").append(failure.getCause());
+                }
+                causes.add(failure);
+            }
+        }
+        for (String beanName : skipped) {
+            report.append("\n  Skipped bean with name ").append(beanName);
+        }
+        BeansException exception = new BeansException(report.toString());
+        causes.forEach(exception::addSuppressed);
+        throw exception;
+    }
+}
@@ -0,0 +1,178 @@
+package com.stars.starsspring.framework.beans.factory.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行单例预实例化器——类
+ * 根据实例化之前构建的Bean依赖图，在ForkJoin线程池中并发创建彼此独立的单例Bean对象。
+ * 相互循环依赖的Bean对象（强连通分量）归为同一个创建单元，在同一个线程中按顺序创建，
+ * 从而继续沿用三级缓存处理循环依赖；创建单元只有在其依赖的创建单元全部完成后才会被提交。
+ * <p>
+ * <p>
+ * 属性字段：
+ * beanFactory
+ * dependencyGraph
+ * parallelism
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ParallelSingletonPreInstantiator
+ * preInstantiate
+ * buildDependencyGraph
+ * collectSingletonDependencies
+ * createUnit
+ * createForkJoinPool
+ *
+ * @author stars
+ */
+class ParallelSingletonPreInstantiator {
+
+    // 默认列表Bean工厂对象
+    private final DefaultListableBeanFactory beanFactory;
+    // Bean依赖图对象
+    private final BeanDependencyGraph dependencyGraph;
+    // 并行度
+    private final int parallelism;
+
+    /**
+     * 有参构造函数（默认列表Bean工厂对象，Bean依赖图对象，并行度）
+     *
+     * @param beanFactory     默认列表Bean工厂对象
+     * @param dependencyGraph 根据当前Bean定义对象构建的Bean依赖图对象
+     * @param parallelism     并行度，即同时创建Bean对象的最大线程数
+     */
+    ParallelSingletonPreInstantiator(DefaultListableBeanFactory beanFactory, BeanDependencyGraph dependencyGraph, int parallelism) {
+        this.beanFactory = beanFactory;
+        this.dependencyGraph = dependencyGraph;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 预实例化（Bean的名称列表）
+     * 按依赖顺序并行创建给定的单例Bean对象，所有创建单元完成后才返回。
+     *
+     * @param beanNames 需要预实例化的单例Bean的名称列表
+     * @throws BeansException 如果任一Bean对象创建失败，则抛出BeansException异常
+     */
+    void preInstantiate(List<String> beanNames) throws BeansException {
+        Map<String, Set<String>> singletonGraph = this.buildDependencyGraph(beanNames);
+        // 相互循环依赖的Bean对象（强连通分量）归为同一个创建单元，创建单元按照依赖在前、依赖方在后的顺序排列
+        List<List<String>> units = BeanDependencyGraph.computeComponents(beanNames, singletonGraph);
+        Map<String, Integer> unitIndex = new HashMap<>();
+        for (int i = 0; i < units.size(); i++) {
+            for (String beanName : units.get(i)) {
+                unitIndex.put(beanName, i);
+            }
+        }
+        ForkJoinPool pool = this.createForkJoinPool();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(units.size());
+            for (int i = 0; i < units.size(); i++) {
+                List<String> unit = units.get(i);
+                // 收集当前创建单元所依赖的其他创建单元
+                Set<Integer> dependencyUnits = new LinkedHashSet<>();
+                for (String beanName : unit) {
+                    for (String dependency : singletonGraph.get(beanName)) {
+                        int index = unitIndex.get(dependency);
+                        if (index != i) {
+                            dependencyUnits.add(index);
+                        }
+                    }
+                }
+                CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencyUnits.size()];
+                int j = 0;
+                for (Integer index : dependencyUnits) {
+                    dependencyFutures[j++] = futures.get(index);
+                }
+                // 依赖单元全部完成后再提交当前单元，任一依赖失败则当前单元不再执行
+                futures.add(CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> this.createUnit(unit), pool));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BeansException) {
+                throw (BeansException) cause;
+            }
+            throw new BeansException("Parallel pre-instantiation of singletons failed", cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 构建依赖图（Bean的名称列表）
+     * 计算每个待预实例化的单例Bean对象所依赖的其他待预实例化的单例Bean对象。
+     *
+     * @param beanNames 需要预实例化的单例Bean的名称列表
+     * @return 依赖图，键是Bean的名称，值是其依赖的Bean的名称集合
+     */
+    private Map<String, Set<String>> buildDependencyGraph(List<String> beanNames) {
+        Set<String> candidates = new HashSet<>(beanNames);
+        Map<String, Set<String>> dependencyGraph = new HashMap<>();
+        for (String beanName : beanNames) {
+            Set<String> dependencies = new LinkedHashSet<>();
+            this.collectSingletonDependencies(beanName, candidates, dependencies, new HashSet<>());
+            dependencies.remove(beanName);
+            dependencyGraph.put(beanName, dependencies);
+        }
+        return dependencyGraph;
+    }
+
+    /**
+     * 收集单例依赖（Bean的名称，候选Bean的名称集合，依赖集合，已访问集合）
+     * 非候选的Bean对象（例如原型Bean对象、延迟初始化的单例Bean对象）会在依赖方创建时被一并创建，因此需要穿透它们继续收集其依赖。
+     *
+     * @param beanName     当前Bean的名称
+     * @param candidates   需要预实例化的单例Bean的名称集合
+     * @param dependencies 收集到的依赖集合
+     * @param visited      已访问的Bean的名称集合，防止原型Bean对象之间的循环
+     */
+    private void collectSingletonDependencies(String beanName, Set<String> candidates, Set<String> dependencies, Set<String> visited) {
+        for (String dependency : this.dependencyGraph.getDependencies(beanName)) {
+            if (candidates.contains(dependency)) {
+                dependencies.add(dependency);
+            } else if (visited.add(dependency)) {
+                this.collectSingletonDependencies(dependency, candidates, dependencies, visited);
+            }
+        }
+    }
+
+    /**
+     * 创建单元（创建单元）
+     * 在当前线程中按顺序创建创建单元中的所有Bean对象。
+     *
+     * @param unit 创建单元，即一组需要在同一线程中创建的Bean的名称
+     */
+    private void createUnit(List<String> unit) {
+        for (String beanName : unit) {
+            this.beanFactory.getBean(beanName);
+        }
+    }
+
+    /**
+     * 创建ForkJoin线程池
+     * 工作线程使用Bean工厂对象的类加载器作为上下文类加载器。
+     *
+     * @return ForkJoin线程池对象
+     */
+    private ForkJoinPool createForkJoinPool() {
+        ClassLoader beanClassLoader = this.beanFactory.getBeanClassLoader();
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ForkJoinPool(this.parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("starsspring-pre-instantiation-" + threadNumber.incrementAndGet());
+            thread.setContextClassLoader(beanClassLoader);
+            return thread;
+        }, null, false);
+    }
+}
@@ -40,8 +40,8 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
         Class clazz = beanDefinition.getBeanClass();
         try {
             if (ctor != null) {
-                // 使用指定构造函数实例化对象
-                return clazz.getDeclaredConstructor(ctor.getParameterTypes()).newInstance(args);
+                // 直接使用已解析的构造函数实例化对象
+                return ctor.newInstance(args);
             } else {
                 // 使用默认构造函数实例化对象
                 return clazz.getDeclaredConstructor().newInstance();
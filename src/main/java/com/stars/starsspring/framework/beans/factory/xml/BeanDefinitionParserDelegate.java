@@ -0,0 +1,126 @@
+package com.stars.starsspring.framework.beans.factory.xml;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.PropertyValue;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import com.stars.starsspring.framework.beans.factory.config.BeanReference;
+import cn.hutool.core.util.StrUtil;
+
+import java.util.function.Function;
+
+/**
+ * Bean定义解析委托——类
+ * 把bean、property和component-scan元素的属性解析为Bean定义对象、属性值对象和扫描包路径。
+ * 元素的属性通过“属性名到属性值”的函数传入，DOM读取器和流式读取器共用同一套解析规则。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * BeanDefinitionParserDelegate
+ * parseBeanDefinition
+ * determineBeanName
+ * parsePropertyValue
+ * parseScanPath
+ *
+ * @author stars
+ */
+final class BeanDefinitionParserDelegate {
+
+    private BeanDefinitionParserDelegate() {
+    }
+
+    /**
+     * 解析Bean定义（bean元素的属性）
+     * 不包含property子元素，属性值由调用方逐个添加。
+     *
+     * @param attributes bean元素的属性，属性不存在时返回null
+     * @return Bean定义对象
+     * @throws ClassNotFoundException 如果找不到对应的类，则抛出ClassNotFoundException异常
+     */
+    static BeanDefinition parseBeanDefinition(Function<String, String> attributes) throws ClassNotFoundException {
+        // 解析bean元素中的属性
+        String className = attributes.apply("class");
+        String initMethod = attributes.apply("init-method");
+        String destroyMethodName = attributes.apply("destroy-method");
+        String beanScope = attributes.apply("scope");
+        String lazyInit = attributes.apply("lazy-init");
+        String poolMaxSize = attributes.apply("pool-max-size");
+        String poolMinIdle = attributes.apply("pool-min-idle");
+        String poolMaxIdleTime = attributes.apply("pool-max-idle-time");
+        // 获取Bean对象对应的Class对象，用于进一步创建Bean定义对象
+        Class<?> clazz = Class.forName(className);
+        // 创建Bean定义对象
+        BeanDefinition beanDefinition = new BeanDefinition(clazz, null);
+        beanDefinition.setInitMethodName(initMethod);
+        beanDefinition.setDestroyMethodName(destroyMethodName);
+        if (StrUtil.isNotEmpty(beanScope)) {
+            beanDefinition.setScope(beanScope);
+        }
+        if (StrUtil.isNotEmpty(lazyInit)) {
+            beanDefinition.setLazyInit(Boolean.parseBoolean(lazyInit));
+        }
+        // 实例池配置仅对池化范围的Bean对象生效
+        if (StrUtil.isNotEmpty(poolMaxSize)) {
+            beanDefinition.setPoolMaxSize(Integer.parseInt(poolMaxSize));
+        }
+        if (StrUtil.isNotEmpty(poolMinIdle)) {
+            beanDefinition.setPoolMinIdle(Integer.parseInt(poolMinIdle));
+        }
+        if (StrUtil.isNotEmpty(poolMaxIdleTime)) {
+            beanDefinition.setPoolMaxIdleTime(Long.parseLong(poolMaxIdleTime));
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * 确定Bean名称（bean元素的属性，Bean定义对象）
+     * 选择Bean的名称，优先级：id > name > 简单类名首字母小写。
+     *
+     * @param attributes     bean元素的属性，属性不存在时返回null
+     * @param beanDefinition 解析得到的Bean定义对象
+     * @return Bean对象的名称
+     */
+    static String determineBeanName(Function<String, String> attributes, BeanDefinition beanDefinition) {
+        String id = attributes.apply("id");
+        String name = attributes.apply("name");
+        return StrUtil.isNotEmpty(id) ? id
+                : (StrUtil.isNotEmpty(name) ? name : StrUtil.lowerFirst(beanDefinition.getBeanClass().getSimpleName()));
+    }
+
+    /**
+     * 解析属性值（property元素的属性）
+     *
+     * @param attributes property元素的属性，属性不存在时返回null
+     * @return 属性值对象，ref属性优先于value属性
+     */
+    static PropertyValue parsePropertyValue(Function<String, String> attributes) {
+        String attrName = attributes.apply("name");
+        String attrValue = attributes.apply("value");
+        String attrRef = attributes.apply("ref");
+        // 根据属性类型选择值对象，可以是引用对象或者基本类型的值
+        Object value = StrUtil.isNotEmpty(attrRef) ? new BeanReference(attrRef) : attrValue;
+        // 创建属性值对象
+        return new PropertyValue(attrName, value);
+    }
+
+    /**
+     * 解析扫描路径（component-scan元素的属性）
+     *
+     * @param attributes component-scan元素的属性，属性不存在时返回null
+     * @return base-package属性的值
+     * @throws BeansException 如果base-package属性为空，则抛出BeansException异常
+     */
+    static String parseScanPath(Function<String, String> attributes) throws BeansException {
+        // 获取属性扫描路径
+        String scanPath = attributes.apply("base-package");
+        if (StrUtil.isEmpty(scanPath)) {
+            throw new BeansException("The value of base-package attribute can not be empty or null");
+        }
+        return scanPath;
+    }
+}
@@ -0,0 +1,283 @@
+package com.stars.starsspring.framework.beans.factory.xml;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import com.stars.starsspring.framework.beans.factory.support.AbstractBeanDefinitionReader;
+import com.stars.starsspring.framework.beans.factory.support.BeanDefinitionRegistry;
+import com.stars.starsspring.framework.context.annotation.ClassPathBeanDefinitionScanner;
+import com.stars.starsspring.framework.core.io.Resource;
+import com.stars.starsspring.framework.core.io.ResourceLoader;
+import cn.hutool.core.util.StrUtil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 流式XmlBean定义读取器——类
+ * 基于javax.xml.stream逐个读取XML事件，不构建整个文档树，读到bean元素的结束标签时立即注册该Bean定义对象，
+ * 内存占用与配置文件大小无关，适用于生成的超大配置文件。
+ * 支持的元素和属性与XmlBeanDefinitionReader相同：根元素下的第一个component-scan元素，以及根元素下的bean元素
+ * （id、name、class、init-method、destroy-method、scope、lazy-init、pool-max-size、pool-min-idle、pool-max-idle-time）
+ * 和bean元素下的property元素（name、value、ref）。
+ * <p>
+ * XmlBeanDefinitionReader总是先执行component-scan扫描，再注册bean元素；component-scan出现在bean元素之后时，
+ * 本读取器在扫描时检查扫描结果是否与本资源中之前注册的bean元素重名，重名时同样抛出异常，因此两种读取器的结果相同。
+ * 只有component-scan之前的Bean名称需要记录，component-scan位于开头时不记录任何名称。
+ * <p>
+ * <p>
+ * 属性字段：
+ * inputFactory
+ * scannedPackages
+ * <p>
+ * 重写方法：
+ * loadBeanDefinitions
+ * loadBeanDefinitions
+ * loadBeanDefinitions
+ * loadBeanDefinitions
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * StaxXmlBeanDefinitionReader
+ * StaxXmlBeanDefinitionReader
+ * getScannedPackages
+ * doLoadBeanDefinitions
+ * registerBeanDefinition
+ * scanPackage
+ * attributes
+ *
+ * @author stars
+ */
+public class StaxXmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
+
+    // XML输入工厂对象
+    private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+    // 已扫描的包名集合，按扫描顺序排列
+    private final Set<String> scannedPackages = new LinkedHashSet<>();
+
+    /**
+     * 有参构造函数（Bean定义注册表对象）
+     *
+     * @param registry Bean定义注册表对象，用于注册Bean定义对象
+     */
+    public StaxXmlBeanDefinitionReader(BeanDefinitionRegistry registry) {
+        super(registry);
+    }
+
+    /**
+     * 有参构造函数（Bean定义注册表对象，资源加载器对象）
+     *
+     * @param registry       Bean定义注册表对象，用于注册Bean定义对象
+     * @param resourceLoader 资源加载器对象，用于加载Bean对象配置资源
+     */
+    public StaxXmlBeanDefinitionReader(BeanDefinitionRegistry registry, ResourceLoader resourceLoader) {
+        super(registry, resourceLoader);
+    }
+
+    /**
+     * 加载Bean定义（资源对象）
+     * 从单个资源中流式加载Bean定义对象。
+     *
+     * @param resource Bean对象配置资源
+     * @throws BeansException 如果加载过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public void loadBeanDefinitions(Resource resource) throws BeansException {
+        try {
+            try (InputStream inputStream = resource.getInputStream()) {
+                this.doLoadBeanDefinitions(inputStream);
+            }
+        } catch (IOException | ClassNotFoundException | XMLStreamException e) {
+            throw new BeansException("IOException parsing XML document from " + resource, e);
+        } catch (BeansException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BeansException("Invalid bean definition in XML document from " + resource, e);
+        }
+    }
+
+    /**
+     * 加载Bean定义（资源数组）
+     * 按声明顺序逐个流式加载，同一时间只有一个资源在读取。
+     *
+     * @param resources Bean对象配置资源数组
+     * @throws BeansException 如果加载过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public void loadBeanDefinitions(Resource... resources) throws BeansException {
+        for (Resource resource : resources) {
+            this.loadBeanDefinitions(resource);
+        }
+    }
+
+    /**
+     * 加载Bean定义（资源位置）
+     * 从单个指定位置的资源中加载Bean定义对象。
+     *
+     * @param location 资源位置
+     * @throws BeansException 如果加载过程中发生错误，则抛出BeansException异常
+     */
+    @Override
+    public void loadBeanDefinitions(String location) throws BeansException {
+        this.loadBeanDefinitions(this.getResourceLoader().getResource(location));
+    }
+
+    /**
+     * 加载Bean定义（资源位置数组）
+     * 从多个指定位置的资源中加载Bean定义对象。
+     *
+     * @param locations 资源位置数组
+     * @throws BeansException 如果加载过程中发生错误，则抛出BeansException异常
+     */
+    @Override
+    public void loadBeanDefinitions(String... locations) throws BeansException {
+        for (String location : locations) {
+            this.loadBeanDefinitions(location);
+        }
+    }
+
+    /**
+     * 获取已扫描的包
+     * 包括所有已加载资源中component-scan标签声明的包，Bean定义快照用它们判断扫描结果是否仍然有效。
+     *
+     * @return 已扫描的包名集合
+     */
+    public Set<String> getScannedPackages() {
+        return Collections.unmodifiableSet(scannedPackages);
+    }
+
+    /**
+     * 真正加载Bean定义（输入流对象）
+     * 逐个读取XML事件：bean元素的开始标签创建Bean定义对象，property元素添加属性值，bean元素的结束标签注册Bean定义对象。
+     * 任何时刻只保留当前正在读取的一个Bean定义对象。
+     *
+     * @param inputStream 包含Bean配置的输入流对象
+     * @throws ClassNotFoundException 如果找不到对应的类，则抛出ClassNotFoundException异常
+     * @throws XMLStreamException     如果XML解析过程中出现异常，则抛出XMLStreamException异常
+     */
+    protected void doLoadBeanDefinitions(InputStream inputStream) throws ClassNotFoundException, XMLStreamException {
+        XMLStreamReader reader = this.inputFactory.createXMLStreamReader(inputStream);
+        try {
+            Function<String, String> attributes = attributes(reader);
+            // 当前元素的深度，根元素为1
+            int depth = 0;
+            // component-scan之前注册的Bean名称，处理完component-scan后置为null
+            Set<String> beanNamesBeforeScan = new HashSet<>();
+            boolean componentScanRead = false;
+            // 当前正在读取的bean元素
+            String beanName = null;
+            BeanDefinition beanDefinition = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String elementName = reader.getLocalName();
+                    if (depth == 2 && "bean".equals(elementName)) {
+                        beanDefinition = BeanDefinitionParserDelegate.parseBeanDefinition(attributes);
+                        beanName = BeanDefinitionParserDelegate.determineBeanName(attributes, beanDefinition);
+                    } else if (depth == 3 && beanDefinition != null && "property".equals(elementName)) {
+                        beanDefinition.getPropertyValues().addPropertyValue(
+                                BeanDefinitionParserDelegate.parsePropertyValue(attributes));
+                    } else if (depth == 2 && !componentScanRead && "component-scan".equals(elementName)) {
+                        // 与XmlBeanDefinitionReader一致，只处理第一个component-scan元素
+                        componentScanRead = true;
+                        this.scanPackage(BeanDefinitionParserDelegate.parseScanPath(attributes), beanNamesBeforeScan);
+                        beanNamesBeforeScan = null;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == 2 && beanDefinition != null) {
+                        this.registerBeanDefinition(beanName, beanDefinition);
+                        if (beanNamesBeforeScan != null) {
+                            beanNamesBeforeScan.add(beanName);
+                        }
+                        beanName = null;
+                        beanDefinition = null;
+                    }
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 注册Bean定义（Bean名称，Bean定义对象）
+     *
+     * @param beanName       Bean名称
+     * @param beanDefinition Bean定义对象
+     * @throws BeansException 如果存在相同名称的Bean定义对象，则抛出BeansException异常
+     */
+    private void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        // 检查是否已经存在相同名称的Bean定义对象
+        if (this.getRegistry().containsBeanDefinition(beanName)) {
+            throw new BeansException("Duplicate beanName[" + beanName + "] is not allowed");
+        }
+        // 注册Bean定义对象到Bean定义注册表对象中
+        this.getRegistry().registerBeanDefinition(beanName, beanDefinition);
+    }
+
+    /**
+     * 包扫描器（扫描路径，本资源中已注册的Bean名称）
+     * 扫描指定包路径中的类文件，并将符合条件的类注册为Bean定义对象。
+     *
+     * @param scanPath            要扫描的包路径，可以包含多个路径，以逗号分隔
+     * @param beanNamesBeforeScan 本资源中在component-scan之前注册的Bean名称
+     * @throws BeansException 如果扫描到的组件与这些Bean名称重名，则抛出BeansException异常
+     */
+    private void scanPackage(String scanPath, Set<String> beanNamesBeforeScan) throws BeansException {
+        // 将逗号分隔的多个包路径拆分成数组
+        String[] basePackages = StrUtil.splitToArray(scanPath, ',');
+        Collections.addAll(this.scannedPackages, basePackages);
+        BeanDefinitionRegistry registry = this.getRegistry();
+        if (!beanNamesBeforeScan.isEmpty()) {
+            // XmlBeanDefinitionReader先扫描再注册bean元素，这些名称会在注册bean元素时被判定为重名
+            BeanDefinitionRegistry target = registry;
+            registry = new BeanDefinitionRegistry() {
+                @Override
+                public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
+                    if (beanNamesBeforeScan.contains(beanName)) {
+                        throw new BeansException("Duplicate beanName[" + beanName + "] is not allowed");
+                    }
+                    target.registerBeanDefinition(beanName, beanDefinition);
+                }
+
+                @Override
+                public BeanDefinition getBeanDefinition(String beanName) throws BeansException {
+                    return target.getBeanDefinition(beanName);
+                }
+
+                @Override
+                public boolean containsBeanDefinition(String beanName) {
+                    return target.containsBeanDefinition(beanName);
+                }
+
+                @Override
+                public String[] getBeanDefinitionNames() {
+                    return target.getBeanDefinitionNames();
+                }
+            };
+        }
+        // 创建类路径Bean定义扫描器，用于扫描并注册Bean定义对象
+        new ClassPathBeanDefinitionScanner(registry).doScan(basePackages);
+    }
+
+    /**
+     * 属性（XML流读取器对象）
+     *
+     * @param reader XML流读取器对象
+     * @return 读取当前元素属性的函数，属性不存在时返回null
+     */
+    private static Function<String, String> attributes(XMLStreamReader reader) {
+        return name -> reader.getAttributeValue(null, name);
+    }
+}
@@ -1,9 +1,7 @@
 package com.stars.starsspring.framework.beans.factory.xml;
 
 import com.stars.starsspring.framework.beans.BeansException;
-import com.stars.starsspring.framework.beans.PropertyValue;
 import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
-import com.stars.starsspring.framework.beans.factory.config.BeanReference;
 import com.stars.starsspring.framework.beans.factory.support.AbstractBeanDefinitionReader;
 import com.stars.starsspring.framework.beans.factory.support.BeanDefinitionRegistry;
 import com.stars.starsspring.framework.context.annotation.ClassPathBeanDefinitionScanner;
@@ -17,14 +15,23 @@ import org.dom4j.io.SAXReader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * XmlBean定义读取器——类
  * 用于从XML文件中读取并加载Bean定义对象的读取器。
+ * 加载多个资源时默认并发解析，再按声明顺序注册。
  * <p>
  * <p>
  * 属性字段：
+ * scannedPackages
+ * parallelParsing
  * <p>
  * 重写方法：
  * loadBeanDefinitions
@@ -37,13 +44,24 @@ import java.util.List;
  * 编写方法：
  * XmlBeanDefinitionReader
  * XmlBeanDefinitionReader
+ * getScannedPackages
+ * isParallelParsing
+ * setParallelParsing
  * doLoadBeanDefinitions
+ * parseResource
+ * parseBeanDefinitions
+ * registerBeanDefinitions
  * scanPackage
  *
  * @author stars
  */
 public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 
+    // 已扫描的包名集合，按扫描顺序排列
+    private final Set<String> scannedPackages = new LinkedHashSet<>();
+    // 加载多个资源时是否并发解析
+    private boolean parallelParsing = true;
+
     /**
      * 有参构造函数（Bean定义注册表对象）
      *
@@ -73,27 +91,41 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
      */
     @Override
     public void loadBeanDefinitions(Resource resource) throws BeansException {
-        try {
-            try (InputStream inputStream = resource.getInputStream()) {
-                this.doLoadBeanDefinitions(inputStream);
-            }
-        } catch (IOException | ClassNotFoundException | DocumentException e) {
-            throw new BeansException("IOException parsing XML document from " + resource, e);
-        }
+        this.registerBeanDefinitions(this.parseResource(resource));
     }
 
     /**
      * 加载Bean定义（资源数组）
      * 从多个资源中加载Bean定义对象。
+     * 开启并行解析且有多个资源时，先并发解析所有资源，再按声明顺序逐个注册，重名检测和覆盖的结果与逐个加载相同。
+     * 某个资源解析失败时，注册它之前的资源，然后抛出该资源的异常；多个资源失败时报告声明顺序中的第一个。
      *
      * @param resources Bean对象配置资源数组
      * @throws BeansException 如果加载过程中出现异常，则抛出BeansException异常
      */
     @Override
     public void loadBeanDefinitions(Resource... resources) throws BeansException {
-        // 循环调用从单个资源中加载Bean定义对象的方法
-        for (Resource resource : resources) {
-            this.loadBeanDefinitions(resource);
+        if (!this.parallelParsing || resources.length < 2) {
+            // 循环调用从单个资源中加载Bean定义对象的方法
+            for (Resource resource : resources) {
+                this.loadBeanDefinitions(resource);
+            }
+            return;
+        }
+        // 并发解析，解析结果或异常按资源的声明顺序排列
+        List<Object> results = Arrays.stream(resources).parallel().map(resource -> {
+            try {
+                return (Object) this.parseResource(resource);
+            } catch (BeansException e) {
+                return e;
+            }
+        }).collect(Collectors.toList());
+        // 按声明顺序注册
+        for (Object result : results) {
+            if (result instanceof BeansException) {
+                throw (BeansException) result;
+            }
+            this.registerBeanDefinitions((ParsedBeanDefinitions) result);
         }
     }
 
@@ -120,10 +152,30 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
      */
     @Override
     public void loadBeanDefinitions(String... locations) throws BeansException {
-        // 循环调用从单个指定位置加载Bean定义对象的方法
-        for (String location : locations) {
-            this.loadBeanDefinitions(location);
+        ResourceLoader resourceLoader = getResourceLoader();
+        Resource[] resources = new Resource[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            resources[i] = resourceLoader.getResource(locations[i]);
         }
+        this.loadBeanDefinitions(resources);
+    }
+
+    /**
+     * 获取已扫描的包
+     * 包括所有已加载资源中component-scan标签声明的包，Bean定义快照用它们判断扫描结果是否仍然有效。
+     *
+     * @return 已扫描的包名集合
+     */
+    public Set<String> getScannedPackages() {
+        return Collections.unmodifiableSet(scannedPackages);
+    }
+
+    public boolean isParallelParsing() {
+        return parallelParsing;
+    }
+
+    public void setParallelParsing(boolean parallelParsing) {
+        this.parallelParsing = parallelParsing;
     }
 
     /**
@@ -135,6 +187,40 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
      * @throws DocumentException      如果XML解析过程中出现异常，则抛出DocumentException异常
      */
     protected void doLoadBeanDefinitions(InputStream inputStream) throws ClassNotFoundException, DocumentException {
+        this.registerBeanDefinitions(this.parseBeanDefinitions(inputStream));
+    }
+
+    /**
+     * 解析资源（资源对象）
+     * 解析过程不访问Bean定义注册表，可以在多个线程中同时解析不同的资源。
+     *
+     * @param resource Bean对象配置资源
+     * @return 解析得到的Bean定义集合
+     * @throws BeansException 如果读取或解析资源失败，则抛出带有资源信息的BeansException异常
+     */
+    private ParsedBeanDefinitions parseResource(Resource resource) throws BeansException {
+        try {
+            try (InputStream inputStream = resource.getInputStream()) {
+                return this.parseBeanDefinitions(inputStream);
+            }
+        } catch (IOException | ClassNotFoundException | DocumentException e) {
+            throw new BeansException("IOException parsing XML document from " + resource, e);
+        } catch (RuntimeException e) {
+            throw new BeansException("Invalid bean definition in XML document from " + resource, e);
+        }
+    }
+
+    /**
+     * 解析Bean定义（输入流对象）
+     * 从输入流中读取XML配置，解析为按声明顺序排列的Bean定义对象，不注册到Bean定义注册表对象中。
+     *
+     * @param inputStream 包含Bean配置的输入流对象
+     * @return 解析得到的Bean定义集合
+     * @throws ClassNotFoundException 如果找不到对应的类，则抛出ClassNotFoundException异常
+     * @throws DocumentException      如果XML解析过程中出现异常，则抛出DocumentException异常
+     */
+    private ParsedBeanDefinitions parseBeanDefinitions(InputStream inputStream) throws ClassNotFoundException, DocumentException {
+        ParsedBeanDefinitions parsed = new ParsedBeanDefinitions();
         // 创建SAXReader对象，用于XML解析
         SAXReader reader = new SAXReader();
         // 解析XML文档
@@ -144,54 +230,48 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
         // 解析context:component-scan标签，扫描指定包中的类并提取相关信息，用于创建Bean定义对象
         Element componentScan = root.element("component-scan");
         if (componentScan != null) {
-            // 获取属性扫描路径
-            String scanPath = componentScan.attributeValue("base-package");
-            if (StrUtil.isEmpty(scanPath)) {
-                throw new BeansException("The value of base-package attribute can not be empty or null");
-            }
-            // 根据扫描路径执行扫描
-            this.scanPackage(scanPath);
+            // 扫描会注册Bean定义对象，推迟到注册阶段执行
+            parsed.scanPath = BeanDefinitionParserDelegate.parseScanPath(componentScan::attributeValue);
         }
         // 获取所有bean元素放入List集合中
         List<Element> beanList = root.elements("bean");
         for (Element bean : beanList) {
-            // 解析bean元素中的属性
-            String id = bean.attributeValue("id");
-            String name = bean.attributeValue("name");
-            String className = bean.attributeValue("class");
-            String initMethod = bean.attributeValue("init-method");
-            String destroyMethodName = bean.attributeValue("destroy-method");
-            String beanScope = bean.attributeValue("scope");
-            // 获取Bean对象对应的Class对象，用于进一步创建Bean定义对象
-            Class<?> clazz = Class.forName(className);
-            // 选择Bean的名称，优先级：id > name > 简单类名首字母小写
-            String beanName = StrUtil.isNotEmpty(id) ? id : (StrUtil.isNotEmpty(name) ? name : StrUtil.lowerFirst(clazz.getSimpleName()));
-            // 创建Bean定义对象
-            BeanDefinition beanDefinition = new BeanDefinition(clazz, null);
-            beanDefinition.setInitMethodName(initMethod);
-            beanDefinition.setDestroyMethodName(destroyMethodName);
-            if (StrUtil.isNotEmpty(beanScope)) {
-                beanDefinition.setScope(beanScope);
-            }
+            // 解析bean元素中的属性并创建Bean定义对象
+            BeanDefinition beanDefinition = BeanDefinitionParserDelegate.parseBeanDefinition(bean::attributeValue);
+            String beanName = BeanDefinitionParserDelegate.determineBeanName(bean::attributeValue, beanDefinition);
             // 解析bean元素中的property子元素，用于读取Bean对象的属性信息
             List<Element> propertyList = bean.elements("property");
             // 遍历属性并填充Bean定义对象
             for (Element property : propertyList) {
-                String attrName = property.attributeValue("name");
-                String attrValue = property.attributeValue("value");
-                String attrRef = property.attributeValue("ref");
-                // 根据属性类型选择值对象，可以是引用对象或者基本类型的值
-                Object value = StrUtil.isNotEmpty(attrRef) ? new BeanReference(attrRef) : attrValue;
-                // 创建属性值对象
-                PropertyValue propertyValue = new PropertyValue(attrName, value);
-                beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
+                beanDefinition.getPropertyValues().addPropertyValue(
+                        BeanDefinitionParserDelegate.parsePropertyValue(property::attributeValue));
             }
+            parsed.beanNames.add(beanName);
+            parsed.beanDefinitions.add(beanDefinition);
+        }
+        return parsed;
+    }
+
+    /**
+     * 注册Bean定义（解析得到的Bean定义集合）
+     * 先执行component-scan扫描，再按声明顺序注册bean元素对应的Bean定义对象。
+     *
+     * @param parsed 解析得到的Bean定义集合
+     * @throws BeansException 如果存在相同名称的Bean定义对象，则抛出BeansException异常
+     */
+    private void registerBeanDefinitions(ParsedBeanDefinitions parsed) throws BeansException {
+        if (parsed.scanPath != null) {
+            // 根据扫描路径执行扫描
+            this.scanPackage(parsed.scanPath);
+        }
+        for (int i = 0; i < parsed.beanNames.size(); i++) {
+            String beanName = parsed.beanNames.get(i);
             // 检查是否已经存在相同名称的Bean定义对象
             if (this.getRegistry().containsBeanDefinition(beanName)) {
                 throw new BeansException("Duplicate beanName[" + beanName + "] is not allowed");
             }
             // 注册Bean定义对象到Bean定义注册表对象中
-            this.getRegistry().registerBeanDefinition(beanName, beanDefinition);
+            this.getRegistry().registerBeanDefinition(beanName, parsed.beanDefinitions.get(i));
         }
     }
 
@@ -204,9 +284,26 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
     private void scanPackage(String scanPath) {
         // 将逗号分隔的多个包路径拆分成数组
         String[] basePackages = StrUtil.splitToArray(scanPath, ',');
+        for (String basePackage : basePackages) {
+            this.scannedPackages.add(basePackage);
+        }
         // 创建类路径Bean定义扫描器，用于扫描并注册Bean定义对象
         ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(this.getRegistry());
         // 执行扫描
         scanner.doScan(basePackages);
     }
+
+    /**
+     * 解析得到的Bean定义集合——类
+     * 一个XML资源解析后、注册前的中间结果。
+     */
+    private static final class ParsedBeanDefinitions {
+
+        // component-scan标签的base-package属性，没有该标签时为null
+        private String scanPath;
+        // bean元素对应的Bean名称，按声明顺序排列
+        private final List<String> beanNames = new ArrayList<>();
+        // bean元素对应的Bean定义对象，与Bean名称一一对应
+        private final List<BeanDefinition> beanDefinitions = new ArrayList<>();
+    }
 }
@@ -1,6 +1,7 @@
 package com.stars.starsspring.framework.context;
 
 import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.core.metrics.ApplicationStartup;
 
 /**
  * 配置应用上下文——接口
@@ -14,6 +15,9 @@ import com.stars.starsspring.framework.beans.BeansException;
  * <p>
  * 定义方法：
  * refresh
+ * releaseBean
+ * setApplicationStartup
+ * getApplicationStartup
  * registerShutdownHook
  * close
  * <p>
@@ -31,6 +35,31 @@ public interface ConfigurableApplicationContext extends ApplicationContext {
      */
     void refresh() throws BeansException;
 
+    /**
+     * 归还Bean对象（Bean的名称，Bean对象）
+     * 将通过getBean借出的池化Bean对象归还到实例池，以便后续请求复用。
+     *
+     * @param name Bean的名称
+     * @param bean 要归还的池化Bean对象
+     * @throws BeansException 如果该Bean对象不是池化范围，或者销毁过程中出现异常，则抛出BeansException异常
+     */
+    void releaseBean(String name, Object bean) throws BeansException;
+
+    /**
+     * 设置应用启动（应用启动对象）
+     * 需要在刷新之前设置，刷新时会传递给Bean工厂对象，用于记录刷新各个阶段和每个Bean对象各个创建阶段的耗时。
+     *
+     * @param applicationStartup 应用启动对象
+     */
+    void setApplicationStartup(ApplicationStartup applicationStartup);
+
+    /**
+     * 获取应用启动
+     *
+     * @return 与该应用上下文关联的应用启动对象
+     */
+    ApplicationStartup getApplicationStartup();
+
     /**
      * 注册关闭挂钩
      * 注册一个JVM关闭挂钩，以确保在JVM关闭时关闭应用程序上下文。
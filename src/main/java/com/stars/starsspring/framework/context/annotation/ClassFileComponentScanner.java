@@ -0,0 +1,322 @@
+package com.stars.starsspring.framework.context.annotation;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.context.index.CandidateComponentsIndex;
+import com.stars.starsspring.framework.core.type.classreading.ClassMetadata;
+import com.stars.starsspring.framework.core.type.classreading.ClassMetadataReader;
+import com.stars.starsspring.framework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 类文件组件扫描器——类
+ * 遍历基础包对应的目录和jar包，直接读取类文件字节判断是否标注了@Component，不加载任何类。
+ * 各个目录和jar包并行扫描，每个目录或jar包中的类文件也并行读取和解析。
+ * 扫描结果与组件索引条目的格式相同，由ClassPathScanningCandidateComponentProvider只对候选类调用Class.forName。
+ * 基础包通过ClassLoader.getResources查找，jar包中需要包含目录条目才能被找到（常规构建工具打包的jar包都包含）。
+ * 设置了组件扫描缓存时，只重新读取上次扫描之后发生变化的jar包和类文件。
+ * <p>
+ * <p>
+ * 属性字段：
+ * CLASS_FILE_SUFFIX
+ * classLoader
+ * scanCache
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ClassFileComponentScanner
+ * scan
+ * scanDirectory
+ * scanJar
+ * components
+ * createEntry
+ * attributeValue
+ * readAllBytes
+ * toPath
+ *
+ * @author stars
+ */
+final class ClassFileComponentScanner {
+
+    // 类文件后缀
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    // 用于查找基础包资源的类加载器
+    private final ClassLoader classLoader;
+    // 组件扫描缓存对象，为null时不使用缓存
+    private final ComponentScanCache scanCache;
+
+    /**
+     * 有参构造函数（类加载器，组件扫描缓存对象）
+     *
+     * @param classLoader 用于查找基础包资源的类加载器
+     * @param scanCache   组件扫描缓存对象，为null时不使用缓存
+     */
+    ClassFileComponentScanner(ClassLoader classLoader, ComponentScanCache scanCache) {
+        this.classLoader = classLoader;
+        this.scanCache = scanCache;
+    }
+
+    /**
+     * 扫描（基础包名）
+     * 与类路径扫描一致，同时包含基础包及其子包中的组件。同名的类只保留类加载器先找到的那一个。
+     *
+     * @param basePackage 扫描的基础包名
+     * @return 基础包中组件类的索引条目，按类名排序
+     * @throws BeansException 如果读取目录、jar包或类文件失败，则抛出BeansException异常
+     */
+    List<CandidateComponentsIndex.Entry> scan(String basePackage) throws BeansException {
+        String packagePath = basePackage.replace('.', '/');
+        List<URL> roots = new ArrayList<>();
+        try {
+            Enumeration<URL> urls = this.classLoader.getResources(packagePath);
+            while (urls.hasMoreElements()) {
+                roots.add(urls.nextElement());
+            }
+        } catch (IOException e) {
+            throw new BeansException("Failed to resolve classpath roots for package '" + basePackage + "'", e);
+        }
+        List<List<CandidateComponentsIndex.Entry>> results = roots.parallelStream().map(root -> {
+            if ("file".equals(root.getProtocol())) {
+                return this.scanDirectory(toPath(root));
+            }
+            if ("jar".equals(root.getProtocol())) {
+                try {
+                    return this.scanJar(toPath(((JarURLConnection) root.openConnection()).getJarFileURL()), packagePath);
+                } catch (IOException e) {
+                    throw new BeansException("Failed to open " + root, e);
+                }
+            }
+            // 其他协议的类路径资源无法遍历
+            return new ArrayList<CandidateComponentsIndex.Entry>();
+        }).collect(Collectors.toList());
+        Map<String, CandidateComponentsIndex.Entry> entries = new TreeMap<>();
+        for (List<CandidateComponentsIndex.Entry> result : results) {
+            for (CandidateComponentsIndex.Entry entry : result) {
+                entries.putIfAbsent(entry.getClassName(), entry);
+            }
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * 扫描目录（包目录）
+     * 有扫描缓存时，大小和修改时间都没有变化的类文件直接使用缓存的结果，不再读取。
+     *
+     * @param directory 基础包对应的目录
+     * @return 目录及其子目录中组件类的索引条目
+     * @throws BeansException 如果读取目录或类文件失败，则抛出BeansException异常
+     */
+    private List<CandidateComponentsIndex.Entry> scanDirectory(Path directory) throws BeansException {
+        String rootKey = "dir:" + directory.toAbsolutePath();
+        ComponentScanCache.RootScan cached = this.scanCache != null ? this.scanCache.load(rootKey) : null;
+        Map<String, ComponentScanCache.ClassFileRecord> cachedFiles = cached != null
+                ? cached.getClassFiles() : Collections.<String, ComponentScanCache.ClassFileRecord>emptyMap();
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            classFiles = paths.filter(path -> path.getFileName().toString().endsWith(CLASS_FILE_SUFFIX))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new BeansException("Failed to walk directory " + directory, e);
+        }
+        List<Map.Entry<String, ComponentScanCache.ClassFileRecord>> records = classFiles.parallelStream().map(classFile -> {
+            String name = directory.relativize(classFile).toString().replace(File.separatorChar, '/');
+            try {
+                // 先取文件属性再读取内容，读取期间文件被修改时下次扫描会因为修改时间变化而重新读取
+                BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+                long stamp = attributes.lastModifiedTime().toMillis();
+                ComponentScanCache.ClassFileRecord record = cachedFiles.get(name);
+                if (record == null || !record.matches(attributes.size(), stamp)) {
+                    record = new ComponentScanCache.ClassFileRecord(attributes.size(), stamp,
+                            createEntry(ClassMetadataReader.read(Files.readAllBytes(classFile), Component.class.getName())));
+                }
+                return new AbstractMap.SimpleImmutableEntry<>(name, record);
+            } catch (IOException | BeansException e) {
+                throw new BeansException("Failed to read class file " + classFile, e);
+            }
+        }).collect(Collectors.toList());
+        Map<String, ComponentScanCache.ClassFileRecord> current = new TreeMap<>();
+        boolean changed = cached == null || records.size() != cachedFiles.size();
+        for (Map.Entry<String, ComponentScanCache.ClassFileRecord> record : records) {
+            current.put(record.getKey(), record.getValue());
+            // 复用的记录是缓存中的同一个对象
+            changed |= cachedFiles.get(record.getKey()) != record.getValue();
+        }
+        if (this.scanCache != null && changed) {
+            this.scanCache.store(new ComponentScanCache.RootScan(rootKey, 0, 0, current));
+        }
+        return components(current);
+    }
+
+    /**
+     * 扫描jar包（jar包路径，基础包路径）
+     * 有扫描缓存时，jar包的大小和修改时间都没有变化则直接使用缓存的结果，不打开jar包；
+     * 否则只重新读取大小或CRC32变化的类文件，CRC32取自jar包的中央目录，不需要读取类文件内容。
+     *
+     * @param jar         jar包路径
+     * @param packagePath 以“/”分隔的基础包路径
+     * @return jar包中基础包及其子包里组件类的索引条目
+     * @throws BeansException 如果读取jar包失败，则抛出BeansException异常
+     */
+    private List<CandidateComponentsIndex.Entry> scanJar(Path jar, String packagePath) throws BeansException {
+        String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        String rootKey = "jar:" + jar.toAbsolutePath() + "!/" + prefix;
+        try {
+            long jarSize = Files.size(jar);
+            long jarModified = Files.getLastModifiedTime(jar).toMillis();
+            ComponentScanCache.RootScan cached = this.scanCache != null ? this.scanCache.load(rootKey) : null;
+            if (cached != null && cached.getRootSize() == jarSize && cached.getRootModified() == jarModified) {
+                return components(cached.getClassFiles());
+            }
+            Map<String, ComponentScanCache.ClassFileRecord> cachedFiles = cached != null
+                    ? cached.getClassFiles() : Collections.<String, ComponentScanCache.ClassFileRecord>emptyMap();
+            Map<String, ComponentScanCache.ClassFileRecord> current = new TreeMap<>();
+            try (JarFile jarFile = new JarFile(jar.toFile())) {
+                List<JarEntry> classEntries = new ArrayList<>();
+                Enumeration<JarEntry> jarEntries = jarFile.entries();
+                while (jarEntries.hasMoreElements()) {
+                    JarEntry jarEntry = jarEntries.nextElement();
+                    if (jarEntry.getName().startsWith(prefix) && jarEntry.getName().endsWith(CLASS_FILE_SUFFIX)) {
+                        classEntries.add(jarEntry);
+                    }
+                }
+                // JarFile的读取是线程安全的
+                List<ComponentScanCache.ClassFileRecord> records = classEntries.parallelStream().map(jarEntry -> {
+                    ComponentScanCache.ClassFileRecord record = cachedFiles.get(jarEntry.getName());
+                    if (record != null && record.matches(jarEntry.getSize(), jarEntry.getCrc())) {
+                        return record;
+                    }
+                    try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+                        return new ComponentScanCache.ClassFileRecord(jarEntry.getSize(), jarEntry.getCrc(),
+                                createEntry(ClassMetadataReader.read(readAllBytes(inputStream), Component.class.getName())));
+                    } catch (IOException | BeansException e) {
+                        throw new BeansException("Failed to read class file " + jarEntry.getName() + " in " + jar, e);
+                    }
+                }).collect(Collectors.toList());
+                for (int i = 0; i < classEntries.size(); i++) {
+                    current.put(classEntries.get(i).getName(), records.get(i));
+                }
+            }
+            if (this.scanCache != null) {
+                this.scanCache.store(new ComponentScanCache.RootScan(rootKey, jarSize, jarModified, current));
+            }
+            return components(current);
+        } catch (IOException e) {
+            throw new BeansException("Failed to read jar " + jar, e);
+        }
+    }
+
+    /**
+     * 组件（类文件记录）
+     *
+     * @param classFiles 键为类文件相对路径的类文件记录
+     * @return 其中组件类的索引条目
+     */
+    private static List<CandidateComponentsIndex.Entry> components(Map<String, ComponentScanCache.ClassFileRecord> classFiles) {
+        List<CandidateComponentsIndex.Entry> entries = new ArrayList<>();
+        for (ComponentScanCache.ClassFileRecord record : classFiles.values()) {
+            if (record.getEntry() != null) {
+                entries.add(record.getEntry());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 创建条目（类元数据对象）
+     * 类文件中不包含使用默认值的注解属性，这些属性取注解声明的默认值。
+     *
+     * @param metadata 类元数据对象，可以为null
+     * @return 组件类的索引条目，类元数据对象为null时返回null
+     */
+    static CandidateComponentsIndex.Entry createEntry(ClassMetadata metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        String componentName = (String) attributeValue(metadata, Component.class, "value");
+        String scopeName = metadata.hasAnnotation(Scope.class.getName())
+                ? (String) attributeValue(metadata, Scope.class, "value") : "";
+        boolean lazyAnnotated = metadata.hasAnnotation(Lazy.class.getName())
+                && (Boolean) attributeValue(metadata, Lazy.class, "value");
+        return new CandidateComponentsIndex.Entry(metadata.getClassName(), componentName, scopeName, lazyAnnotated);
+    }
+
+    /**
+     * 获取属性值（类元数据对象，注解类对象，属性名）
+     *
+     * @param metadata       类元数据对象
+     * @param annotationType 类上标注的注解类对象
+     * @param attributeName  属性名
+     * @return 显式指定的属性值，没有指定时返回注解声明的默认值
+     * @throws BeansException 如果注解没有该属性，则抛出BeansException异常
+     */
+    private static Object attributeValue(ClassMetadata metadata, Class<? extends Annotation> annotationType,
+                                         String attributeName) throws BeansException {
+        Object value = metadata.getAnnotationAttributes(annotationType.getName()).get(attributeName);
+        if (value != null) {
+            return value;
+        }
+        try {
+            return annotationType.getMethod(attributeName).getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            throw new BeansException("Annotation " + annotationType.getName() + " has no attribute '" + attributeName + "'", e);
+        }
+    }
+
+    /**
+     * 读取所有字节（输入流）
+     *
+     * @param inputStream 输入流
+     * @return 输入流中的所有字节
+     * @throws IOException 如果读取失败，则抛出IOException异常
+     */
+    static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 转换为路径（URL）
+     *
+     * @param url file协议的URL
+     * @return 本地文件路径
+     * @throws BeansException 如果URL无法转换为路径，则抛出BeansException异常
+     */
+    private static Path toPath(URL url) throws BeansException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new BeansException("Cannot resolve " + url + " to a local path", e);
+        }
+    }
+}
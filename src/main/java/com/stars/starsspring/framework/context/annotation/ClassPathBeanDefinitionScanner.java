@@ -3,7 +3,6 @@ package com.stars.starsspring.framework.context.annotation;
 import com.stars.starsspring.framework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
 import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
 import com.stars.starsspring.framework.beans.factory.support.BeanDefinitionRegistry;
-import com.stars.starsspring.framework.stereotype.Component;
 import cn.hutool.core.util.StrUtil;
 
 import java.util.Set;
@@ -24,6 +23,7 @@ import java.util.Set;
  * ClassPathBeanDefinitionScanner
  * doScan
  * resolveBeanScope
+ * resolveLazyInit
  * determineBeanName
  *
  * @author stars
@@ -50,13 +50,15 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
      */
     public void doScan(String... basePackages) {
         for (String basePackage : basePackages) {
-            Set<BeanDefinition> candidates = this.findCandidateComponents(basePackage);
-            for (BeanDefinition beanDefinition : candidates) {
+            Set<ScannedBeanDefinition> candidates = this.findCandidateComponents(basePackage);
+            for (ScannedBeanDefinition beanDefinition : candidates) {
                 // 解析Bean对象的作用域singleton、prototype
                 String beanScope = this.resolveBeanScope(beanDefinition);
                 if (StrUtil.isNotEmpty(beanScope)) {
                     beanDefinition.setScope(beanScope);
                 }
+                // 解析Bean对象是否延迟初始化@Lazy
+                beanDefinition.setLazyInit(this.resolveLazyInit(beanDefinition));
                 this.registry.registerBeanDefinition(determineBeanName(beanDefinition), beanDefinition);
             }
         }
@@ -73,11 +75,19 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
      * @param beanDefinition 要解析的Bean定义对象
      * @return Bean对象的作用域，如果没有指定则返回空字符串
      */
-    private String resolveBeanScope(BeanDefinition beanDefinition) {
-        Class<?> beanClass = beanDefinition.getBeanClass();
-        Scope scope = beanClass.getAnnotation(Scope.class);
-        if (scope != null) return scope.value();
-        return StrUtil.EMPTY;
+    private String resolveBeanScope(ScannedBeanDefinition beanDefinition) {
+        return beanDefinition.getScopeName();
+    }
+
+    /**
+     * 解析延迟初始化（Bean定义对象）
+     * 解析Bean对象是否延迟初始化。
+     *
+     * @param beanDefinition 要解析的Bean定义对象
+     * @return 如果Bean类上标注了@Lazy且其值为true，则返回true；否则返回false
+     */
+    private boolean resolveLazyInit(ScannedBeanDefinition beanDefinition) {
+        return beanDefinition.isLazyAnnotated();
     }
 
     /**
@@ -87,12 +97,10 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
      * @param beanDefinition 要确定名称的Bean定义对象
      * @return Bean对象的名称
      */
-    private String determineBeanName(BeanDefinition beanDefinition) {
-        Class<?> beanClass = beanDefinition.getBeanClass();
-        Component component = beanClass.getAnnotation(Component.class);
-        String value = component.value();
+    private String determineBeanName(ScannedBeanDefinition beanDefinition) {
+        String value = beanDefinition.getComponentName();
         if (StrUtil.isEmpty(value)) {
-            value = StrUtil.lowerFirst(beanClass.getSimpleName());
+            value = StrUtil.lowerFirst(beanDefinition.getBeanClass().getSimpleName());
         }
         return value;
     }
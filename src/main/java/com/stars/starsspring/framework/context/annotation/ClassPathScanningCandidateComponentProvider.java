@@ -1,18 +1,28 @@
 package com.stars.starsspring.framework.context.annotation;
 
-import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
-import com.stars.starsspring.framework.stereotype.Component;
-import cn.hutool.core.util.ClassUtil;
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.context.index.CandidateComponentsIndex;
+import com.stars.starsspring.framework.util.ClassUtils;
 
+import java.nio.file.Paths;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * 类路径扫描候选Component提供器——类
  * 用于扫描指定基础包中带有@Component注解的类，并将它们封装为候选的Bean定义对象。
+ * 类路径上存在编译期生成的组件索引（META-INF/starsspring.components）时，只加载索引中列出的组件类，
+ * 扫描开销与组件数量成正比，而不是与类路径上的类数量成正比；否则遍历类路径，直接读取类文件字节判断是否为组件。
+ * 两种方式都只对候选组件类调用Class.forName，其他类不会被加载。
+ * 设置了扫描缓存目录时，遍历类路径的结果按类路径根缓存在该目录中，之后只重新读取发生变化的jar包和类文件。
  * <p>
  * <p>
  * 属性字段：
+ * SCAN_CACHE_DIRECTORY_PROPERTY
+ * scanCacheDirectory
+ * componentsIndex
+ * componentsIndexLoaded
  * <p>
  * 重写方法：
  * <p>
@@ -20,28 +30,92 @@ import java.util.Set;
  * <p>
  * 编写方法：
  * findCandidateComponents
+ * loadCandidateComponents
+ * getComponentsIndex
+ * setScanCacheDirectory
+ * getScanCacheDirectory
  *
  * @author stars
  */
 public class ClassPathScanningCandidateComponentProvider {
 
+    // 扫描缓存目录的系统属性名称
+    public static final String SCAN_CACHE_DIRECTORY_PROPERTY = "starsspring.scan.cache.dir";
+
+    // 扫描缓存目录，为null时不使用扫描缓存
+    private String scanCacheDirectory = System.getProperty(SCAN_CACHE_DIRECTORY_PROPERTY);
+    // 组件索引对象，类路径上没有索引或者忽略索引时为null
+    private CandidateComponentsIndex componentsIndex;
+    // 是否已经加载过组件索引
+    private boolean componentsIndexLoaded;
+
     /**
      * 查找所有候选Component
      * 查找候选的组件类并封装为Bean定义对象。
      *
      * @param basePackage 扫描的基础包名
      * @return 候选的Bean定义对象集合
+     * @throws BeansException 如果读取类路径或者加载组件类失败，则抛出BeansException异常
+     */
+    public Set<ScannedBeanDefinition> findCandidateComponents(String basePackage) throws BeansException {
+        CandidateComponentsIndex index = this.getComponentsIndex();
+        List<CandidateComponentsIndex.Entry> entries;
+        if (index != null) {
+            entries = index.getCandidates(basePackage);
+        } else {
+            ComponentScanCache scanCache = this.scanCacheDirectory != null
+                    ? new ComponentScanCache(Paths.get(this.scanCacheDirectory)) : null;
+            entries = new ClassFileComponentScanner(ClassUtils.getDefaultClassLoader(), scanCache).scan(basePackage);
+        }
+        return this.loadCandidateComponents(entries);
+    }
+
+    /**
+     * 加载候选Component（索引条目列表）
+     * 只加载条目中列出的类，Bean名称、作用域和延迟初始化直接取自条目。
+     * 索引中的类已经不存在时（增量编译删除了类后索引还没有更新）跳过该类；
+     * 类存在但无法链接（例如缺少依赖的类）时不能当作没有该组件，直接报错。
+     *
+     * @param entries 组件类的索引条目列表
+     * @return 候选的Bean定义对象集合
+     * @throws BeansException 如果组件类存在但无法加载，则抛出BeansException异常
      */
-    public Set<BeanDefinition> findCandidateComponents(String basePackage) {
-        // 用于存储候选Bean定义对象的集合
-        Set<BeanDefinition> candidates = new LinkedHashSet<>();
-        // 通过ClassUtil工具类扫描指定包下带有@Component注解的类
-        Set<Class<?>> classes = ClassUtil.scanPackageByAnnotation(basePackage, Component.class);
-        // 遍历扫描到的类，将每个类封装为Bean定义对象并添加到候选集合中
-        for (Class<?> clazz : classes) {
-            candidates.add(new BeanDefinition(clazz));
+    private Set<ScannedBeanDefinition> loadCandidateComponents(List<CandidateComponentsIndex.Entry> entries) throws BeansException {
+        Set<ScannedBeanDefinition> candidates = new LinkedHashSet<>();
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        for (CandidateComponentsIndex.Entry entry : entries) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(entry.getClassName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                continue;
+            } catch (LinkageError e) {
+                throw new BeansException("Failed to load component class [" + entry.getClassName() + "]", e);
+            }
+            candidates.add(new ScannedBeanDefinition(clazz, entry.getComponentName(), entry.getScopeName(), entry.isLazyAnnotated()));
         }
-        // 返回候选的Bean定义对象集合
         return candidates;
     }
+
+    /**
+     * 获取组件索引
+     * 第一次扫描时加载组件索引，之后复用。
+     *
+     * @return 组件索引对象，类路径上没有索引或者忽略索引时返回null
+     */
+    private CandidateComponentsIndex getComponentsIndex() {
+        if (!this.componentsIndexLoaded) {
+            this.componentsIndex = CandidateComponentsIndex.loadIndex(ClassUtils.getDefaultClassLoader());
+            this.componentsIndexLoaded = true;
+        }
+        return this.componentsIndex;
+    }
+
+    public void setScanCacheDirectory(String scanCacheDirectory) {
+        this.scanCacheDirectory = scanCacheDirectory;
+    }
+
+    public String getScanCacheDirectory() {
+        return scanCacheDirectory;
+    }
 }
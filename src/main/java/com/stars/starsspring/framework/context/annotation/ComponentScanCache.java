@@ -0,0 +1,284 @@
+package com.stars.starsspring.framework.context.annotation;
+
+import com.stars.starsspring.framework.context.index.CandidateComponentsIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 组件扫描缓存——类
+ * 把类文件组件扫描器对每个类路径根（包目录或jar包中的包）的扫描结果保存在本地磁盘上，每个根一个缓存文件。
+ * 缓存记录了根中每个类文件的大小和版本戳（目录中的类文件为修改时间，jar包中的类文件为中央目录中的CRC32），
+ * 以及该类文件是否为组件。下次扫描时只重新读取版本戳变化的类文件，已经删除的类文件不会再出现在扫描结果中。
+ * <p>
+ * 缓存文件先写入临时文件再原子替换，并以CRC32校验和结尾，同一台主机上的多个实例可以共享同一个缓存目录：
+ * 读取方不会看到写了一半的文件，文件损坏、版本不匹配或者属于其他根时按未命中处理。
+ * <p>
+ * <p>
+ * 属性字段：
+ * MAGIC
+ * VERSION
+ * directory
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ComponentScanCache
+ * load
+ * store
+ * cacheFile
+ * encode
+ * decode
+ *
+ * @author stars
+ */
+final class ComponentScanCache {
+
+    // 缓存文件魔数，"SSCC"
+    private static final int MAGIC = 0x53534343;
+    // 缓存文件格式版本
+    private static final int VERSION = 1;
+
+    // 缓存目录
+    private final Path directory;
+
+    /**
+     * 有参构造函数（缓存目录）
+     *
+     * @param directory 缓存目录，不存在时在第一次写入时创建
+     */
+    ComponentScanCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 加载（根标识）
+     *
+     * @param rootKey 类路径根的标识
+     * @return 缓存的根扫描结果，缓存不存在、已损坏或者属于其他根时返回null
+     */
+    RootScan load(String rootKey) {
+        Path file = this.cacheFile(rootKey);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            RootScan rootScan = decode(Files.readAllBytes(file));
+            return rootKey.equals(rootScan.getRootKey()) ? rootScan : null;
+        } catch (IOException e) {
+            // 缓存只是加速手段，任何问题都重新扫描
+            return null;
+        }
+    }
+
+    /**
+     * 存储（根扫描结果）
+     * 先写入同一目录下的临时文件再替换目标文件，读取方不会看到写了一半的缓存。
+     * 写入失败（例如缓存目录不可写）时不写入缓存，扫描结果照常返回，下次扫描重新读取类文件。
+     *
+     * @param rootScan 根扫描结果
+     */
+    void store(RootScan rootScan) {
+        Path file = this.cacheFile(rootScan.getRootKey());
+        try {
+            Files.createDirectories(this.directory);
+            Path temporaryFile = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporaryFile, encode(rootScan));
+                try {
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            // 缓存只是加速手段，写入失败不影响扫描
+        }
+    }
+
+    /**
+     * 缓存文件（根标识）
+     * 文件名由根标识的两个不同哈希值组成，文件中还保存了完整的根标识，用于排除哈希冲突。
+     *
+     * @param rootKey 类路径根的标识
+     * @return 缓存文件路径
+     */
+    private Path cacheFile(String rootKey) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(rootKey.getBytes(StandardCharsets.UTF_8));
+        return this.directory.resolve(String.format("%08x%08x.scan", rootKey.hashCode(), crc32.getValue()));
+    }
+
+    /**
+     * 编码（根扫描结果）
+     *
+     * @param rootScan 根扫描结果
+     * @return 缓存文件内容
+     * @throws IOException 如果字符串超过DataOutput.writeUTF的长度限制，则抛出IOException异常
+     */
+    private static byte[] encode(RootScan rootScan) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeUTF(rootScan.getRootKey());
+        output.writeLong(rootScan.getRootSize());
+        output.writeLong(rootScan.getRootModified());
+        output.writeInt(rootScan.getClassFiles().size());
+        for (Map.Entry<String, ClassFileRecord> classFile : rootScan.getClassFiles().entrySet()) {
+            ClassFileRecord record = classFile.getValue();
+            output.writeUTF(classFile.getKey());
+            output.writeLong(record.getSize());
+            output.writeLong(record.getStamp());
+            CandidateComponentsIndex.Entry entry = record.getEntry();
+            output.writeBoolean(entry != null);
+            if (entry != null) {
+                output.writeUTF(entry.getClassName());
+                output.writeUTF(entry.getComponentName());
+                output.writeUTF(entry.getScopeName());
+                output.writeBoolean(entry.isLazyAnnotated());
+            }
+        }
+        output.flush();
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes.toByteArray());
+        output.writeLong(crc32.getValue());
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解码（缓存文件内容）
+     *
+     * @param content 缓存文件内容
+     * @return 根扫描结果
+     * @throws IOException 如果内容已损坏或版本不匹配，则抛出IOException异常
+     */
+    private static RootScan decode(byte[] content) throws IOException {
+        if (content.length < 16) {
+            throw new IOException("Scan cache is truncated");
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(content, 0, content.length - 8);
+        long expectedChecksum = new DataInputStream(new ByteArrayInputStream(content, content.length - 8, 8)).readLong();
+        if (expectedChecksum != crc32.getValue()) {
+            throw new IOException("Scan cache checksum mismatch");
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(content, 0, content.length - 8));
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Not a component scan cache of version " + VERSION);
+        }
+        String rootKey = input.readUTF();
+        long rootSize = input.readLong();
+        long rootModified = input.readLong();
+        int classFileCount = input.readInt();
+        Map<String, ClassFileRecord> classFiles = new TreeMap<>();
+        for (int i = 0; i < classFileCount; i++) {
+            String name = input.readUTF();
+            long size = input.readLong();
+            long stamp = input.readLong();
+            CandidateComponentsIndex.Entry entry = input.readBoolean()
+                    ? new CandidateComponentsIndex.Entry(input.readUTF(), input.readUTF(), input.readUTF(), input.readBoolean())
+                    : null;
+            classFiles.put(name, new ClassFileRecord(size, stamp, entry));
+        }
+        return new RootScan(rootKey, rootSize, rootModified, classFiles);
+    }
+
+    /**
+     * 根扫描结果——类
+     * 一个类路径根中所有类文件的扫描结果。
+     */
+    static final class RootScan {
+
+        // 类路径根的标识
+        private final String rootKey;
+        // jar包的大小，目录为0
+        private final long rootSize;
+        // jar包的修改时间，目录为0
+        private final long rootModified;
+        // 类文件记录，键为类文件在根中的相对路径
+        private final Map<String, ClassFileRecord> classFiles;
+
+        RootScan(String rootKey, long rootSize, long rootModified, Map<String, ClassFileRecord> classFiles) {
+            this.rootKey = rootKey;
+            this.rootSize = rootSize;
+            this.rootModified = rootModified;
+            this.classFiles = classFiles;
+        }
+
+        String getRootKey() {
+            return rootKey;
+        }
+
+        long getRootSize() {
+            return rootSize;
+        }
+
+        long getRootModified() {
+            return rootModified;
+        }
+
+        Map<String, ClassFileRecord> getClassFiles() {
+            return classFiles;
+        }
+    }
+
+    /**
+     * 类文件记录——类
+     * 一个类文件的大小、版本戳和扫描结果。
+     */
+    static final class ClassFileRecord {
+
+        // 类文件大小
+        private final long size;
+        // 版本戳，目录中的类文件为修改时间，jar包中的类文件为CRC32
+        private final long stamp;
+        // 组件类的索引条目，不是组件时为null
+        private final CandidateComponentsIndex.Entry entry;
+
+        ClassFileRecord(long size, long stamp, CandidateComponentsIndex.Entry entry) {
+            this.size = size;
+            this.stamp = stamp;
+            this.entry = entry;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getStamp() {
+            return stamp;
+        }
+
+        CandidateComponentsIndex.Entry getEntry() {
+            return entry;
+        }
+
+        /**
+         * 是否相同版本（大小，版本戳）
+         *
+         * @param size  当前类文件大小
+         * @param stamp 当前版本戳
+         * @return 如果大小和版本戳都没有变化，则返回true；否则返回false
+         */
+        boolean matches(long size, long stamp) {
+            return this.size == size && this.stamp == stamp;
+        }
+    }
+}
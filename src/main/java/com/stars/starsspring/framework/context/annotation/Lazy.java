@@ -0,0 +1,18 @@
+package com.stars.starsspring.framework.context.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 延迟初始化——注解
+ * 标注在组件类上时，该单例Bean对象不会在容器刷新时预实例化，而是在首次获取时创建；
+ * 与@Autowired注解一起标注在字段上时，注入延迟解析代理对象，首次调用方法时才解析目标Bean对象。
+ *
+ * @author stars
+ */
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+
+    boolean value() default true;
+}
@@ -0,0 +1,63 @@
+package com.stars.starsspring.framework.context.annotation;
+
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+
+/**
+ * 扫描的Bean定义——类
+ * 类路径扫描得到的候选Bean定义对象，同时携带扫描时读取到的@Component、@Scope和@Lazy注解信息，
+ * 扫描器据此确定Bean名称、作用域和延迟初始化，不需要再通过反射读取类上的注解。
+ * <p>
+ * <p>
+ * 属性字段：
+ * componentName
+ * scopeName
+ * lazyAnnotated
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ScannedBeanDefinition
+ * getComponentName
+ * getScopeName
+ * isLazyAnnotated
+ *
+ * @author stars
+ */
+public class ScannedBeanDefinition extends BeanDefinition {
+
+    // @Component注解的value，没有指定时为空字符串
+    private final String componentName;
+    // @Scope注解的value，没有标注@Scope时为空字符串
+    private final String scopeName;
+    // 是否标注了@Lazy且其值为true
+    private final boolean lazyAnnotated;
+
+    /**
+     * 有参构造函数（类对象，组件名称，作用域名称，是否延迟初始化）
+     *
+     * @param beanClass     组件类对象
+     * @param componentName @Component注解的value，没有指定时为空字符串
+     * @param scopeName     @Scope注解的value，没有标注@Scope时为空字符串
+     * @param lazyAnnotated 是否标注了@Lazy且其值为true
+     */
+    public ScannedBeanDefinition(Class<?> beanClass, String componentName, String scopeName, boolean lazyAnnotated) {
+        super(beanClass);
+        this.componentName = componentName;
+        this.scopeName = scopeName;
+        this.lazyAnnotated = lazyAnnotated;
+    }
+
+    public String getComponentName() {
+        return componentName;
+    }
+
+    public String getScopeName() {
+        return scopeName;
+    }
+
+    public boolean isLazyAnnotated() {
+        return lazyAnnotated;
+    }
+}
@@ -3,6 +3,9 @@ package com.stars.starsspring.framework.context.event;
 import com.stars.starsspring.framework.beans.factory.BeanFactory;
 import com.stars.starsspring.framework.context.ApplicationEvent;
 import com.stars.starsspring.framework.context.ApplicationListener;
+import com.stars.starsspring.framework.core.metrics.ContainerEvents;
+
+import java.util.Collection;
 
 /**
  * 简单应用事件广播器——类
@@ -41,8 +44,17 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
     @SuppressWarnings("unchecked")
     @Override
     public void multicastEvent(final ApplicationEvent event) {
-        for (final ApplicationListener listener : getApplicationListeners(event)) {
-            listener.onApplicationEvent(event);
+        Object multicastEvent = ContainerEvents.beginEventMulticast();
+        int listenerCount = 0;
+        try {
+            Collection<ApplicationListener> listeners = getApplicationListeners(event);
+            listenerCount = listeners.size();
+            for (final ApplicationListener listener : listeners) {
+                listener.onApplicationEvent(event);
+            }
+        } finally {
+            // 监听器抛出异常时也提交事件，便于与CPU和GC采样对照
+            ContainerEvents.commitEventMulticast(multicastEvent, event.getClass(), listenerCount);
         }
     }
 }
@@ -0,0 +1,194 @@
+package com.stars.starsspring.framework.context.index;
+
+import com.stars.starsspring.framework.beans.BeansException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 候选组件索引——类
+ * 编译期由CandidateComponentsIndexer生成的META-INF/starsspring.components文件的内存表示，
+ * 记录了每个@Component类的类名、@Component注解的value、@Scope注解的value以及是否标注了@Lazy。
+ * 类路径扫描时如果存在索引，只需要加载索引中列出的类，不再遍历类路径上的所有类。
+ * <p>
+ * 索引文件是properties格式，每行一个组件：类名=组件名称,作用域名称,是否延迟初始化，没有指定的值为空字符串。
+ * 类路径上有多个索引文件（例如多个jar包）时合并读取。
+ * <p>
+ * <p>
+ * 属性字段：
+ * COMPONENTS_RESOURCE_LOCATION
+ * IGNORE_INDEX_PROPERTY
+ * entries
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * CandidateComponentsIndex
+ * loadIndex
+ * getCandidates
+ * size
+ * parseEntry
+ * formatEntry
+ *
+ * @author stars
+ */
+public class CandidateComponentsIndex {
+
+    // 组件索引文件在类路径中的位置
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/starsspring.components";
+
+    // 忽略组件索引的系统属性名称，设置为true时始终遍历类路径扫描
+    public static final String IGNORE_INDEX_PROPERTY = "starsspring.index.ignore";
+
+    // 索引条目，键为类名，按类名排序
+    private final TreeMap<String, Entry> entries;
+
+    /**
+     * 有参构造函数（索引条目）
+     *
+     * @param entries 键为类名的索引条目
+     */
+    public CandidateComponentsIndex(Map<String, Entry> entries) {
+        this.entries = new TreeMap<>(entries);
+    }
+
+    /**
+     * 加载索引（类加载器）
+     * 读取类路径上所有的组件索引文件并合并。
+     *
+     * @param classLoader 用于查找索引文件的类加载器
+     * @return 组件索引对象，如果设置了忽略索引或者类路径上没有索引文件，则返回null
+     * @throws BeansException 如果读取索引文件失败或者索引文件格式错误，则抛出BeansException异常
+     */
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) throws BeansException {
+        if (Boolean.getBoolean(IGNORE_INDEX_PROPERTY)) {
+            return null;
+        }
+        Map<String, Entry> entries = new TreeMap<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                found = true;
+                Properties properties = new Properties();
+                try (InputStream inputStream = url.openStream();
+                     Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                for (String className : properties.stringPropertyNames()) {
+                    entries.put(className, parseEntry(className, properties.getProperty(className), url.toString()));
+                }
+            }
+        } catch (IOException e) {
+            throw new BeansException("Failed to load component index from " + COMPONENTS_RESOURCE_LOCATION, e);
+        }
+        return found ? new CandidateComponentsIndex(entries) : null;
+    }
+
+    /**
+     * 获取候选组件（基础包名）
+     * 与类路径扫描一致，同时包含基础包及其子包中的组件。
+     *
+     * @param basePackage 基础包名，空字符串表示所有包
+     * @return 基础包中的索引条目，按类名排序
+     */
+    public List<Entry> getCandidates(String basePackage) {
+        if (basePackage.isEmpty()) {
+            return Collections.unmodifiableList(new ArrayList<>(this.entries.values()));
+        }
+        String prefix = basePackage + ".";
+        List<Entry> candidates = new ArrayList<>();
+        // 类名有序，基础包中的类名是连续的一段
+        for (Entry entry : this.entries.tailMap(prefix).values()) {
+            if (!entry.getClassName().startsWith(prefix)) {
+                break;
+            }
+            candidates.add(entry);
+        }
+        return candidates;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 解析条目（类名，索引值，索引文件位置）
+     *
+     * @param className 类名
+     * @param value     索引值，格式为：组件名称,作用域名称,是否延迟初始化
+     * @param location  索引文件位置，用于错误信息
+     * @return 索引条目对象
+     * @throws BeansException 如果索引值格式错误，则抛出BeansException异常
+     */
+    static Entry parseEntry(String className, String value, String location) throws BeansException {
+        String[] parts = value.split(",", -1);
+        if (parts.length != 3) {
+            throw new BeansException("Malformed component index entry '" + className + "=" + value + "' in " + location);
+        }
+        return new Entry(className, parts[0], parts[1], Boolean.parseBoolean(parts[2]));
+    }
+
+    /**
+     * 格式化条目（索引条目）
+     *
+     * @param entry 索引条目对象
+     * @return 索引文件中的一行，不包含换行符
+     */
+    static String formatEntry(Entry entry) {
+        return entry.getClassName() + "=" + entry.getComponentName() + "," + entry.getScopeName() + "," + entry.isLazyAnnotated();
+    }
+
+    /**
+     * 索引条目——类
+     * 索引中的一个组件类。
+     */
+    public static final class Entry {
+
+        // 组件类名
+        private final String className;
+        // @Component注解的value，没有指定时为空字符串
+        private final String componentName;
+        // @Scope注解的value，没有标注@Scope时为空字符串
+        private final String scopeName;
+        // 是否标注了@Lazy且其值为true
+        private final boolean lazyAnnotated;
+
+        public Entry(String className, String componentName, String scopeName, boolean lazyAnnotated) {
+            this.className = className;
+            this.componentName = componentName;
+            this.scopeName = scopeName;
+            this.lazyAnnotated = lazyAnnotated;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getComponentName() {
+            return componentName;
+        }
+
+        public String getScopeName() {
+            return scopeName;
+        }
+
+        public boolean isLazyAnnotated() {
+            return lazyAnnotated;
+        }
+    }
+}
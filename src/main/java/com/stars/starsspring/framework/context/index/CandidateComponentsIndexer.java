@@ -0,0 +1,177 @@
+package com.stars.starsspring.framework.context.index;
+
+import com.stars.starsspring.framework.context.annotation.Lazy;
+import com.stars.starsspring.framework.context.annotation.Scope;
+import com.stars.starsspring.framework.stereotype.Component;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 候选组件索引生成器——类
+ * 编译期注解处理器，收集所有标注了@Component的类，在编译输出目录中生成META-INF/starsspring.components组件索引文件。
+ * 通过META-INF/services/javax.annotation.processing.Processor注册，依赖starsspring的项目编译时自动执行。
+ * <p>
+ * 增量编译只处理部分源文件时，会合并输出目录中已有的索引：保留仍然存在且仍然标注@Component的类，删除已经不存在的类。
+ * 存在已有索引时总是重写索引文件，即使合并后没有任何组件，避免旧索引继续列出已经不是组件的类。
+ * <p>
+ * <p>
+ * 属性字段：
+ * entries
+ * <p>
+ * 重写方法：
+ * getSupportedAnnotationTypes
+ * getSupportedSourceVersion
+ * process
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * createEntry
+ * readExistingEntries
+ * writeIndex
+ *
+ * @author stars
+ */
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    // 本次编译收集到的索引条目，键为类名
+    private final Map<String, CandidateComponentsIndex.Entry> entries = new TreeMap<>();
+
+    /**
+     * 获取支持的注解类型
+     * 编译的源文件中没有任何@Component时，只支持@Component的处理器不会被调用，已有索引中失效的条目无法删除，
+     * 因此支持所有注解，由process返回false不独占任何注解。
+     *
+     * @return 所有注解
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton("*");
+    }
+
+    /**
+     * 获取支持的源码版本
+     *
+     * @return 当前编译器支持的最新源码版本
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * 处理（注解类型集合，轮次环境对象）
+     * 每一轮收集标注了@Component的类，最后一轮合并已有索引并写入索引文件；没有已有索引且没有组件时不生成索引文件。
+     *
+     * @param annotations 本轮要处理的注解类型集合
+     * @param roundEnv    轮次环境对象
+     * @return 返回false，不独占任何注解
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element instanceof TypeElement) {
+                CandidateComponentsIndex.Entry entry = this.createEntry((TypeElement) element);
+                this.entries.put(entry.getClassName(), entry);
+            }
+        }
+        if (roundEnv.processingOver()) {
+            Map<String, CandidateComponentsIndex.Entry> existing = this.readExistingEntries();
+            if (existing != null || !this.entries.isEmpty()) {
+                Map<String, CandidateComponentsIndex.Entry> index = existing != null ? existing : new TreeMap<>();
+                index.putAll(this.entries);
+                this.writeIndex(index);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 创建条目（类型元素）
+     *
+     * @param typeElement 标注了@Component的类型元素
+     * @return 索引条目对象，类名使用二进制名称，与Class.forName一致
+     */
+    private CandidateComponentsIndex.Entry createEntry(TypeElement typeElement) {
+        String className = this.processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        Component component = typeElement.getAnnotation(Component.class);
+        Scope scope = typeElement.getAnnotation(Scope.class);
+        Lazy lazy = typeElement.getAnnotation(Lazy.class);
+        return new CandidateComponentsIndex.Entry(className, component.value(),
+                scope != null ? scope.value() : "", lazy != null && lazy.value());
+    }
+
+    /**
+     * 读取已有条目
+     * 读取编译输出目录中已有的索引，只保留本次编译看不到源码、但类路径上仍然存在且仍然标注@Component的类。
+     *
+     * @return 需要保留的已有索引条目，可能为空映射；没有已有索引时返回null
+     */
+    private Map<String, CandidateComponentsIndex.Entry> readExistingEntries() {
+        Properties properties = new Properties();
+        try {
+            FileObject resource = this.processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_OUTPUT, "", CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (InputStream inputStream = resource.openInputStream();
+                 Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            // 没有已有索引
+            return null;
+        }
+        Map<String, CandidateComponentsIndex.Entry> existing = new TreeMap<>();
+        for (String className : properties.stringPropertyNames()) {
+            if (this.entries.containsKey(className)) {
+                continue;
+            }
+            TypeElement typeElement = this.processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+            if (typeElement != null && typeElement.getAnnotation(Component.class) != null) {
+                existing.put(className, this.createEntry(typeElement));
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * 写入索引（索引条目）
+     * 条目按类名排序写入，相同的源码总是生成相同的索引文件。
+     *
+     * @param index 键为类名的索引条目
+     */
+    private void writeIndex(Map<String, CandidateComponentsIndex.Entry> index) {
+        try {
+            FileObject resource = this.processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# StarsSpring component index, generated by " + CandidateComponentsIndexer.class.getSimpleName() + "\n");
+                for (CandidateComponentsIndex.Entry entry : index.values()) {
+                    writer.write(CandidateComponentsIndex.formatEntry(entry));
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write component index " + CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION + ": " + e);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.stars.starsspring.framework.beans.BeansException;
 import com.stars.starsspring.framework.beans.factory.ConfigurableListableBeanFactory;
 import com.stars.starsspring.framework.beans.factory.config.BeanFactoryPostProcessor;
 import com.stars.starsspring.framework.beans.factory.config.BeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.support.BeanDependencyGraph;
+import com.stars.starsspring.framework.beans.factory.support.DefaultListableBeanFactory;
 import com.stars.starsspring.framework.context.ApplicationEvent;
 import com.stars.starsspring.framework.context.ApplicationListener;
 import com.stars.starsspring.framework.context.ConfigurableApplicationContext;
@@ -13,17 +15,32 @@ import com.stars.starsspring.framework.context.event.ContextRefreshedEvent;
 import com.stars.starsspring.framework.context.event.SimpleApplicationEventMulticaster;
 import com.stars.starsspring.framework.core.convert.ConversionService;
 import com.stars.starsspring.framework.core.io.DefaultResourceLoader;
+import com.stars.starsspring.framework.core.metrics.ApplicationStartup;
+import com.stars.starsspring.framework.core.metrics.BufferingApplicationStartup;
+import com.stars.starsspring.framework.core.metrics.StartupStep;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Map;
 
 /**
  * 抽象应用上下文——抽象类
+ * 设置系统属性starsspring.startup.recording或starsspring.startup.report时默认记录启动步骤，
+ * 后者还会在刷新结束时把记录结果以JSON格式写入该属性指定的文件。
+ * 设置系统属性starsspring.dependency.graph时，在实例化单例Bean对象之前把Bean依赖图写入该属性指定的文件，
+ * 文件扩展名为.dot或.gv时使用Graphviz的DOT格式，否则使用JSON格式；存在无法解决的循环依赖导致刷新失败时也能得到依赖图。
  * <p>
  * <p>
  * 属性字段：
  * APPLICATION_EVENT_MULTICASTER_BEAN_NAME
+ * STARTUP_RECORDING_PROPERTY
+ * STARTUP_REPORT_PROPERTY
+ * DEPENDENCY_GRAPH_PROPERTY
  * applicationEventMulticaster
+ * applicationStartup
  * <p>
  * 重写方法：
  * refresh
@@ -35,6 +52,9 @@ import java.util.Map;
  * getBean
  * getBean
  * containsBean
+ * releaseBean
+ * setApplicationStartup
+ * getApplicationStartup
  * registerShutdownHook
  * close
  * <p>
@@ -49,6 +69,8 @@ import java.util.Map;
  * initApplicationEventMulticaster
  * registerListeners
  * finishRefresh
+ * writeStartupReport
+ * writeDependencyGraph
  *
  * @author stars
  */
@@ -56,9 +78,19 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     // 应用事件广播Bean名称
     public static final String APPLICATION_EVENT_MULTICASTER_BEAN_NAME = "applicationEventMulticaster";
+    // 开启启动步骤记录的系统属性名称
+    public static final String STARTUP_RECORDING_PROPERTY = "starsspring.startup.recording";
+    // 启动报告文件路径的系统属性名称
+    public static final String STARTUP_REPORT_PROPERTY = "starsspring.startup.report";
+    // Bean依赖图文件路径的系统属性名称
+    public static final String DEPENDENCY_GRAPH_PROPERTY = "starsspring.dependency.graph";
 
     // 应用事件广播器对象
     private ApplicationEventMulticaster applicationEventMulticaster;
+    // 应用启动对象，未开启记录时使用不产生任何对象的默认实现
+    private ApplicationStartup applicationStartup =
+            (Boolean.getBoolean(STARTUP_RECORDING_PROPERTY) || System.getProperty(STARTUP_REPORT_PROPERTY) != null)
+                    ? new BufferingApplicationStartup() : ApplicationStartup.DEFAULT;
 
     /**
      * 刷新
@@ -68,24 +100,128 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
      */
     @Override
     public void refresh() throws BeansException {
-        // 1. 创建BeanFactory对象，并加载BeanDefinition对象
-        this.refreshBeanFactory();
-        // 2. 获取BeanFactory对象
-        ConfigurableListableBeanFactory beanFactory = this.getBeanFactory();
-        // 3. 添加ApplicationContextAwareProcessor对象，让继承自ApplicationContextAware接口的Bean对象都能感知所属的ApplicationContext对象
-        beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
-        // 4. 在Bean对象实例化之前，执行BeanFactoryPostProcessor对象
-        this.invokeBeanFactoryPostProcessors(beanFactory);
-        // 5. BeanPostProcessor对象需要提前于其他Bean对象实例化之前执行注册操作
-        this.registerBeanPostProcessors(beanFactory);
-        // 6. 初始化事件发布者
-        this.initApplicationEventMulticaster();
-        // 7. 注册事件监听器
-        this.registerListeners();
-        // 8. 设置类型转换器、提前实例化单例Bean对象
-        this.finishBeanFactoryInitialization(beanFactory);
-        // 9. 发布容器刷新完成事件
-        this.finishRefresh();
+        ApplicationStartup startup = this.applicationStartup;
+        StartupStep refreshStep = startup.start("context.refresh");
+        try {
+            // 1. 创建BeanFactory对象，并加载BeanDefinition对象
+            StartupStep step = startup.start("context.refresh-bean-factory");
+            try {
+                this.refreshBeanFactory();
+            } finally {
+                step.end();
+            }
+            // 2. 获取BeanFactory对象
+            ConfigurableListableBeanFactory beanFactory = this.getBeanFactory();
+            beanFactory.setApplicationStartup(startup);
+            // 3. 添加ApplicationContextAwareProcessor对象，让继承自ApplicationContextAware接口的Bean对象都能感知所属的ApplicationContext对象
+            beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
+            // 注册内置的线程作用域，BeanFactoryPostProcessor对象可以注册其他作用域
+            beanFactory.registerScope(SimpleThreadScope.SCOPE_THREAD, new SimpleThreadScope());
+            // 4. 在Bean对象实例化之前，执行BeanFactoryPostProcessor对象
+            step = startup.start("context.bean-factory-post-process");
+            try {
+                this.invokeBeanFactoryPostProcessors(beanFactory);
+            } finally {
+                step.end();
+            }
+            // 5. BeanPostProcessor对象需要提前于其他Bean对象实例化之前执行注册操作
+            step = startup.start("context.bean-post-processor-register");
+            try {
+                this.registerBeanPostProcessors(beanFactory);
+            } finally {
+                step.end();
+            }
+            // 6. 初始化事件发布者
+            step = startup.start("context.event-multicaster-init");
+            try {
+                this.initApplicationEventMulticaster();
+            } finally {
+                step.end();
+            }
+            // 7. 注册事件监听器
+            step = startup.start("context.listeners-register");
+            try {
+                this.registerListeners();
+            } finally {
+                step.end();
+            }
+            // 8. 按需写出Bean依赖图，设置类型转换器、提前实例化单例Bean对象
+            this.writeDependencyGraph(beanFactory);
+            step = startup.start("context.beans-instantiate");
+            try {
+                this.finishBeanFactoryInitialization(beanFactory);
+            } finally {
+                step.end();
+            }
+            // 9. 发布容器刷新完成事件
+            step = startup.start("context.finish-refresh");
+            try {
+                this.finishRefresh();
+            } finally {
+                step.end();
+            }
+            // 10. 冻结配置，之后的getBean从预先计算的只读索引中读取
+            step = startup.start("context.configuration-freeze");
+            try {
+                beanFactory.freezeConfiguration();
+            } finally {
+                step.end();
+            }
+        } finally {
+            refreshStep.end();
+        }
+        // 11. 按需写出启动报告
+        this.writeStartupReport();
+    }
+
+    /**
+     * 写出启动报告
+     * 设置了starsspring.startup.report系统属性且记录了启动步骤时，把记录结果以JSON格式写入该属性指定的文件。
+     *
+     * @throws BeansException 如果写入文件失败，则抛出BeansException异常
+     */
+    private void writeStartupReport() throws BeansException {
+        String reportPath = System.getProperty(STARTUP_REPORT_PROPERTY);
+        if (reportPath == null || !(this.applicationStartup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        String json = ((BufferingApplicationStartup) this.applicationStartup).toJson();
+        try {
+            Files.write(Paths.get(reportPath), json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new BeansException("Failed to write startup report to [" + reportPath + "]", e);
+        }
+    }
+
+    /**
+     * 写出依赖图（Bean工厂对象）
+     * 设置了starsspring.dependency.graph系统属性时，把实例化之前构建的Bean依赖图写入该属性指定的文件。
+     *
+     * @param beanFactory Bean工厂对象
+     * @throws BeansException 如果写入文件失败，则抛出BeansException异常
+     */
+    private void writeDependencyGraph(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        String graphPath = System.getProperty(DEPENDENCY_GRAPH_PROPERTY);
+        if (graphPath == null || !(beanFactory instanceof DefaultListableBeanFactory)) {
+            return;
+        }
+        BeanDependencyGraph graph = ((DefaultListableBeanFactory) beanFactory).getBeanDependencyGraph();
+        String content = (graphPath.endsWith(".dot") || graphPath.endsWith(".gv")) ? graph.toDot() : graph.toJson();
+        try {
+            Files.write(Paths.get(graphPath), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new BeansException("Failed to write bean dependency graph to [" + graphPath + "]", e);
+        }
+    }
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
     }
 
     /**
@@ -135,6 +271,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         for (BeanFactoryPostProcessor beanFactoryPostProcessor : beanFactoryPostProcessorMap.values()) {
             beanFactoryPostProcessor.postProcessBeanFactory(beanFactory);
         }
+        // Bean工厂扩展处理器可能修改了Bean定义对象，需要清除根据Bean定义对象推导出的缓存
+        beanFactory.clearMetadataCache();
     }
 
     /**
@@ -281,6 +419,18 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         return this.getBeanFactory().containsBean(name);
     }
 
+    /**
+     * 归还Bean对象（Bean的名称，Bean对象）
+     *
+     * @param name Bean的名称
+     * @param bean 要归还的池化Bean对象
+     * @throws BeansException 如果该Bean对象不是池化范围，或者销毁过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public void releaseBean(String name, Object bean) throws BeansException {
+        this.getBeanFactory().releaseBean(name, bean);
+    }
+
     /**
      * 注册关闭挂钩
      * 注册一个JVM关闭挂钩，以确保在JVM关闭时关闭应用程序上下文。
@@ -10,6 +10,7 @@ import com.stars.starsspring.framework.beans.factory.support.DefaultListableBean
  * <p>
  * 属性字段：
  * beanFactory
+ * parallelPreInstantiation
  * <p>
  * 重写方法：
  * refreshBeanFactory
@@ -20,6 +21,8 @@ import com.stars.starsspring.framework.beans.factory.support.DefaultListableBean
  * <p>
  * 编写方法：
  * createBeanFactory
+ * customizeBeanFactory
+ * setParallelPreInstantiation
  *
  * @author stars
  */
@@ -27,6 +30,8 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
 
     // Bean工厂对象
     private DefaultListableBeanFactory beanFactory;
+    // 并行预实例化单例Bean对象的标志
+    private boolean parallelPreInstantiation = false;
 
     /**
      * 刷新Bean工厂
@@ -37,6 +42,7 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
     @Override
     protected void refreshBeanFactory() throws BeansException {
         DefaultListableBeanFactory beanFactory = this.createBeanFactory();
+        this.customizeBeanFactory(beanFactory);
         // 加载Bean定义对象
         this.loadBeanDefinitions(beanFactory);
         this.beanFactory = beanFactory;
@@ -52,6 +58,16 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
         return new DefaultListableBeanFactory();
     }
 
+    /**
+     * 定制Bean工厂（Bean工厂对象）
+     * 在加载Bean定义对象之前，将应用上下文上的配置应用到新创建的Bean工厂对象中。
+     *
+     * @param beanFactory 新创建的Bean工厂对象
+     */
+    protected void customizeBeanFactory(DefaultListableBeanFactory beanFactory) {
+        beanFactory.setParallelPreInstantiation(this.parallelPreInstantiation);
+    }
+
     /**
      * 加载Bean定义（Bean工厂对象）
      * 加载Bean定义对象到Bean工厂对象中。
@@ -70,4 +86,8 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
     protected ConfigurableListableBeanFactory getBeanFactory() {
         return this.beanFactory;
     }
+
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
 }
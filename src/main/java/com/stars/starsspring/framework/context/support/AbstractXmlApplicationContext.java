@@ -1,13 +1,34 @@
 package com.stars.starsspring.framework.context.support;
 
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.config.BeanDefinition;
+import com.stars.starsspring.framework.beans.factory.support.BeanDefinitionSnapshot;
 import com.stars.starsspring.framework.beans.factory.support.DefaultListableBeanFactory;
+import com.stars.starsspring.framework.beans.factory.xml.StaxXmlBeanDefinitionReader;
 import com.stars.starsspring.framework.beans.factory.xml.XmlBeanDefinitionReader;
+import com.stars.starsspring.framework.util.ClassUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 抽象XML应用上下文——类
+ * 设置了Bean定义快照文件时，如果快照中记录的配置资源和扫描包的校验和都没有变化，则直接从快照注册Bean定义对象，
+ * 不再解析XML和扫描类路径；否则正常加载，并在加载后重新写入快照。
+ * 开启流式读取时使用StaxXmlBeanDefinitionReader逐个资源流式读取配置文件，否则使用基于DOM的XmlBeanDefinitionReader。
  * <p>
  * <p>
  * 属性字段：
+ * BEAN_DEFINITION_SNAPSHOT_PROPERTY
+ * STREAMING_XML_READER_PROPERTY
+ * beanDefinitionSnapshotFile
+ * streamingXmlReader
  * <p>
  * 重写方法：
  * loadBeanDefinitions
@@ -16,11 +37,29 @@ import com.stars.starsspring.framework.beans.factory.xml.XmlBeanDefinitionReader
  * getConfigLocations
  * <p>
  * 编写方法：
+ * setBeanDefinitionSnapshotFile
+ * getBeanDefinitionSnapshotFile
+ * setStreamingXmlReader
+ * isStreamingXmlReader
+ * loadBeanDefinitionSnapshot
+ * writeBeanDefinitionSnapshot
+ * computeSourceChecksum
  *
  * @author stars
  */
 public abstract class AbstractXmlApplicationContext extends AbstractRefreshableApplicationContext {
 
+    // Bean定义快照文件路径的系统属性名称
+    public static final String BEAN_DEFINITION_SNAPSHOT_PROPERTY = "starsspring.snapshot.file";
+
+    // 开启流式XML读取的系统属性名称
+    public static final String STREAMING_XML_READER_PROPERTY = "starsspring.xml.streaming";
+
+    // Bean定义快照文件路径，为null时不使用快照
+    private String beanDefinitionSnapshotFile = System.getProperty(BEAN_DEFINITION_SNAPSHOT_PROPERTY);
+    // 是否使用流式XML读取器
+    private boolean streamingXmlReader = Boolean.getBoolean(STREAMING_XML_READER_PROPERTY);
+
     /**
      * 加载Bean定义（Bean工厂对象）
      * 加载Bean定义对象到Bean工厂对象中。
@@ -29,12 +68,32 @@ public abstract class AbstractXmlApplicationContext extends AbstractRefreshableA
      */
     @Override
     protected void loadBeanDefinitions(DefaultListableBeanFactory beanFactory) {
-        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory, this);
         // 获取配置文件位置
         String[] configLocations = getConfigLocations();
-        if (configLocations != null) {
-            // 加载Bean定义对象
-            beanDefinitionReader.loadBeanDefinitions(configLocations);
+        Path snapshotFile = (this.beanDefinitionSnapshotFile != null && configLocations != null)
+                ? Paths.get(this.beanDefinitionSnapshotFile) : null;
+        // 快照有效时直接注册快照中的Bean定义对象
+        if (snapshotFile != null && this.loadBeanDefinitionSnapshot(beanFactory, snapshotFile)) {
+            return;
+        }
+        Set<String> scannedPackages;
+        if (this.streamingXmlReader) {
+            StaxXmlBeanDefinitionReader beanDefinitionReader = new StaxXmlBeanDefinitionReader(beanFactory, this);
+            if (configLocations != null) {
+                // 加载Bean定义对象
+                beanDefinitionReader.loadBeanDefinitions(configLocations);
+            }
+            scannedPackages = beanDefinitionReader.getScannedPackages();
+        } else {
+            XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory, this);
+            if (configLocations != null) {
+                // 加载Bean定义对象
+                beanDefinitionReader.loadBeanDefinitions(configLocations);
+            }
+            scannedPackages = beanDefinitionReader.getScannedPackages();
+        }
+        if (snapshotFile != null) {
+            this.writeBeanDefinitionSnapshot(beanFactory, scannedPackages, configLocations, snapshotFile);
         }
     }
 
@@ -45,4 +104,112 @@ public abstract class AbstractXmlApplicationContext extends AbstractRefreshableA
      * @return 返回配置文件的位置数组
      */
     protected abstract String[] getConfigLocations();
+
+    public void setBeanDefinitionSnapshotFile(String beanDefinitionSnapshotFile) {
+        this.beanDefinitionSnapshotFile = beanDefinitionSnapshotFile;
+    }
+
+    public String getBeanDefinitionSnapshotFile() {
+        return beanDefinitionSnapshotFile;
+    }
+
+    public void setStreamingXmlReader(boolean streamingXmlReader) {
+        this.streamingXmlReader = streamingXmlReader;
+    }
+
+    public boolean isStreamingXmlReader() {
+        return streamingXmlReader;
+    }
+
+    /**
+     * 加载Bean定义快照（Bean工厂对象，快照文件路径）
+     * 快照不存在、已损坏、来源校验和不一致、配置位置变化或者某个类无法加载时，不注册任何Bean定义对象并返回false。
+     *
+     * @param beanFactory  要加载Bean定义对象的Bean工厂对象
+     * @param snapshotFile 快照文件路径
+     * @return 如果已从快照注册Bean定义对象，则返回true；否则返回false
+     */
+    private boolean loadBeanDefinitionSnapshot(DefaultListableBeanFactory beanFactory, Path snapshotFile) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return false;
+        }
+        try {
+            BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshot.read(snapshotFile);
+            Map<String, Long> sourceChecksums = snapshot.getSourceChecksums();
+            // 配置位置必须与生成快照时完全相同
+            Set<String> resourceSources = new HashSet<>();
+            for (String configLocation : this.getConfigLocations()) {
+                resourceSources.add(BeanDefinitionSnapshot.RESOURCE_SOURCE_PREFIX + configLocation);
+            }
+            for (Map.Entry<String, Long> sourceChecksum : sourceChecksums.entrySet()) {
+                if (sourceChecksum.getKey().startsWith(BeanDefinitionSnapshot.RESOURCE_SOURCE_PREFIX)
+                        && !resourceSources.remove(sourceChecksum.getKey())) {
+                    return false;
+                }
+            }
+            if (!resourceSources.isEmpty()) {
+                return false;
+            }
+            for (Map.Entry<String, Long> sourceChecksum : sourceChecksums.entrySet()) {
+                if (this.computeSourceChecksum(sourceChecksum.getKey()) != sourceChecksum.getValue()) {
+                    return false;
+                }
+            }
+            snapshot.registerBeanDefinitions(beanFactory, ClassUtils.getDefaultClassLoader());
+            return true;
+        } catch (BeansException | IOException e) {
+            // 快照只是启动加速手段，任何问题都回退到正常加载
+            return false;
+        }
+    }
+
+    /**
+     * 写入Bean定义快照（Bean工厂对象，已扫描的包名集合，配置位置数组，快照文件路径）
+     * 快照只是启动加速手段，计算校验和、编码或写入失败（例如快照路径不可写）时不写入快照，刷新照常继续。
+     *
+     * @param beanFactory     已加载Bean定义对象的Bean工厂对象
+     * @param scannedPackages 加载Bean定义对象时component-scan扫描的包名集合
+     * @param configLocations 配置位置数组
+     * @param snapshotFile    快照文件路径
+     */
+    private void writeBeanDefinitionSnapshot(DefaultListableBeanFactory beanFactory, Set<String> scannedPackages,
+                                             String[] configLocations, Path snapshotFile) {
+        Map<String, Long> sourceChecksums = new LinkedHashMap<>();
+        try {
+            for (String configLocation : configLocations) {
+                String source = BeanDefinitionSnapshot.RESOURCE_SOURCE_PREFIX + configLocation;
+                sourceChecksums.put(source, this.computeSourceChecksum(source));
+            }
+            for (String scannedPackage : scannedPackages) {
+                String source = BeanDefinitionSnapshot.PACKAGE_SOURCE_PREFIX + scannedPackage;
+                sourceChecksums.put(source, this.computeSourceChecksum(source));
+            }
+            Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                beanDefinitions.put(beanName, beanFactory.getBeanDefinition(beanName));
+            }
+            new BeanDefinitionSnapshot(sourceChecksums, beanDefinitions).write(snapshotFile);
+        } catch (BeansException | IOException e) {
+            // 没有快照时下次启动正常加载，因此忽略写入失败
+        }
+    }
+
+    /**
+     * 计算来源校验和（来源）
+     *
+     * @param source 带前缀的来源，配置资源或扫描包
+     * @return 来源当前的校验和
+     * @throws IOException 如果读取来源失败，则抛出IOException异常
+     */
+    private long computeSourceChecksum(String source) throws IOException {
+        if (source.startsWith(BeanDefinitionSnapshot.RESOURCE_SOURCE_PREFIX)) {
+            String location = source.substring(BeanDefinitionSnapshot.RESOURCE_SOURCE_PREFIX.length());
+            return BeanDefinitionSnapshot.checksumResource(this.getResource(location));
+        }
+        if (source.startsWith(BeanDefinitionSnapshot.PACKAGE_SOURCE_PREFIX)) {
+            String basePackage = source.substring(BeanDefinitionSnapshot.PACKAGE_SOURCE_PREFIX.length());
+            return BeanDefinitionSnapshot.checksumPackage(basePackage, ClassUtils.getDefaultClassLoader());
+        }
+        throw new IOException("Unknown snapshot source " + source);
+    }
 }
@@ -1,14 +1,14 @@
 package com.stars.starsspring.framework.context.support;
 
 import com.stars.starsspring.framework.beans.BeansException;
-import com.stars.starsspring.framework.beans.factory.config.BeanPostProcessor;
+import com.stars.starsspring.framework.beans.factory.config.SelectiveBeanPostProcessor;
 import com.stars.starsspring.framework.context.ApplicationContext;
 import com.stars.starsspring.framework.context.ApplicationContextAware;
 
 /**
  * 应用上下文感知处理器——类
  * 是一个Bean对象后置处理器，用于在Bean对象初始化之前回调设置应用上下文对象。
- * 在容器初始化Bean对象时被调用，用于处理实现了ApplicationContextAware接口的Bean对象。
+ * 在容器初始化Bean对象时被调用，只处理实现了ApplicationContextAware接口的Bean对象，其他Bean对象不会经过该处理器。
  * <p>
  * <p>
  * 属性字段：
@@ -16,7 +16,7 @@ import com.stars.starsspring.framework.context.ApplicationContextAware;
  * <p>
  * 重写方法：
  * postProcessBeforeInitialization
- * postProcessAfterInitialization
+ * isApplicable
  * <p>
  * 定义方法：
  * <p>
@@ -25,7 +25,7 @@ import com.stars.starsspring.framework.context.ApplicationContextAware;
  *
  * @author stars
  */
-public class ApplicationContextAwareProcessor implements BeanPostProcessor {
+public class ApplicationContextAwareProcessor implements SelectiveBeanPostProcessor {
 
     // 应用上下文对象
     private final ApplicationContext applicationContext;
@@ -59,17 +59,13 @@ public class ApplicationContextAwareProcessor implements BeanPostProcessor {
     }
 
     /**
-     * 初始化之后扩展处理（Bean对象，Bean的名称）
-     * 后置处理器
-     * 在Bean对象执行初始化方法之后，执行此方法。
+     * 是否适用（Bean的类对象）
      *
-     * @param bean     当前Bean对象
-     * @param beanName 当前Bean的名称
-     * @return 修改后的Bean对象，可以是原始对象或修改后的代理对象
-     * @throws BeansException 如果在处理过程中发生异常，则抛出BeansException异常
+     * @param beanClass Bean的类对象
+     * @return 如果该类实现了ApplicationContextAware接口，则返回true；否则返回false
      */
     @Override
-    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        return bean;
+    public boolean isApplicable(Class<?> beanClass) {
+        return ApplicationContextAware.class.isAssignableFrom(beanClass);
     }
 }
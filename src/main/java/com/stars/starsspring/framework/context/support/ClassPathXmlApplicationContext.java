@@ -19,6 +19,7 @@ import com.stars.starsspring.framework.beans.BeansException;
  * ClassPathXmlApplicationContext
  * ClassPathXmlApplicationContext
  * ClassPathXmlApplicationContext
+ * ClassPathXmlApplicationContext
  *
  * @author stars
  */
@@ -53,9 +54,23 @@ public class ClassPathXmlApplicationContext extends AbstractXmlApplicationContex
      * @throws BeansException 如果在加载和刷新过程中发生异常，则抛出BeansException异常
      */
     public ClassPathXmlApplicationContext(String[] configLocations) throws BeansException {
+        this(configLocations, true);
+    }
+
+    /**
+     * 有参构造函数（配置位置数组，是否刷新）
+     * 从多个XML配置文件中加载Bean定义对象，可以推迟刷新，以便在刷新之前调整应用上下文的配置。
+     *
+     * @param configLocations 包含多个XML配置文件路径的数组
+     * @param refresh         是否立即加载和刷新应用上下文，为false时需要手动调用refresh方法
+     * @throws BeansException 如果在加载和刷新过程中发生异常，则抛出BeansException异常
+     */
+    public ClassPathXmlApplicationContext(String[] configLocations, boolean refresh) throws BeansException {
         this.configLocations = configLocations;
-        // 加载和刷新应用上下文
-        this.refresh();
+        if (refresh) {
+            // 加载和刷新应用上下文
+            this.refresh();
+        }
     }
 
     /**
@@ -0,0 +1,247 @@
+package com.stars.starsspring.framework.context.support;
+
+import com.stars.starsspring.framework.beans.BeansException;
+import com.stars.starsspring.framework.beans.factory.DisposableBean;
+import com.stars.starsspring.framework.beans.factory.ObjectFactory;
+import com.stars.starsspring.framework.beans.factory.config.Scope;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 线程作用域——类
+ * 每个线程持有一份Bean对象，适合为工作线程提供各自的非线程安全辅助对象，既不需要同步也不会像原型那样反复创建。
+ * 获取Bean对象只需要一次ThreadLocal读取和一次Map读取。
+ * 工作线程结束使用时应调用clear方法执行当前线程的销毁回调；容器关闭时会通过destroy方法执行所有线程尚未执行的销毁回调。
+ * 作用域存储只弱引用所属线程，登记新线程的存储时会清理所属线程已经结束的存储，避免已结束的线程一直占用其Bean对象。
+ * <p>
+ * <p>
+ * 属性字段：
+ * SCOPE_THREAD
+ * threadStore
+ * stores
+ * <p>
+ * 重写方法：
+ * get
+ * remove
+ * registerDestructionCallback
+ * destroy
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * clear
+ * getOrCreateStore
+ * pruneTerminatedStores
+ *
+ * @author stars
+ */
+public class SimpleThreadScope implements Scope, DisposableBean {
+
+    // 线程作用域名称
+    public static final String SCOPE_THREAD = "thread";
+
+    // 当前线程的作用域存储
+    private final ThreadLocal<ThreadScopeStore> threadStore = new ThreadLocal<>();
+    // 所有存活线程的作用域存储，用于容器关闭时执行其他线程的销毁回调，所属线程结束后在登记新存储时移除
+    private final Set<ThreadScopeStore> stores = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 获取（Bean的名称，对象工厂对象）
+     *
+     * @param name          Bean的名称
+     * @param objectFactory 用于创建Bean对象的对象工厂
+     * @return 当前线程的Bean对象
+     * @throws BeansException 如果创建Bean对象过程中出现异常，则抛出BeansException异常
+     */
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) throws BeansException {
+        ThreadScopeStore store = this.getOrCreateStore();
+        Object scopedObject = store.instances.get(name);
+        if (scopedObject == null) {
+            // 创建过程中可能获取其他线程作用域的Bean对象，因此不能使用computeIfAbsent
+            scopedObject = objectFactory.getObject();
+            store.instances.put(name, scopedObject);
+        }
+        return scopedObject;
+    }
+
+    /**
+     * 移除（Bean的名称）
+     *
+     * @param name Bean的名称
+     * @return 被移除的Bean对象，如果不存在则返回null
+     */
+    @Override
+    public Object remove(String name) {
+        ThreadScopeStore store = this.threadStore.get();
+        if (store == null) {
+            return null;
+        }
+        synchronized (store) {
+            store.destructionCallbacks.remove(name);
+        }
+        return store.instances.remove(name);
+    }
+
+    /**
+     * 注册销毁回调（Bean的名称，销毁回调）
+     *
+     * @param name     Bean的名称
+     * @param callback 在当前线程的作用域结束时执行的销毁回调
+     */
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        ThreadScopeStore store = this.getOrCreateStore();
+        synchronized (store) {
+            store.destructionCallbacks.put(name, callback);
+        }
+    }
+
+    /**
+     * 清除
+     * 结束当前线程的作用域：按创建顺序的逆序执行销毁回调，并移除当前线程的所有Bean对象。
+     *
+     * @throws BeansException 如果销毁回调执行过程中出现异常，则在执行全部回调后抛出第一个异常
+     */
+    public void clear() throws BeansException {
+        ThreadScopeStore store = this.threadStore.get();
+        if (store != null) {
+            this.threadStore.remove();
+            this.stores.remove(store);
+            store.destroy();
+        }
+    }
+
+    /**
+     * 销毁
+     * 结束所有线程的作用域，由容器关闭时调用。
+     *
+     * @throws BeansException 如果销毁回调执行过程中出现异常，则在执行全部回调后抛出第一个异常
+     */
+    @Override
+    public void destroy() throws BeansException {
+        BeansException failure = null;
+        for (ThreadScopeStore store : this.stores) {
+            // 只销毁由当前调用移除的存储，避免与清理已结束线程的存储重复执行销毁回调
+            if (!this.stores.remove(store)) {
+                continue;
+            }
+            try {
+                store.destroy();
+            } catch (BeansException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        this.threadStore.remove();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 获取或创建当前线程的作用域存储
+     *
+     * @return 当前线程的作用域存储
+     */
+    private ThreadScopeStore getOrCreateStore() {
+        ThreadScopeStore store = this.threadStore.get();
+        if (store == null) {
+            this.pruneTerminatedStores();
+            store = new ThreadScopeStore(Thread.currentThread());
+            this.threadStore.set(store);
+            this.stores.add(store);
+        }
+        return store;
+    }
+
+    /**
+     * 清理已结束线程的作用域存储
+     * 移除所属线程已经结束或被回收的存储并执行其销毁回调。
+     * 销毁回调的异常不影响当前线程获取Bean对象，因此在这里忽略。
+     */
+    private void pruneTerminatedStores() {
+        for (ThreadScopeStore store : this.stores) {
+            if (store.isOwnerTerminated() && this.stores.remove(store)) {
+                try {
+                    store.destroy();
+                } catch (BeansException ignored) {
+                    // 已结束线程的销毁回调失败，忽略异常，存储已经移除
+                }
+            }
+        }
+    }
+
+    /**
+     * 线程作用域存储——内部类
+     * 保存一个线程的Bean对象和销毁回调。
+     *
+     * @author stars
+     */
+    private static final class ThreadScopeStore {
+
+        // 所属线程，弱引用，不阻止线程对象被回收
+        private final WeakReference<Thread> owner;
+        // Bean对象，只由所属线程写入，容器关闭时可能被其他线程清空
+        private final Map<String, Object> instances = new ConcurrentHashMap<>();
+        // 销毁回调，按注册顺序保存，访问时以当前对象加锁
+        private final Map<String, Runnable> destructionCallbacks = new LinkedHashMap<>();
+
+        /**
+         * 线程作用域存储（所属线程）
+         *
+         * @param owner 所属线程
+         */
+        ThreadScopeStore(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        /**
+         * 所属线程是否已结束
+         *
+         * @return 如果所属线程已经结束或已被回收，则返回true
+         */
+        boolean isOwnerTerminated() {
+            Thread thread = this.owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        /**
+         * 销毁
+         * 按注册顺序的逆序执行销毁回调，并清空Bean对象。
+         *
+         * @throws BeansException 如果销毁回调执行过程中出现异常，则在执行全部回调后抛出第一个异常
+         */
+        void destroy() throws BeansException {
+            List<Runnable> callbacks;
+            synchronized (this) {
+                callbacks = new ArrayList<>(this.destructionCallbacks.values());
+                this.destructionCallbacks.clear();
+            }
+            this.instances.clear();
+            RuntimeException failure = null;
+            for (int i = callbacks.size() - 1; i >= 0; i--) {
+                try {
+                    callbacks.get(i).run();
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure instanceof BeansException) {
+                throw (BeansException) failure;
+            }
+            if (failure != null) {
+                throw new BeansException("Destruction callback of thread scope threw an exception", failure);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.stars.starsspring.framework.core.convert.converter.Converter;
 import com.stars.starsspring.framework.core.convert.converter.ConverterFactory;
 import com.stars.starsspring.framework.core.convert.converter.ConverterRegistry;
 import com.stars.starsspring.framework.core.convert.converter.GenericConverter;
+import com.stars.starsspring.framework.core.metrics.ContainerEvents;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -63,9 +64,15 @@ public class GenericConversionService implements ConversionService, ConverterReg
     @Override
     @SuppressWarnings("unchecked")
     public <T> T convert(Object source, Class<T> targetType) {
+        Object conversionEvent = ContainerEvents.beginConversion();
         Class<?> sourceType = source.getClass();
-        GenericConverter converter = this.getConverter(sourceType, targetType);
-        return (T) converter.convert(source, sourceType, targetType);
+        try {
+            GenericConverter converter = this.getConverter(sourceType, targetType);
+            return (T) converter.convert(source, sourceType, targetType);
+        } finally {
+            // 转换失败时也提交事件，便于与CPU和GC采样对照
+            ContainerEvents.commitConversion(conversionEvent, sourceType, targetType);
+        }
     }
 
     /**
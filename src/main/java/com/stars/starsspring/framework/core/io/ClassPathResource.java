@@ -18,6 +18,7 @@ import java.io.InputStream;
  * <p>
  * 重写方法：
  * getInputStream
+ * toString
  * <p>
  * 定义方法：
  * <p>
@@ -77,4 +78,15 @@ public class ClassPathResource implements Resource {
         }
         return is;
     }
+
+    /**
+     * 转换为字符串
+     * 用于异常信息中标识资源。
+     *
+     * @return 类路径资源的描述，包含类路径
+     */
+    @Override
+    public String toString() {
+        return "class path resource [" + this.path + "]";
+    }
 }
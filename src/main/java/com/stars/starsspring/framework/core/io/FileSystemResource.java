@@ -16,6 +16,7 @@ import java.io.InputStream;
  * <p>
  * 重写方法：
  * getInputStream
+ * toString
  * <p>
  * 定义方法：
  * <p>
@@ -75,4 +76,15 @@ public class FileSystemResource implements Resource {
     public final String getPath() {
         return path;
     }
+
+    /**
+     * 转换为字符串
+     * 用于异常信息中标识资源。
+     *
+     * @return 文件系统资源的描述，包含文件的绝对路径
+     */
+    @Override
+    public String toString() {
+        return "file [" + this.file.getAbsolutePath() + "]";
+    }
 }
@@ -18,6 +18,7 @@ import java.net.URLConnection;
  * <p>
  * 重写方法：
  * getInputStream
+ * toString
  * <p>
  * 定义方法：
  * <p>
@@ -63,4 +64,15 @@ public class UrlResource implements Resource {
             throw ex;
         }
     }
+
+    /**
+     * 转换为字符串
+     * 用于异常信息中标识资源。
+     *
+     * @return URL资源的描述，包含URL
+     */
+    @Override
+    public String toString() {
+        return "URL [" + this.url + "]";
+    }
 }
@@ -0,0 +1,34 @@
+package com.stars.starsspring.framework.core.metrics;
+
+/**
+ * 应用启动——接口
+ * 记录应用启动过程中的启动步骤。容器和Bean工厂通过它为刷新阶段和每个Bean对象的创建阶段计时。
+ * 默认实现不记录任何内容，开销可以忽略。
+ * <p>
+ * <p>
+ * 属性字段：
+ * DEFAULT
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * start
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+public interface ApplicationStartup {
+
+    // 默认的应用启动对象，不记录任何启动步骤
+    ApplicationStartup DEFAULT = new DefaultApplicationStartup();
+
+    /**
+     * 开始（步骤名称）
+     * 开始一个新的启动步骤，调用方负责在步骤完成后调用其end方法。
+     *
+     * @param name 步骤名称
+     * @return 已开始计时的启动步骤对象
+     */
+    StartupStep start(String name);
+}
@@ -0,0 +1,276 @@
+package com.stars.starsspring.framework.core.metrics;
+
+import cn.hutool.json.JSONUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓冲应用启动——类
+ * 在内存中记录所有启动步骤的应用启动实现。每个线程维护当前未结束的步骤，新步骤以其为父步骤，
+ * 因此可以还原出哪个Bean对象的哪个阶段触发了另一个Bean对象的创建。
+ * 没有当前步骤的线程（例如并行预实例化的工作线程）以最外层尚未结束的步骤为父步骤。
+ * 记录结果可以通过getTopSteps获取最耗时的步骤，也可以通过toJson导出为JSON。
+ * <p>
+ * <p>
+ * 属性字段：
+ * startNanos
+ * idGenerator
+ * currentStep
+ * rootStep
+ * recordedSteps
+ * <p>
+ * 重写方法：
+ * start
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * getSteps
+ * getTopSteps
+ * toJson
+ * computeExclusiveNanos
+ * subtractNestedSameName
+ *
+ * @author stars
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+    // 记录开始的时间（纳秒），所有步骤的开始时间都相对于该时间
+    private final long startNanos = System.nanoTime();
+    // 步骤编号生成器
+    private final AtomicLong idGenerator = new AtomicLong();
+    // 当前线程尚未结束的最内层步骤
+    private final ThreadLocal<RecordedStep> currentStep = new ThreadLocal<>();
+    // 最外层尚未结束的步骤，作为没有当前步骤的线程的父步骤
+    private volatile RecordedStep rootStep;
+    // 已结束的步骤
+    private final Queue<RecordedStep> recordedSteps = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 开始（步骤名称）
+     *
+     * @param name 步骤名称
+     * @return 已开始计时的启动步骤对象
+     */
+    @Override
+    public StartupStep start(String name) {
+        RecordedStep previous = this.currentStep.get();
+        RecordedStep parent = previous;
+        if (parent == null) {
+            RecordedStep root = this.rootStep;
+            parent = (root != null && !root.ended ? root : null);
+        }
+        RecordedStep step = new RecordedStep(this.idGenerator.incrementAndGet(), name, parent, previous);
+        this.currentStep.set(step);
+        if (parent == null) {
+            this.rootStep = step;
+        }
+        return step;
+    }
+
+    /**
+     * 获取步骤
+     *
+     * @return 所有已结束的步骤，按开始顺序排列
+     */
+    public List<RecordedStep> getSteps() {
+        List<RecordedStep> steps = new ArrayList<>(this.recordedSteps);
+        steps.sort(Comparator.comparingLong(RecordedStep::getId));
+        return steps;
+    }
+
+    /**
+     * 获取最耗时的步骤（步骤名称，数量）
+     * 按独占耗时降序排列。独占耗时是步骤的耗时减去嵌套在其中的同名步骤的耗时，
+     * 例如bean.create步骤的独占耗时不包含它触发创建的其他Bean对象的耗时。
+     *
+     * @param name  步骤名称，例如bean.create
+     * @param limit 最多返回的数量
+     * @return 最耗时的步骤列表
+     */
+    public List<RecordedStep> getTopSteps(String name, int limit) {
+        List<RecordedStep> steps = this.getSteps();
+        Map<Long, Long> exclusiveNanos = computeExclusiveNanos(steps);
+        List<RecordedStep> result = new ArrayList<>();
+        for (RecordedStep step : steps) {
+            if (step.name.equals(name)) {
+                result.add(step);
+            }
+        }
+        result.sort((left, right) -> Long.compare(exclusiveNanos.get(right.id), exclusiveNanos.get(left.id)));
+        return (result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result);
+    }
+
+    /**
+     * 转换为JSON
+     * 每个步骤包含编号、父步骤编号、名称、标记、相对开始时间、耗时和独占耗时，时间单位为微秒。
+     *
+     * @return JSON字符串
+     */
+    public String toJson() {
+        List<RecordedStep> steps = this.getSteps();
+        Map<Long, Long> exclusiveNanos = computeExclusiveNanos(steps);
+        StringBuilder json = new StringBuilder(steps.size() * 160 + 16);
+        json.append("{\"steps\":[");
+        for (int i = 0; i < steps.size(); i++) {
+            RecordedStep step = steps.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\n{\"id\":").append(step.id)
+                    .append(",\"parentId\":").append(step.parentId)
+                    .append(",\"name\":").append(JSONUtil.quote(step.name))
+                    .append(",\"tags\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> tag : step.getTags().entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                json.append(JSONUtil.quote(tag.getKey())).append(':').append(JSONUtil.quote(tag.getValue()));
+                first = false;
+            }
+            json.append("},\"startMicros\":").append(TimeUnit.NANOSECONDS.toMicros(step.getStartNanos()))
+                    .append(",\"durationMicros\":").append(TimeUnit.NANOSECONDS.toMicros(step.getDurationNanos()))
+                    .append(",\"exclusiveMicros\":").append(TimeUnit.NANOSECONDS.toMicros(exclusiveNanos.get(step.id)))
+                    .append('}');
+        }
+        json.append("\n]}\n");
+        return json.toString();
+    }
+
+    /**
+     * 计算独占耗时（步骤列表）
+     *
+     * @param steps 按开始顺序排列的步骤列表
+     * @return 步骤编号到独占耗时（纳秒）的Map对象
+     */
+    private static Map<Long, Long> computeExclusiveNanos(List<RecordedStep> steps) {
+        Map<Long, List<RecordedStep>> children = new HashMap<>();
+        for (RecordedStep step : steps) {
+            if (step.parentId != null) {
+                children.computeIfAbsent(step.parentId, key -> new ArrayList<>()).add(step);
+            }
+        }
+        Map<Long, Long> exclusiveNanos = new HashMap<>(steps.size() * 4 / 3 + 1);
+        for (RecordedStep step : steps) {
+            exclusiveNanos.put(step.id, step.getDurationNanos() - subtractNestedSameName(step.name, step.id, children));
+        }
+        return exclusiveNanos;
+    }
+
+    /**
+     * 嵌套同名步骤的耗时（步骤名称，步骤编号，子步骤Map对象）
+     * 向下查找最近的同名后代步骤，累加它们的耗时，不再继续深入同名步骤的内部。
+     *
+     * @param name     步骤名称
+     * @param stepId   步骤编号
+     * @param children 步骤编号到子步骤列表的Map对象
+     * @return 最近的同名后代步骤的耗时之和（纳秒）
+     */
+    private static long subtractNestedSameName(String name, long stepId, Map<Long, List<RecordedStep>> children) {
+        long nested = 0;
+        for (RecordedStep child : children.getOrDefault(stepId, Collections.emptyList())) {
+            nested += (child.name.equals(name) ? child.getDurationNanos() : subtractNestedSameName(name, child.id, children));
+        }
+        return nested;
+    }
+
+    /**
+     * 已记录的步骤——内部类
+     *
+     * @author stars
+     */
+    public final class RecordedStep implements StartupStep {
+
+        // 步骤编号
+        private final long id;
+        // 父步骤编号
+        private final Long parentId;
+        // 步骤名称
+        private final String name;
+        // 开始步骤前当前线程的当前步骤，结束时恢复
+        private final RecordedStep previous;
+        // 开始步骤的线程
+        private final Thread thread = Thread.currentThread();
+        // 标记
+        private final Map<String, String> tags = new LinkedHashMap<>(4);
+        // 开始时间（纳秒）
+        private final long startTime = System.nanoTime();
+        // 结束时间（纳秒）
+        private long endTime;
+        // 结束标志
+        private volatile boolean ended;
+
+        RecordedStep(long id, String name, RecordedStep parent, RecordedStep previous) {
+            this.id = id;
+            this.parentId = (parent != null ? parent.id : null);
+            this.name = name;
+            this.previous = previous;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            this.tags.put(key, value);
+            return this;
+        }
+
+        /**
+         * 结束
+         * 记录结束时间，恢复开始线程的当前步骤，并把步骤加入已结束的步骤中。
+         * 因异常而未结束的内层步骤会被一并丢弃，不影响之后的嵌套关系。
+         */
+        @Override
+        public void end() {
+            if (this.ended) {
+                return;
+            }
+            this.endTime = System.nanoTime();
+            this.ended = true;
+            if (Thread.currentThread() == this.thread) {
+                if (this.previous != null) {
+                    currentStep.set(this.previous);
+                } else {
+                    currentStep.remove();
+                }
+            }
+            recordedSteps.add(this);
+        }
+
+        public Map<String, String> getTags() {
+            return Collections.unmodifiableMap(tags);
+        }
+
+        public long getStartNanos() {
+            return this.startTime - startNanos;
+        }
+
+        public long getDurationNanos() {
+            return this.endTime - this.startTime;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.stars.starsspring.framework.core.metrics;
+
+import java.lang.reflect.Method;
+
+/**
+ * 容器事件记录器——接口
+ * 容器热点路径事件的记录实现。每种事件由begin和commit两个方法组成：begin返回事件句柄，
+ * 不需要记录时返回null；commit在句柄不为null时填充事件属性并提交。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * beginBeanCreation
+ * commitBeanCreation
+ * beginBeanDestruction
+ * commitBeanDestruction
+ * beginProxyInvocation
+ * commitProxyInvocation
+ * beginEventMulticast
+ * commitEventMulticast
+ * beginConversion
+ * commitConversion
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+interface ContainerEventRecorder {
+
+    /**
+     * 开始Bean创建事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    Object beginBeanCreation();
+
+    /**
+     * 提交Bean创建事件（事件句柄，Bean的名称，Bean的类对象）
+     *
+     * @param event     事件句柄
+     * @param beanName  Bean的名称
+     * @param beanClass Bean的类对象
+     */
+    void commitBeanCreation(Object event, String beanName, Class<?> beanClass);
+
+    /**
+     * 开始Bean销毁事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    Object beginBeanDestruction();
+
+    /**
+     * 提交Bean销毁事件（事件句柄，Bean的名称）
+     *
+     * @param event    事件句柄
+     * @param beanName Bean的名称
+     */
+    void commitBeanDestruction(Object event, String beanName);
+
+    /**
+     * 开始代理调用事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    Object beginProxyInvocation();
+
+    /**
+     * 提交代理调用事件（事件句柄，目标类对象，方法对象，是否经过拦截器）
+     *
+     * @param event       事件句柄
+     * @param targetClass 目标对象的类对象
+     * @param method      被调用的方法对象
+     * @param intercepted 方法是否匹配切点并经过方法拦截器
+     */
+    void commitProxyInvocation(Object event, Class<?> targetClass, Method method, boolean intercepted);
+
+    /**
+     * 开始事件广播事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    Object beginEventMulticast();
+
+    /**
+     * 提交事件广播事件（事件句柄，应用事件类对象，监听器数量）
+     *
+     * @param event         事件句柄
+     * @param eventType     被广播的应用事件的类对象
+     * @param listenerCount 接收该事件的监听器数量
+     */
+    void commitEventMulticast(Object event, Class<?> eventType, int listenerCount);
+
+    /**
+     * 开始类型转换事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    Object beginConversion();
+
+    /**
+     * 提交类型转换事件（事件句柄，源类型类对象，目标类型类对象）
+     *
+     * @param event      事件句柄
+     * @param sourceType 源类型类对象
+     * @param targetType 目标类型类对象
+     */
+    void commitConversion(Object event, Class<?> sourceType, Class<?> targetType);
+}
@@ -0,0 +1,229 @@
+package com.stars.starsspring.framework.core.metrics;
+
+import java.lang.reflect.Method;
+
+/**
+ * 容器事件——类
+ * 容器热点路径（Bean创建与销毁、代理调用、事件广播、类型转换）的事件记录入口。
+ * 运行时存在jdk.jfr模块时通过反射加载飞行记录器实现，否则（例如JDK 8）使用不记录任何内容的实现，
+ * 因此调用方不直接依赖jdk.jfr，在任何JDK上都可以加载。
+ * 调用方式：先调用begin方法获取事件句柄，操作结束后把句柄传给对应的commit方法，句柄为null时commit方法直接返回。
+ * <p>
+ * <p>
+ * 属性字段：
+ * FLIGHT_RECORDER_RECORDER_CLASS_NAME
+ * RECORDER
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ContainerEvents
+ * beginBeanCreation
+ * commitBeanCreation
+ * beginBeanDestruction
+ * commitBeanDestruction
+ * beginProxyInvocation
+ * commitProxyInvocation
+ * beginEventMulticast
+ * commitEventMulticast
+ * beginConversion
+ * commitConversion
+ * createRecorder
+ *
+ * @author stars
+ */
+public final class ContainerEvents {
+
+    // 飞行记录器实现的类名，只通过反射加载
+    private static final String FLIGHT_RECORDER_RECORDER_CLASS_NAME =
+            "com.stars.starsspring.framework.core.metrics.FlightRecorderContainerEventRecorder";
+
+    // 容器事件记录器对象
+    private static final ContainerEventRecorder RECORDER = createRecorder();
+
+    private ContainerEvents() {
+    }
+
+    /**
+     * 开始Bean创建事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    public static Object beginBeanCreation() {
+        return RECORDER.beginBeanCreation();
+    }
+
+    /**
+     * 提交Bean创建事件（事件句柄，Bean的名称，Bean的类对象）
+     *
+     * @param event     beginBeanCreation返回的事件句柄
+     * @param beanName  Bean的名称
+     * @param beanClass Bean的类对象
+     */
+    public static void commitBeanCreation(Object event, String beanName, Class<?> beanClass) {
+        if (event != null) {
+            RECORDER.commitBeanCreation(event, beanName, beanClass);
+        }
+    }
+
+    /**
+     * 开始Bean销毁事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    public static Object beginBeanDestruction() {
+        return RECORDER.beginBeanDestruction();
+    }
+
+    /**
+     * 提交Bean销毁事件（事件句柄，Bean的名称）
+     *
+     * @param event    beginBeanDestruction返回的事件句柄
+     * @param beanName Bean的名称
+     */
+    public static void commitBeanDestruction(Object event, String beanName) {
+        if (event != null) {
+            RECORDER.commitBeanDestruction(event, beanName);
+        }
+    }
+
+    /**
+     * 开始代理调用事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    public static Object beginProxyInvocation() {
+        return RECORDER.beginProxyInvocation();
+    }
+
+    /**
+     * 提交代理调用事件（事件句柄，目标类对象，方法对象，是否经过拦截器）
+     *
+     * @param event       beginProxyInvocation返回的事件句柄
+     * @param targetClass 目标对象的类对象
+     * @param method      被调用的方法对象
+     * @param intercepted 方法是否匹配切点并经过方法拦截器
+     */
+    public static void commitProxyInvocation(Object event, Class<?> targetClass, Method method, boolean intercepted) {
+        if (event != null) {
+            RECORDER.commitProxyInvocation(event, targetClass, method, intercepted);
+        }
+    }
+
+    /**
+     * 开始事件广播事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    public static Object beginEventMulticast() {
+        return RECORDER.beginEventMulticast();
+    }
+
+    /**
+     * 提交事件广播事件（事件句柄，应用事件类对象，监听器数量）
+     *
+     * @param event         beginEventMulticast返回的事件句柄
+     * @param eventType     被广播的应用事件的类对象
+     * @param listenerCount 接收该事件的监听器数量
+     */
+    public static void commitEventMulticast(Object event, Class<?> eventType, int listenerCount) {
+        if (event != null) {
+            RECORDER.commitEventMulticast(event, eventType, listenerCount);
+        }
+    }
+
+    /**
+     * 开始类型转换事件
+     *
+     * @return 事件句柄，如果不需要记录则返回null
+     */
+    public static Object beginConversion() {
+        return RECORDER.beginConversion();
+    }
+
+    /**
+     * 提交类型转换事件（事件句柄，源类型类对象，目标类型类对象）
+     *
+     * @param event      beginConversion返回的事件句柄
+     * @param sourceType 源类型类对象
+     * @param targetType 目标类型类对象
+     */
+    public static void commitConversion(Object event, Class<?> sourceType, Class<?> targetType) {
+        if (event != null) {
+            RECORDER.commitConversion(event, sourceType, targetType);
+        }
+    }
+
+    /**
+     * 创建容器事件记录器
+     * 运行时不存在jdk.jfr.Event类，或者加载飞行记录器实现失败时，返回不记录任何内容的实现。
+     *
+     * @return 容器事件记录器对象
+     */
+    private static ContainerEventRecorder createRecorder() {
+        ClassLoader classLoader = ContainerEvents.class.getClassLoader();
+        try {
+            Class.forName("jdk.jfr.Event", false, classLoader);
+            return (ContainerEventRecorder) Class.forName(FLIGHT_RECORDER_RECORDER_CLASS_NAME, true, classLoader)
+                    .getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            return new NoOpContainerEventRecorder();
+        }
+    }
+
+    /**
+     * 空容器事件记录器——内部类
+     * 所有begin方法都返回null，不记录任何内容。
+     *
+     * @author stars
+     */
+    private static final class NoOpContainerEventRecorder implements ContainerEventRecorder {
+
+        @Override
+        public Object beginBeanCreation() {
+            return null;
+        }
+
+        @Override
+        public void commitBeanCreation(Object event, String beanName, Class<?> beanClass) {
+        }
+
+        @Override
+        public Object beginBeanDestruction() {
+            return null;
+        }
+
+        @Override
+        public void commitBeanDestruction(Object event, String beanName) {
+        }
+
+        @Override
+        public Object beginProxyInvocation() {
+            return null;
+        }
+
+        @Override
+        public void commitProxyInvocation(Object event, Class<?> targetClass, Method method, boolean intercepted) {
+        }
+
+        @Override
+        public Object beginEventMulticast() {
+            return null;
+        }
+
+        @Override
+        public void commitEventMulticast(Object event, Class<?> eventType, int listenerCount) {
+        }
+
+        @Override
+        public Object beginConversion() {
+            return null;
+        }
+
+        @Override
+        public void commitConversion(Object event, Class<?> sourceType, Class<?> targetType) {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.stars.starsspring.framework.core.metrics;
+
+/**
+ * 默认应用启动——类
+ * 不记录任何启动步骤的应用启动实现，所有步骤共享同一个空步骤对象，不产生对象分配。
+ * <p>
+ * <p>
+ * 属性字段：
+ * DEFAULT_STARTUP_STEP
+ * <p>
+ * 重写方法：
+ * start
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+class DefaultApplicationStartup implements ApplicationStartup {
+
+    // 共享的空步骤对象
+    private static final StartupStep DEFAULT_STARTUP_STEP = new DefaultStartupStep();
+
+    /**
+     * 开始（步骤名称）
+     *
+     * @param name 步骤名称
+     * @return 共享的空步骤对象
+     */
+    @Override
+    public StartupStep start(String name) {
+        return DEFAULT_STARTUP_STEP;
+    }
+
+    /**
+     * 空步骤——内部类
+     *
+     * @author stars
+     */
+    private static final class DefaultStartupStep implements StartupStep {
+
+        @Override
+        public String getName() {
+            return "default";
+        }
+
+        @Override
+        public long getId() {
+            return 0L;
+        }
+
+        @Override
+        public Long getParentId() {
+            return null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+}
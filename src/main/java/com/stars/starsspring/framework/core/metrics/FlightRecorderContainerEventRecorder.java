@@ -0,0 +1,230 @@
+package com.stars.starsspring.framework.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+import java.lang.reflect.Method;
+
+/**
+ * 飞行记录器容器事件记录器——类
+ * 把容器热点路径事件记录为Java Flight Recorder事件，便于和GC、CPU采样在同一时间线上对照。
+ * 只有运行时存在jdk.jfr模块时才会被ContainerEvents通过反射加载，其他类不能直接引用该类。
+ * 没有开启的飞行记录时，begin方法创建的事件对象不会逃逸，由JIT消除分配。
+ * 代理调用、事件广播和类型转换的调用频率很高，默认只提交超过阈值的事件，可以在JFR配置文件中调整阈值。
+ * <p>
+ * <p>
+ * 属性字段：
+ * CATEGORY
+ * <p>
+ * 重写方法：
+ * beginBeanCreation
+ * commitBeanCreation
+ * beginBeanDestruction
+ * commitBeanDestruction
+ * beginProxyInvocation
+ * commitProxyInvocation
+ * beginEventMulticast
+ * commitEventMulticast
+ * beginConversion
+ * commitConversion
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * begin
+ *
+ * @author stars
+ */
+final class FlightRecorderContainerEventRecorder implements ContainerEventRecorder {
+
+    // 事件分类名称
+    private static final String CATEGORY = "StarsSpring";
+
+    @Override
+    public Object beginBeanCreation() {
+        return begin(new BeanCreationEvent());
+    }
+
+    @Override
+    public void commitBeanCreation(Object event, String beanName, Class<?> beanClass) {
+        BeanCreationEvent beanCreationEvent = (BeanCreationEvent) event;
+        beanCreationEvent.beanName = beanName;
+        beanCreationEvent.beanClass = beanClass;
+        beanCreationEvent.commit();
+    }
+
+    @Override
+    public Object beginBeanDestruction() {
+        return begin(new BeanDestructionEvent());
+    }
+
+    @Override
+    public void commitBeanDestruction(Object event, String beanName) {
+        BeanDestructionEvent beanDestructionEvent = (BeanDestructionEvent) event;
+        beanDestructionEvent.beanName = beanName;
+        beanDestructionEvent.commit();
+    }
+
+    @Override
+    public Object beginProxyInvocation() {
+        return begin(new ProxyInvocationEvent());
+    }
+
+    @Override
+    public void commitProxyInvocation(Object event, Class<?> targetClass, Method method, boolean intercepted) {
+        ProxyInvocationEvent proxyInvocationEvent = (ProxyInvocationEvent) event;
+        // 先判断是否超过阈值，避免为不会提交的事件拼接方法名
+        if (proxyInvocationEvent.shouldCommit()) {
+            proxyInvocationEvent.targetClass = targetClass;
+            proxyInvocationEvent.method = method.getDeclaringClass().getName() + "." + method.getName();
+            proxyInvocationEvent.intercepted = intercepted;
+            proxyInvocationEvent.commit();
+        }
+    }
+
+    @Override
+    public Object beginEventMulticast() {
+        return begin(new EventMulticastEvent());
+    }
+
+    @Override
+    public void commitEventMulticast(Object event, Class<?> eventType, int listenerCount) {
+        EventMulticastEvent eventMulticastEvent = (EventMulticastEvent) event;
+        if (eventMulticastEvent.shouldCommit()) {
+            eventMulticastEvent.eventType = eventType;
+            eventMulticastEvent.listenerCount = listenerCount;
+            eventMulticastEvent.commit();
+        }
+    }
+
+    @Override
+    public Object beginConversion() {
+        return begin(new ConversionEvent());
+    }
+
+    @Override
+    public void commitConversion(Object event, Class<?> sourceType, Class<?> targetType) {
+        ConversionEvent conversionEvent = (ConversionEvent) event;
+        if (conversionEvent.shouldCommit()) {
+            conversionEvent.sourceType = sourceType;
+            conversionEvent.targetType = targetType;
+            conversionEvent.commit();
+        }
+    }
+
+    /**
+     * 开始（事件对象）
+     *
+     * @param event 新创建的事件对象
+     * @return 已开始计时的事件对象，如果该事件类型未开启则返回null
+     */
+    private static Object begin(Event event) {
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Bean创建事件——内部类
+     *
+     * @author stars
+     */
+    @Name("com.stars.starsspring.BeanCreation")
+    @Label("Bean Creation")
+    @Category({CATEGORY, "Beans"})
+    @Description("Instantiation, population and initialization of a bean")
+    private static final class BeanCreationEvent extends Event {
+
+        // Bean的名称
+        @Label("Bean Name")
+        String beanName;
+        // Bean的类对象
+        @Label("Bean Class")
+        Class<?> beanClass;
+    }
+
+    /**
+     * Bean销毁事件——内部类
+     *
+     * @author stars
+     */
+    @Name("com.stars.starsspring.BeanDestruction")
+    @Label("Bean Destruction")
+    @Category({CATEGORY, "Beans"})
+    @Description("Destroy callback of a disposable singleton bean")
+    private static final class BeanDestructionEvent extends Event {
+
+        // Bean的名称
+        @Label("Bean Name")
+        String beanName;
+    }
+
+    /**
+     * 代理调用事件——内部类
+     *
+     * @author stars
+     */
+    @Name("com.stars.starsspring.ProxyInvocation")
+    @Label("Proxy Invocation")
+    @Category({CATEGORY, "AOP"})
+    @Description("Method invocation through an AOP proxy")
+    @Threshold("10 ms")
+    private static final class ProxyInvocationEvent extends Event {
+
+        // 目标对象的类对象
+        @Label("Target Class")
+        Class<?> targetClass;
+        // 被调用的方法
+        @Label("Method")
+        String method;
+        // 是否经过方法拦截器
+        @Label("Intercepted")
+        boolean intercepted;
+    }
+
+    /**
+     * 事件广播事件——内部类
+     *
+     * @author stars
+     */
+    @Name("com.stars.starsspring.EventMulticast")
+    @Label("Event Multicast")
+    @Category({CATEGORY, "Context"})
+    @Description("Delivery of an application event to its listeners")
+    @Threshold("1 ms")
+    private static final class EventMulticastEvent extends Event {
+
+        // 应用事件的类对象
+        @Label("Event Type")
+        Class<?> eventType;
+        // 监听器数量
+        @Label("Listener Count")
+        int listenerCount;
+    }
+
+    /**
+     * 类型转换事件——内部类
+     *
+     * @author stars
+     */
+    @Name("com.stars.starsspring.Conversion")
+    @Label("Conversion")
+    @Category({CATEGORY, "Conversion"})
+    @Description("Type conversion performed by the conversion service")
+    @Threshold("1 ms")
+    private static final class ConversionEvent extends Event {
+
+        // 源类型类对象
+        @Label("Source Type")
+        Class<?> sourceType;
+        // 目标类型类对象
+        @Label("Target Type")
+        Class<?> targetType;
+    }
+}
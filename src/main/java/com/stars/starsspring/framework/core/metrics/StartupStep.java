@@ -0,0 +1,62 @@
+package com.stars.starsspring.framework.core.metrics;
+
+/**
+ * 启动步骤——接口
+ * 应用启动过程中的一个计时步骤，例如容器刷新的某个阶段或者某个Bean对象的某个创建阶段。
+ * 步骤在start时开始计时，在end时结束计时；在同一线程中开始的步骤会嵌套在尚未结束的步骤之下。
+ * <p>
+ * <p>
+ * 属性字段：
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * getName
+ * getId
+ * getParentId
+ * tag
+ * end
+ * <p>
+ * 编写方法：
+ *
+ * @author stars
+ */
+public interface StartupStep {
+
+    /**
+     * 获取步骤名称
+     *
+     * @return 步骤名称，例如bean.create
+     */
+    String getName();
+
+    /**
+     * 获取步骤编号
+     *
+     * @return 在应用启动过程中唯一的步骤编号
+     */
+    long getId();
+
+    /**
+     * 获取父步骤编号
+     *
+     * @return 父步骤编号，如果没有父步骤则返回null
+     */
+    Long getParentId();
+
+    /**
+     * 标记（键，值）
+     * 为步骤附加一个键值对，例如Bean的名称。
+     *
+     * @param key   键
+     * @param value 值
+     * @return 当前步骤对象，便于链式调用
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * 结束
+     * 结束计时，同一个步骤只能结束一次。
+     */
+    void end();
+}
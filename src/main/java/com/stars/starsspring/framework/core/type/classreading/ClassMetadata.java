@@ -0,0 +1,71 @@
+package com.stars.starsspring.framework.core.type.classreading;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 类元数据——类
+ * 由ClassMetadataReader直接从类文件字节读取的类信息，不需要加载类。
+ * 注解属性只包含类文件中显式指定的值，使用默认值的属性不会出现在属性映射中。
+ * <p>
+ * <p>
+ * 属性字段：
+ * className
+ * annotations
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ClassMetadata
+ * getClassName
+ * hasAnnotation
+ * getAnnotationAttributes
+ *
+ * @author stars
+ */
+public class ClassMetadata {
+
+    // 类的二进制名称，与Class.getName一致
+    private final String className;
+    // 类上的运行时可见注解，键为注解类名，值为显式指定的注解属性
+    private final Map<String, Map<String, Object>> annotations;
+
+    /**
+     * 有参构造函数（类名，注解映射）
+     *
+     * @param className   类的二进制名称
+     * @param annotations 键为注解类名、值为注解属性的映射
+     */
+    public ClassMetadata(String className, Map<String, Map<String, Object>> annotations) {
+        this.className = className;
+        this.annotations = annotations;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * 是否有注解（注解类名）
+     *
+     * @param annotationName 注解类名
+     * @return 如果类上直接标注了该注解，则返回true；否则返回false
+     */
+    public boolean hasAnnotation(String annotationName) {
+        return this.annotations.containsKey(annotationName);
+    }
+
+    /**
+     * 获取注解属性（注解类名）
+     * 属性值按类型表示为：基本类型的包装类、String、枚举常量名、类描述符、嵌套注解的属性映射或者Object数组。
+     *
+     * @param annotationName 注解类名
+     * @return 显式指定的注解属性，类上没有该注解时返回null
+     */
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        Map<String, Object> attributes = this.annotations.get(annotationName);
+        return attributes != null ? Collections.unmodifiableMap(attributes) : null;
+    }
+}
@@ -0,0 +1,343 @@
+package com.stars.starsspring.framework.core.type.classreading;
+
+import com.stars.starsspring.framework.beans.BeansException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 类元数据读取器——类
+ * 直接解析类文件字节，只读取常量池和类上的RuntimeVisibleAnnotations属性，不加载类，也不触发类初始化。
+ * 字段和方法只跳过，不解析。读取时可以指定必需的注解：常量池中没有该注解的类型描述符时，
+ * 在常量池之后立即返回null，绝大多数不相关的类只需要扫描一遍常量池。
+ * <p>
+ * <p>
+ * 属性字段：
+ * RUNTIME_VISIBLE_ANNOTATIONS
+ * bytes
+ * constantOffsets
+ * <p>
+ * 重写方法：
+ * <p>
+ * 定义方法：
+ * <p>
+ * 编写方法：
+ * ClassMetadataReader
+ * read
+ * readMetadata
+ * skipMembers
+ * readAnnotation
+ * readElementValue
+ * readUtf8
+ * readInt
+ * readLong
+ * u1
+ * u2
+ * u4
+ * regionMatches
+ *
+ * @author stars
+ */
+public final class ClassMetadataReader {
+
+    // 运行时可见注解属性名
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    // 类文件字节
+    private final byte[] bytes;
+    // 常量池每一项的标签在类文件中的偏移量，下标为常量池索引
+    private int[] constantOffsets;
+
+    /**
+     * 有参构造函数（类文件字节）
+     *
+     * @param bytes 类文件字节
+     */
+    private ClassMetadataReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * 读取（类文件字节，必需的注解类名）
+     *
+     * @param classFile          类文件字节
+     * @param requiredAnnotation 必需的注解类名，为null时不过滤
+     * @return 类元数据对象，如果指定了必需的注解而类上没有该注解，则返回null
+     * @throws BeansException 如果类文件格式错误，则抛出BeansException异常
+     */
+    public static ClassMetadata read(byte[] classFile, String requiredAnnotation) throws BeansException {
+        try {
+            return new ClassMetadataReader(classFile).readMetadata(requiredAnnotation);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new BeansException("Truncated class file", e);
+        }
+    }
+
+    /**
+     * 读取元数据（必需的注解类名）
+     *
+     * @param requiredAnnotation 必需的注解类名，为null时不过滤
+     * @return 类元数据对象，如果类上没有必需的注解，则返回null
+     * @throws BeansException 如果类文件格式错误，则抛出BeansException异常
+     */
+    private ClassMetadata readMetadata(String requiredAnnotation) throws BeansException {
+        if (this.u4(0) != 0xCAFEBABE) {
+            throw new BeansException("Not a class file: bad magic number");
+        }
+        byte[] requiredDescriptor = requiredAnnotation != null
+                ? ("L" + requiredAnnotation.replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8) : null;
+        boolean requiredFound = requiredDescriptor == null;
+        // 解析常量池，只记录每一项的偏移量
+        int constantCount = this.u2(8);
+        this.constantOffsets = new int[constantCount];
+        int offset = 10;
+        for (int i = 1; i < constantCount; i++) {
+            this.constantOffsets[i] = offset;
+            int tag = this.u1(offset);
+            switch (tag) {
+                case 1:
+                    int length = this.u2(offset + 1);
+                    if (!requiredFound && length == requiredDescriptor.length
+                            && regionMatches(this.bytes, offset + 3, requiredDescriptor)) {
+                        requiredFound = true;
+                    }
+                    offset += 3 + length;
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    offset += 5;
+                    break;
+                case 5:
+                case 6:
+                    // long和double占用两个常量池项
+                    offset += 9;
+                    i++;
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    offset += 3;
+                    break;
+                case 15:
+                    offset += 4;
+                    break;
+                default:
+                    throw new BeansException("Unknown constant pool tag " + tag + " at offset " + offset);
+            }
+        }
+        if (!requiredFound) {
+            return null;
+        }
+        // 访问标志、当前类、父类和接口
+        int thisClass = this.u2(offset + 2);
+        String className = this.readUtf8(this.u2(this.constantOffsets[thisClass] + 1)).replace('/', '.');
+        offset += 6;
+        offset += 2 + 2 * this.u2(offset);
+        // 跳过字段和方法
+        offset = this.skipMembers(offset);
+        offset = this.skipMembers(offset);
+        // 类属性
+        Map<String, Map<String, Object>> annotations = new LinkedHashMap<>();
+        int attributeCount = this.u2(offset);
+        offset += 2;
+        for (int i = 0; i < attributeCount; i++) {
+            String attributeName = this.readUtf8(this.u2(offset));
+            int attributeLength = this.u4(offset + 2);
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                int annotationOffset = offset + 6;
+                int annotationCount = this.u2(annotationOffset);
+                annotationOffset += 2;
+                for (int j = 0; j < annotationCount; j++) {
+                    String descriptor = this.readUtf8(this.u2(annotationOffset));
+                    Map<String, Object> attributes = new LinkedHashMap<>();
+                    annotationOffset = this.readAnnotation(annotationOffset, attributes);
+                    annotations.put(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'), attributes);
+                }
+            }
+            offset += 6 + attributeLength;
+        }
+        if (requiredAnnotation != null && !annotations.containsKey(requiredAnnotation)) {
+            // 描述符只出现在方法、字段或者不可见注解中
+            return null;
+        }
+        return new ClassMetadata(className, annotations);
+    }
+
+    /**
+     * 跳过成员（偏移量）
+     * 跳过字段表或者方法表。
+     *
+     * @param offset 成员数量所在的偏移量
+     * @return 成员表之后的偏移量
+     */
+    private int skipMembers(int offset) {
+        int memberCount = this.u2(offset);
+        offset += 2;
+        for (int i = 0; i < memberCount; i++) {
+            int attributeCount = this.u2(offset + 6);
+            offset += 8;
+            for (int j = 0; j < attributeCount; j++) {
+                offset += 6 + this.u4(offset + 2);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * 读取注解（偏移量，注解属性映射）
+     *
+     * @param offset     注解结构的偏移量，从类型索引开始
+     * @param attributes 用于存放注解属性的映射
+     * @return 注解结构之后的偏移量
+     */
+    private int readAnnotation(int offset, Map<String, Object> attributes) {
+        int pairCount = this.u2(offset + 2);
+        offset += 4;
+        for (int i = 0; i < pairCount; i++) {
+            String name = this.readUtf8(this.u2(offset));
+            Object[] value = new Object[1];
+            offset = this.readElementValue(offset + 2, value);
+            attributes.put(name, value[0]);
+        }
+        return offset;
+    }
+
+    /**
+     * 读取元素值（偏移量，结果数组）
+     *
+     * @param offset 元素值的偏移量，从标签开始
+     * @param result 长度为1的数组，用于存放读取到的值
+     * @return 元素值之后的偏移量
+     * @throws BeansException 如果元素值标签未知，则抛出BeansException异常
+     */
+    private int readElementValue(int offset, Object[] result) throws BeansException {
+        char tag = (char) this.u1(offset);
+        offset++;
+        switch (tag) {
+            case 'B':
+                result[0] = (byte) this.readInt(this.u2(offset));
+                return offset + 2;
+            case 'C':
+                result[0] = (char) this.readInt(this.u2(offset));
+                return offset + 2;
+            case 'S':
+                result[0] = (short) this.readInt(this.u2(offset));
+                return offset + 2;
+            case 'I':
+                result[0] = this.readInt(this.u2(offset));
+                return offset + 2;
+            case 'Z':
+                result[0] = this.readInt(this.u2(offset)) != 0;
+                return offset + 2;
+            case 'J':
+                result[0] = this.readLong(this.u2(offset));
+                return offset + 2;
+            case 'F':
+                result[0] = Float.intBitsToFloat(this.readInt(this.u2(offset)));
+                return offset + 2;
+            case 'D':
+                result[0] = Double.longBitsToDouble(this.readLong(this.u2(offset)));
+                return offset + 2;
+            case 's':
+            case 'c':
+                result[0] = this.readUtf8(this.u2(offset));
+                return offset + 2;
+            case 'e':
+                result[0] = this.readUtf8(this.u2(offset + 2));
+                return offset + 4;
+            case '@':
+                Map<String, Object> nested = new LinkedHashMap<>();
+                offset = this.readAnnotation(offset, nested);
+                result[0] = nested;
+                return offset;
+            case '[':
+                Object[] values = new Object[this.u2(offset)];
+                offset += 2;
+                Object[] element = new Object[1];
+                for (int i = 0; i < values.length; i++) {
+                    offset = this.readElementValue(offset, element);
+                    values[i] = element[0];
+                }
+                result[0] = values;
+                return offset;
+            default:
+                throw new BeansException("Unknown annotation element value tag '" + tag + "'");
+        }
+    }
+
+    /**
+     * 读取UTF8常量（常量池索引）
+     * 类文件中的字符串使用改进的UTF-8编码：空字符编码为两个字节，增补字符编码为两个代理字符。
+     *
+     * @param index CONSTANT_Utf8常量的索引
+     * @return 解码后的字符串
+     */
+    private String readUtf8(int index) {
+        int offset = this.constantOffsets[index];
+        int length = this.u2(offset + 1);
+        int position = offset + 3;
+        int end = position + length;
+        char[] chars = new char[length];
+        int count = 0;
+        while (position < end) {
+            int b = this.bytes[position++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (this.bytes[position++] & 0x3F));
+            } else {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((this.bytes[position++] & 0x3F) << 6)
+                        | (this.bytes[position++] & 0x3F));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int readInt(int index) {
+        return this.u4(this.constantOffsets[index] + 1);
+    }
+
+    private long readLong(int index) {
+        int offset = this.constantOffsets[index] + 1;
+        return ((long) this.u4(offset) << 32) | (this.u4(offset + 4) & 0xFFFFFFFFL);
+    }
+
+    private int u1(int offset) {
+        return this.bytes[offset] & 0xFF;
+    }
+
+    private int u2(int offset) {
+        return ((this.bytes[offset] & 0xFF) << 8) | (this.bytes[offset + 1] & 0xFF);
+    }
+
+    private int u4(int offset) {
+        return ((this.bytes[offset] & 0xFF) << 24) | ((this.bytes[offset + 1] & 0xFF) << 16)
+                | ((this.bytes[offset + 2] & 0xFF) << 8) | (this.bytes[offset + 3] & 0xFF);
+    }
+
+    /**
+     * 区域匹配（字节数组，偏移量，期望的字节）
+     *
+     * @param bytes    字节数组
+     * @param offset   比较的起始偏移量
+     * @param expected 期望的字节
+     * @return 如果从偏移量开始的字节与期望的字节相同，则返回true；否则返回false
+     */
+    private static boolean regionMatches(byte[] bytes, int offset, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (bytes[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}